@@ -2,20 +2,51 @@ package com.saif.fitnessapp;
 
 import android.app.Application;
 
+import androidx.annotation.NonNull;
+import androidx.hilt.work.HiltWorkerFactory;
+import androidx.work.Configuration;
+
+import com.saif.fitnessapp.auth.TokenRefreshScheduler;
+import com.saif.fitnessapp.startup.AppStartup;
+import com.saif.fitnessapp.utils.StartupTrace;
 import com.saif.fitnessapp.utils.ThemeManager;
 
 import java.io.InterruptedIOException;
 
+import javax.inject.Inject;
+
 import dagger.hilt.android.HiltAndroidApp;
 import io.reactivex.rxjava3.exceptions.UndeliverableException;
 import io.reactivex.rxjava3.plugins.RxJavaPlugins;
 
 @HiltAndroidApp
-public class FitnessApplication extends Application {
+public class FitnessApplication extends Application implements Configuration.Provider {
+
+    // Lets WorkManager build @HiltWorker workers (e.g. the activity outbox drainer)
+    @Inject HiltWorkerFactory workerFactory;
+
+    @Inject AppStartup appStartup;
+
+    @Inject TokenRefreshScheduler tokenRefreshScheduler;
+
+    @NonNull
+    @Override
+    public Configuration getWorkManagerConfiguration() {
+        return new Configuration.Builder()
+                .setWorkerFactory(workerFactory)
+                .build();
+    }
+
     @Override
     public void onCreate() {
         super.onCreate();
 
+        // Token store + auth config on a background thread; the splash waits for it
+        appStartup.start();
+
+        // Keeps the access token fresh while the app is in the foreground
+        tokenRefreshScheduler.start();
+
         // Restore the user's saved theme preference before any Activity starts.
         // Must be called early so the first Activity gets the correct theme.
         ThemeManager.applyTheme(this);
@@ -34,5 +65,7 @@ public class FitnessApplication extends Application {
             Thread thread = Thread.currentThread();
             thread.getUncaughtExceptionHandler().uncaughtException(thread, cause);
         });
+
+        StartupTrace.mark("application_created");
     }
 }
@@ -1,6 +1,8 @@
 package com.saif.fitnessapp;
 
 import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.navigation.NavController;
@@ -8,13 +10,23 @@ import androidx.navigation.NavOptions;
 import androidx.navigation.fragment.NavHostFragment;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
+import com.saif.fitnessapp.activity.ActivityOutbox;
 import com.saif.fitnessapp.ui.TitleController;
 
+import javax.inject.Inject;
+
 import dagger.hilt.android.AndroidEntryPoint;
 
 @AndroidEntryPoint
 public class MainActivity extends AppCompatActivity implements TitleController {
 
+    private static final String TAG = "MainActivity";
+
+    @Inject ActivityOutbox activityOutbox;
+
+    /** elapsedRealtime() at which the login button was pressed, set by LoginActivity. */
+    public static final String EXTRA_LOGIN_STARTED_AT = "LOGIN_STARTED_AT";
+
     private BottomNavigationView bottomNavigationView;
     private NavController navController;
     // Guard flag to prevent listener loop when programmatically updating the bottom nav
@@ -34,6 +46,19 @@ public class MainActivity extends AppCompatActivity implements TitleController {
         navController = navHostFragment.getNavController();
 
         setupBottomNavigation();
+        logLoginToHomeLatency();
+
+        // Uploads parked by an auth failure go out once the user is signed in again
+        if (savedInstanceState == null) activityOutbox.scheduleDrain();
+    }
+
+    /** Logs the time from pressing "Log in" to the first frame of the home screen. */
+    private void logLoginToHomeLatency() {
+        long startedAt = getIntent().getLongExtra(EXTRA_LOGIN_STARTED_AT, 0);
+        if (startedAt <= 0) return;
+        getIntent().removeExtra(EXTRA_LOGIN_STARTED_AT);
+        bottomNavigationView.post(() -> Log.i(TAG, "Login-to-home latency: "
+                + (SystemClock.elapsedRealtime() - startedAt) + " ms"));
     }
 
     private void setupBottomNavigation() {
@@ -0,0 +1,52 @@
+package com.saif.fitnessapp.activity;
+
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * In-memory registry of the activities the app has most recently seen, keyed by id.
+ *
+ * Every list load (paging, recent, search prefetch, outbox placeholders) drops its
+ * items in here, so the detail screen can render metrics and chart from memory on
+ * its first frame and only revalidate against the network in the background.
+ * Bounded LRU, so it never holds more than a few hundred small objects.
+ */
+@Singleton
+public class ActivityCache {
+
+    private static final int MAX_ENTRIES = 500;
+
+    // android.util.LruCache is internally synchronized
+    private final LruCache<String, ActivityResponse> cache = new LruCache<>(MAX_ENTRIES);
+
+    @Inject
+    public ActivityCache() {}
+
+    public void put(@Nullable ActivityResponse activity) {
+        if (activity != null && activity.getId() != null) {
+            cache.put(activity.getId(), activity);
+        }
+    }
+
+    public void putAll(@Nullable List<ActivityResponse> activities) {
+        if (activities == null) return;
+        for (ActivityResponse a : activities) put(a);
+    }
+
+    @Nullable
+    public ActivityResponse get(@Nullable String id) {
+        return id == null ? null : cache.get(id);
+    }
+
+    public void remove(@Nullable String id) {
+        if (id != null) cache.remove(id);
+    }
+}
@@ -0,0 +1,64 @@
+package com.saif.fitnessapp.activity;
+
+import androidx.annotation.Nullable;
+
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+import com.saif.fitnessapp.utils.TimeFormats;
+
+import java.util.List;
+
+/**
+ * A position in the activity history: the (startTime, id) of one row. The history
+ * is ordered newest first with id as the tie-break, as in {@link ActivityDao}, so
+ * "after the cursor" means strictly older.
+ */
+final class ActivityCursor {
+
+    /** startTime as the server sent it, echoed back as the cursor. */
+    final String startTime;
+    final String id;
+    private final long startTimeMillis;
+
+    private ActivityCursor(String startTime, long startTimeMillis, String id) {
+        this.startTime = startTime;
+        this.startTimeMillis = startTimeMillis;
+        this.id = id;
+    }
+
+    /** Cursor just past {@code last}, or null with nothing to continue from. */
+    @Nullable
+    static ActivityCursor after(@Nullable ActivityResponse last) {
+        if (last == null || last.getStartTime() == null || last.getId() == null) return null;
+        return new ActivityCursor(last.getStartTime(), last.getStartTimeMillis(), last.getId());
+    }
+
+    /** Cursor at a stored (startTime, id), or null if either is missing. */
+    @Nullable
+    static ActivityCursor of(@Nullable String startTime, @Nullable String id) {
+        if (startTime == null || id == null) return null;
+        return new ActivityCursor(startTime, TimeFormats.parseEpochMillis(startTime), id);
+    }
+
+    /** Whether {@code activity} comes after this cursor in newest-first order. */
+    boolean isOlder(ActivityResponse activity) {
+        long millis = activity.getStartTimeMillis();
+        if (millis != startTimeMillis) return millis < startTimeMillis;
+        return activity.getId() != null && activity.getId().compareTo(id) < 0;
+    }
+
+    /** Whether all of {@code page} comes after this cursor. */
+    boolean allOlder(List<ActivityResponse> page) {
+        for (ActivityResponse activity : page) {
+            if (!isOlder(activity)) return false;
+        }
+        return true;
+    }
+
+    /** Whether any of {@code page} comes after this cursor. */
+    boolean hasOlder(List<ActivityResponse> page) {
+        for (ActivityResponse activity : page) {
+            if (isOlder(activity)) return true;
+        }
+        return false;
+    }
+}
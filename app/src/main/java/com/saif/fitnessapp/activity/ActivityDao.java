@@ -0,0 +1,141 @@
+package com.saif.fitnessapp.activity;
+
+import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Activity table access. Every write goes through {@link #upsertAll} or
+ * {@link #deleteById}, which keep {@link ActivityRollup} in step with the rows in
+ * the same transaction — callers never touch the rollup table directly.
+ */
+@Dao
+public abstract class ActivityDao {
+
+    // Latest first. Room invalidates the source whenever the table changes.
+    @Query("SELECT * FROM activities WHERE userId = :userId ORDER BY startTimeMillis DESC, id DESC")
+    public abstract PagingSource<Integer, ActivityResponse> pagingSource(String userId);
+
+    @Transaction
+    public void upsert(ActivityEntity activity) {
+        upsertAll(Collections.singletonList(activity));
+    }
+
+    /**
+     * Inserts or replaces rows. A replaced row's old values are taken out of the
+     * rollups before the new ones go in, so re-syncing a page is a no-op for totals.
+     */
+    @Transaction
+    public void upsertAll(List<ActivityEntity> activities) {
+        for (ActivityEntity activity : activities) {
+            ActivityEntity previous = getEntity(activity.id);
+            if (previous != null) applyToRollups(previous, -1);
+            insertEntity(activity);
+            applyToRollups(activity, 1);
+        }
+    }
+
+    @Transaction
+    public void deleteById(String id) {
+        ActivityEntity previous = getEntity(id);
+        if (previous == null) return;
+        applyToRollups(previous, -1);
+        deleteEntity(id);
+    }
+
+    // Search corpus: the whole local history, re-emitted as the sync fills it in
+    @Query("SELECT * FROM activities WHERE userId = :userId ORDER BY startTimeMillis DESC, id DESC")
+    public abstract LiveData<List<ActivityResponse>> observeAll(String userId);
+
+    // Rows from the backend, leaving out outbox placeholders (OutboxEntry.LOCAL_ID_PREFIX)
+    @Query("SELECT COUNT(*) FROM activities WHERE userId = :userId AND id NOT LIKE 'local-%'")
+    public abstract int countSynced(String userId);
+
+    @Query("SELECT COUNT(*) FROM activities WHERE id IN (:ids)")
+    public abstract int countExisting(List<String> ids);
+
+    @Query("SELECT * FROM activities WHERE id = :id")
+    abstract ActivityEntity getEntity(String id);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    abstract void insertEntity(ActivityEntity activity);
+
+    @Query("DELETE FROM activities WHERE id = :id")
+    abstract void deleteEntity(String id);
+
+    // ─── Rollups ───────────────────────────────────────────────────
+
+    /** One cell, e.g. lifetime totals across all types. Emits null until it exists. */
+    @Query("SELECT * FROM activity_rollups WHERE userId = :userId AND period = :period "
+            + "AND bucket = :bucket AND activityType = :activityType")
+    public abstract LiveData<ActivityRollup> observeRollup(String userId, String period,
+                                                          String bucket, String activityType);
+
+    /** Per-type cells of one bucket, most frequent type first. */
+    @Query("SELECT * FROM activity_rollups WHERE userId = :userId AND period = :period "
+            + "AND bucket = :bucket AND activityType != '" + ActivityRollup.ALL_TYPES + "' "
+            + "ORDER BY count DESC, activityType")
+    public abstract LiveData<List<ActivityRollup>> observeBreakdown(String userId, String period,
+                                                                   String bucket);
+
+    @Query("UPDATE activity_rollups SET count = count + :count, calories = calories + :calories, "
+            + "duration = duration + :duration WHERE userId = :userId AND period = :period "
+            + "AND bucket = :bucket AND activityType = :activityType")
+    abstract int addToRollup(String userId, String period, String bucket, String activityType,
+                             int count, long calories, long duration);
+
+    @Insert(onConflict = OnConflictStrategy.ABORT)
+    abstract void insertRollup(ActivityRollup rollup);
+
+    @Query("DELETE FROM activity_rollups WHERE userId = :userId AND period = :period "
+            + "AND bucket = :bucket AND activityType = :activityType AND count <= 0")
+    abstract void deleteEmptyRollup(String userId, String period, String bucket, String activityType);
+
+    /**
+     * Adds ({@code sign} = 1) or removes ({@code sign} = -1) one activity's share of
+     * its day, week and lifetime cells: six keyed updates, independent of history size.
+     * SQLite's UPSERT needs API 30, hence update-then-insert.
+     */
+    private void applyToRollups(ActivityEntity a, int sign) {
+        if (a.userId == null) return;
+        String type = a.activityType != null ? a.activityType : "OTHER";
+        long calories = sign * (long) (a.caloriesBurned != null ? a.caloriesBurned : 0);
+        long duration = sign * (long) (a.duration != null ? a.duration : 0);
+
+        for (String[] bucket : ActivityRollup.bucketsFor(a.startTimeMillis)) {
+            for (String cellType : new String[]{ActivityRollup.ALL_TYPES, type}) {
+                if (addToRollup(a.userId, bucket[0], bucket[1], cellType, sign, calories, duration) > 0) {
+                    if (sign < 0) deleteEmptyRollup(a.userId, bucket[0], bucket[1], cellType);
+                } else if (sign > 0) {
+                    insertRollup(new ActivityRollup(a.userId, bucket[0], bucket[1], cellType,
+                            1, calories, duration));
+                }
+            }
+        }
+    }
+
+    // ─── Remote keys ───────────────────────────────────────────────
+
+    @Query("SELECT * FROM activity_remote_keys WHERE userId = :userId")
+    public abstract ActivityRemoteKey getRemoteKey(String userId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void upsertRemoteKey(ActivityRemoteKey key);
+
+    // ─── History sync checkpoint ───────────────────────────────────
+
+    @Query("SELECT * FROM activity_sync_state WHERE userId = :userId")
+    public abstract ActivitySyncState getSyncState(String userId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    public abstract void upsertSyncState(ActivitySyncState state);
+}
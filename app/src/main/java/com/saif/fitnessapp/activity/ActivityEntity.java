@@ -0,0 +1,78 @@
+package com.saif.fitnessapp.activity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Row in the local activity table. Column names mirror {@link ActivityResponse}
+ * so Room can read rows straight back into the DTO the UI already binds.
+ */
+@Entity(
+        tableName = "activities",
+        indices = {@Index(value = {"userId", "startTimeMillis"})}
+)
+public class ActivityEntity {
+
+    @PrimaryKey
+    @NonNull
+    public String id;
+
+    public String userId;
+    public String activityType;
+    public Integer duration;
+    public Integer caloriesBurned;
+    public String startTime;
+    /** startTime as epoch millis, so ordering survives mixed offsets and precisions. */
+    public long startTimeMillis;
+    public ActivityMetrics additionalMetrics;
+    public String createdAt;
+    public String updatedAt;
+
+    public ActivityEntity(@NonNull String id, String userId, String activityType,
+                          Integer duration, Integer caloriesBurned, String startTime,
+                          long startTimeMillis, ActivityMetrics additionalMetrics,
+                          String createdAt, String updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.activityType = activityType;
+        this.duration = duration;
+        this.caloriesBurned = caloriesBurned;
+        this.startTime = startTime;
+        this.startTimeMillis = startTimeMillis;
+        this.additionalMetrics = additionalMetrics;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static ActivityEntity fromResponse(ActivityResponse a) {
+        return new ActivityEntity(
+                a.getId(),
+                a.getUserId(),
+                a.getActivityType(),
+                a.getDuration(),
+                a.getCaloriesBurned(),
+                a.getStartTime(),
+                a.getStartTimeMillis(),
+                a.getAdditionalMetrics(),
+                a.getCreatedAt(),
+                a.getUpdatedAt()
+        );
+    }
+
+    /** Converts a network page, skipping items the backend sent without an id. */
+    public static List<ActivityEntity> fromResponses(List<ActivityResponse> activities) {
+        List<ActivityEntity> entities = new ArrayList<>(activities.size());
+        for (ActivityResponse a : activities) {
+            if (a.getId() != null) entities.add(fromResponse(a));
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,93 @@
+package com.saif.fitnessapp.activity;
+
+import android.content.Context;
+
+import androidx.annotation.WorkerThread;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+
+import com.saif.fitnessapp.database.AppDatabase;
+import com.saif.fitnessapp.network.dto.ActivityRequest;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import dagger.hilt.android.qualifiers.ApplicationContext;
+
+/**
+ * Local-first write path for tracked activities. {@link #enqueue} stores the
+ * request and a placeholder list row in one transaction, then hands the upload
+ * to {@link OutboxDrainWorker}, which only runs while the device is online.
+ */
+@Singleton
+public class ActivityOutbox {
+
+    private static final long INITIAL_BACKOFF_SECONDS = 10;
+
+    private final Context context;
+    private final AppDatabase database;
+    private final OutboxDao outboxDao;
+    private final ActivityDao activityDao;
+
+    @Inject
+    public ActivityOutbox(@ApplicationContext Context context, AppDatabase database) {
+        this.context = context;
+        this.database = database;
+        this.outboxDao = database.outboxDao();
+        this.activityDao = database.activityDao();
+    }
+
+    /**
+     * Persists the request and returns the placeholder that now shows in the list.
+     * Does disk I/O — call off the main thread.
+     */
+    @WorkerThread
+    public ActivityResponse enqueue(ActivityRequest request) {
+        OutboxEntry entry = new OutboxEntry(
+                OutboxEntry.LOCAL_ID_PREFIX + UUID.randomUUID(),
+                request.getUserId(),
+                request.getActivityType(),
+                request.getDuration(),
+                request.getCaloriesBurned(),
+                request.getStartTime(),
+                request.getAdditionalMetrics(),
+                System.currentTimeMillis());
+
+        database.runInTransaction(() -> {
+            outboxDao.insert(entry);
+            activityDao.upsert(entry.toPlaceholder());
+        });
+        scheduleDrain();
+
+        return new ActivityResponse(entry.localId, entry.userId, entry.activityType,
+                entry.duration, entry.caloriesBurned, entry.startTime,
+                entry.additionalMetrics, null, null);
+    }
+
+    /**
+     * Queues a drain run. APPEND_OR_REPLACE chains it behind a run that is already
+     * in progress, so an entry written just as that run finishes is never missed.
+     */
+    public void scheduleDrain() {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(OutboxDrainWorker.class)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL,
+                        INITIAL_BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .build();
+
+        WorkManager.getInstance(context).enqueueUniqueWork(
+                OutboxDrainWorker.UNIQUE_WORK_NAME,
+                ExistingWorkPolicy.APPEND_OR_REPLACE,
+                request);
+    }
+}
@@ -0,0 +1,72 @@
+package com.saif.fitnessapp.activity;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.saif.fitnessapp.network.ApiService;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import retrofit2.Response;
+
+/**
+ * Reads one page of a user's activity history, newest first, for
+ * {@link ActivityRemoteMediator} and {@link HistorySyncWorker}.
+ *
+ * Given a cursor, it asks for the rows after it with page=0: the cursor alone
+ * says where the page starts, so nothing can be skipped or repeated when rows are
+ * tracked in between. A server that doesn't take a cursor answers with its newest
+ * rows instead. The first time that happens this notes it and asks by page index
+ * from then on, which is only as stable as offsets can be.
+ */
+@Singleton
+public class ActivityPageFetcher {
+    private static final String TAG = "ActivityPageFetcher";
+
+    private final ApiService apiService;
+
+    // Null until a cursor request has come back with rows to judge it by
+    private volatile Boolean cursorSupported;
+
+    @Inject
+    public ActivityPageFetcher(ApiService apiService) {
+        this.apiService = apiService;
+    }
+
+    /**
+     * Up to {@code size} rows after {@code cursor}, or from the top when it's null.
+     * {@code offsetPage} (in pages of {@code size}) is used only without a cursor, or
+     * for a server that ignores it.
+     */
+    List<ActivityResponse> fetch(String userId, @Nullable ActivityCursor cursor,
+                                 int offsetPage, int size) throws IOException {
+        if (cursor != null && !Boolean.FALSE.equals(cursorSupported)) {
+            List<ActivityResponse> rows = get(0, size, userId, cursor);
+            if (cursorSupported == null && !rows.isEmpty()) {
+                boolean supported = cursor.allOlder(rows);
+                cursorSupported = supported;
+                if (!supported) Log.i(TAG, "Server ignores the cursor; paging by index");
+            }
+            if (!Boolean.FALSE.equals(cursorSupported)) return rows;
+        }
+        return get(offsetPage, size, userId, null);
+    }
+
+    private List<ActivityResponse> get(int page, int size, String userId,
+                                       @Nullable ActivityCursor cursor) throws IOException {
+        Response<List<ActivityResponse>> response = apiService.getActivitiesBefore(
+                page, size, userId,
+                cursor != null ? cursor.startTime : null,
+                cursor != null ? cursor.id : null).execute();
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IOException("API error " + response.code() + " on page " + page);
+        }
+        return response.body();
+    }
+}
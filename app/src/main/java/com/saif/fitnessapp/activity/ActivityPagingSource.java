@@ -1,94 +0,0 @@
-package com.saif.fitnessapp.activity;
-
-import androidx.annotation.NonNull;
-import androidx.paging.PagingState;
-import androidx.paging.rxjava3.RxPagingSource;
-
-import com.saif.fitnessapp.network.ApiService;
-import com.saif.fitnessapp.network.dto.ActivityResponse;
-
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
-
-import io.reactivex.rxjava3.core.Single;
-import retrofit2.Response;
-
-public class ActivityPagingSource
-        extends RxPagingSource<Integer, ActivityResponse> {
-
-    private static final int STARTING_PAGE_INDEX = 0;
-    private static final int PAGE_SIZE = 10;
-
-    private final ApiService apiService;
-    private final String userId;
-
-    public ActivityPagingSource(ApiService apiService, String userId) {
-        this.apiService = apiService;
-        this.userId = userId;
-    }
-
-    @NonNull
-    @Override
-    public Single<LoadResult<Integer, ActivityResponse>> loadSingle(
-            @NonNull LoadParams<Integer> params
-    ) {
-        int pageIndex = params.getKey() != null
-                ? params.getKey()
-                : STARTING_PAGE_INDEX;
-
-        return Single
-                .fromCallable(() -> {
-                    Response<List<ActivityResponse>> response =
-                            apiService.getActivities(pageIndex, PAGE_SIZE, userId)
-                                    .execute();
-
-                    if (response.isSuccessful() && response.body() != null) {
-                        List<ActivityResponse> data = response.body();
-
-                        // Sort latest first by startTime (ISO-8601 → lexicographic desc)
-                        data.sort((a, b) -> {
-                            String ta = a.getStartTime() != null ? a.getStartTime() : "";
-                            String tb = b.getStartTime() != null ? b.getStartTime() : "";
-                            return tb.compareTo(ta);
-                        });
-
-                        Integer prevKey = pageIndex == STARTING_PAGE_INDEX
-                                ? null
-                                : pageIndex - 1;
-
-                        Integer nextKey = data.isEmpty()
-                                ? null
-                                : pageIndex + 1;
-
-                        // 👇 EXPLICIT GENERIC TYPES (THIS IS THE FIX)
-                        return new LoadResult.Page<Integer, ActivityResponse>(
-                                data,
-                                prevKey,
-                                nextKey
-                        );
-                    } else {
-                        return new LoadResult.Error<Integer, ActivityResponse>(
-                                new Exception("API error")
-                        );
-                    }
-                })
-                .subscribeOn(io.reactivex.rxjava3.schedulers.Schedulers.io());
-    }
-
-    @Override
-    public Integer getRefreshKey(
-            @NonNull PagingState<Integer, ActivityResponse> state
-    ) {
-        Integer anchor = state.getAnchorPosition();
-        if (anchor == null) return null;
-
-        LoadResult.Page<Integer, ActivityResponse> page =
-                state.closestPageToPosition(anchor);
-
-        if (page == null) return null;
-        if (page.getPrevKey() != null) return page.getPrevKey() + 1;
-        if (page.getNextKey() != null) return page.getNextKey() - 1;
-        return null;
-    }
-}
@@ -0,0 +1,32 @@
+package com.saif.fitnessapp.activity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Paging bookmark for {@link ActivityRemoteMediator}: which backend page to
+ * fetch next for a user, and when the list was last refreshed from the network.
+ */
+@Entity(tableName = "activity_remote_keys")
+public class ActivityRemoteKey {
+
+    @PrimaryKey
+    @NonNull
+    public String userId;
+
+    /**
+     * Next page to append, counted in pages of
+     * {@link AdaptivePagingController#BASE_PAGE_SIZE} rows; null once the end of the
+     * history is reached.
+     */
+    public Integer nextPage;
+
+    public long lastRefreshedAt;
+
+    public ActivityRemoteKey(@NonNull String userId, Integer nextPage, long lastRefreshedAt) {
+        this.userId = userId;
+        this.nextPage = nextPage;
+        this.lastRefreshedAt = lastRefreshedAt;
+    }
+}
@@ -0,0 +1,168 @@
+package com.saif.fitnessapp.activity;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.paging.ExperimentalPagingApi;
+import androidx.paging.LoadType;
+import androidx.paging.PagingState;
+import androidx.paging.rxjava3.RxRemoteMediator;
+
+import com.saif.fitnessapp.database.AppDatabase;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+/**
+ * Fills the local activity table from the backend.
+ *
+ * The Pager only ever reads from Room, so scrolling, coming back to the tab and
+ * re-launching are served from disk. The network is hit when the cached list is
+ * older than {@link #CACHE_TIMEOUT_MS}, when the user refreshes, or when the
+ * list scrolls past the last cached row.
+ *
+ * Request sizes come from {@link AdaptivePagingController}, so the remote key
+ * counts pages of {@link AdaptivePagingController#BASE_PAGE_SIZE} rows whatever
+ * size was actually fetched.
+ *
+ * Appends are keyset-paged: each asks for the rows after the last one loaded, by
+ * (startTime, id) — the same order {@link ActivityDao} lists them in — so an
+ * activity tracked mid-scroll can't shift the window and duplicate or skip rows.
+ * {@link ActivityPageFetcher} falls back to the page index for servers that don't
+ * take a cursor.
+ */
+@OptIn(markerClass = ExperimentalPagingApi.class)
+public class ActivityRemoteMediator extends RxRemoteMediator<Integer, ActivityResponse> {
+    private static final String TAG = "ActivityRemoteMediator";
+
+    private static final int STARTING_PAGE_INDEX = 0;
+    // Pages of already-seen rows an append may skip before giving up until the next scroll
+    private static final int MAX_SKIPPED_PAGES = 5;
+
+    // Older than this and the list is refreshed in the background on open
+    private static final long CACHE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private final ActivityPageFetcher pageFetcher;
+    private final AppDatabase database;
+    private final ActivityDao activityDao;
+    private final ActivityCache activityCache;
+    private final AdaptivePagingController pagingController;
+    private final String userId;
+
+    public ActivityRemoteMediator(ActivityPageFetcher pageFetcher, AppDatabase database,
+                                  ActivityCache activityCache,
+                                  AdaptivePagingController pagingController, String userId) {
+        this.pageFetcher = pageFetcher;
+        this.database = database;
+        this.activityDao = database.activityDao();
+        this.activityCache = activityCache;
+        this.pagingController = pagingController;
+        this.userId = userId;
+    }
+
+    @NonNull
+    @Override
+    public Single<InitializeAction> initializeSingle() {
+        return Single.fromCallable(() -> {
+                    ActivityRemoteKey key = activityDao.getRemoteKey(userId);
+                    boolean fresh = key != null
+                            && System.currentTimeMillis() - key.lastRefreshedAt < CACHE_TIMEOUT_MS;
+                    return fresh
+                            ? InitializeAction.SKIP_INITIAL_REFRESH
+                            : InitializeAction.LAUNCH_INITIAL_REFRESH;
+                })
+                .subscribeOn(Schedulers.io());
+    }
+
+    @NonNull
+    @Override
+    public Single<MediatorResult> loadSingle(
+            @NonNull LoadType loadType,
+            @NonNull PagingState<Integer, ActivityResponse> state
+    ) {
+        return Single.<MediatorResult>fromCallable(() -> {
+                    int page;
+                    switch (loadType) {
+                        case REFRESH:
+                            page = STARTING_PAGE_INDEX;
+                            break;
+                        case PREPEND:
+                            // List is newest first; nothing ever goes above page 0
+                            return new MediatorResult.Success(true);
+                        case APPEND:
+                            // The history sync already stored everything past the first page
+                            ActivitySyncState sync = activityDao.getSyncState(userId);
+                            if (sync != null && sync.complete) {
+                                return new MediatorResult.Success(true);
+                            }
+                            ActivityRemoteKey key = activityDao.getRemoteKey(userId);
+                            // No key yet means the initial refresh hasn't landed; don't
+                            // report the end or paging will stop asking for more.
+                            if (key == null || key.nextPage == null) {
+                                return new MediatorResult.Success(key != null);
+                            }
+                            // A refresh only re-reads the top, and rows below it may have
+                            // come from the history sync, so the key can lag behind what's
+                            // stored; the stored rows are where the next offset page starts
+                            page = Math.max(key.nextPage,
+                                    activityDao.countSynced(userId) / AdaptivePagingController.BASE_PAGE_SIZE);
+                            break;
+                        default:
+                            throw new IllegalStateException("Unknown load type " + loadType);
+                    }
+
+                    // Appends continue from the last row on screen, not from an offset
+                    ActivityCursor cursor = loadType == LoadType.APPEND
+                            ? ActivityCursor.after(state.lastItemOrNull())
+                            : null;
+
+                    for (int skipped = 0; ; skipped++) {
+                        int multiple = pagingController.fetchMultiple(page);
+                        long startedAt = SystemClock.elapsedRealtime();
+                        List<ActivityResponse> data = pageFetcher.fetch(userId, cursor,
+                                page / multiple, AdaptivePagingController.BASE_PAGE_SIZE * multiple);
+                        pagingController.recordLoad(SystemClock.elapsedRealtime() - startedAt);
+
+                        activityCache.putAll(data);
+                        boolean endReached = data.isEmpty();
+                        Integer nextPage = endReached ? null : page + multiple;
+                        store(loadType, data, nextPage);
+
+                        // A server that ignores the cursor pages by offset, and activities
+                        // tracked since the last load push rows we already have into this
+                        // page. If that's all it held, move on rather than stop short.
+                        if (endReached || cursor == null || cursor.hasOlder(data)
+                                || skipped == MAX_SKIPPED_PAGES) {
+                            return new MediatorResult.Success(endReached);
+                        }
+                        page = nextPage;
+                    }
+                })
+                .onErrorReturn(error -> {
+                    Log.w(TAG, "Activity sync failed: " + error.getMessage());
+                    return new MediatorResult.Error(error);
+                })
+                .subscribeOn(Schedulers.io());
+    }
+
+    private void store(LoadType loadType, List<ActivityResponse> data, Integer nextPage) {
+        long now = System.currentTimeMillis();
+        database.runInTransaction(() -> {
+            // Refresh upserts over the existing rows rather than clearing them:
+            // older history stored by HistorySyncWorker has to survive it
+            long lastRefreshedAt = now;
+            if (loadType != LoadType.REFRESH) {
+                ActivityRemoteKey previous = activityDao.getRemoteKey(userId);
+                if (previous != null) lastRefreshedAt = previous.lastRefreshedAt;
+            }
+            activityDao.upsertAll(ActivityEntity.fromResponses(data));
+            activityDao.upsertRemoteKey(new ActivityRemoteKey(userId, nextPage, lastRefreshedAt));
+        });
+    }
+}
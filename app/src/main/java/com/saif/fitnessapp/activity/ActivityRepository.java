@@ -1,11 +1,14 @@
 package com.saif.fitnessapp.activity;
 
+import android.content.Context;
+import android.util.Log;
+
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.paging.Pager;
-import androidx.paging.PagingConfig;
 import androidx.paging.PagingData;
 
+import com.saif.fitnessapp.database.AppDatabase;
 import com.saif.fitnessapp.network.ApiService;
 import com.saif.fitnessapp.network.dto.ActivityRequest;
 import com.saif.fitnessapp.network.dto.ActivityResponse;
@@ -14,36 +17,57 @@ import java.util.List;
 
 import javax.inject.Inject;
 
+import dagger.hilt.android.qualifiers.ApplicationContext;
+
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import kotlinx.coroutines.flow.Flow;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
 
 public class ActivityRepository {
+    private static final String TAG = "ActivityRepository";
+
     private final ApiService apiService;
+    private final AppDatabase database;
+    private final ActivityDao activityDao;
+    private final ActivityOutbox outbox;
+    private final ActivityCache activityCache;
+    private final AdaptivePagingController pagingController;
+    private final ActivityPageFetcher pageFetcher;
+    private final Context context;
 
     @Inject
-    public ActivityRepository(ApiService apiService) {
+    public ActivityRepository(@ApplicationContext Context context, ApiService apiService,
+                              AppDatabase database, ActivityOutbox outbox,
+                              ActivityCache activityCache,
+                              AdaptivePagingController pagingController,
+                              ActivityPageFetcher pageFetcher) {
+        this.context = context;
         this.apiService = apiService;
+        this.database = database;
+        this.activityDao = database.activityDao();
+        this.outbox = outbox;
+        this.activityCache = activityCache;
+        this.pagingController = pagingController;
+        this.pageFetcher = pageFetcher;
     }
 
+    /**
+     * Saves the activity locally and queues it for upload. The returned LiveData
+     * emits the placeholder as soon as it is stored (null only if the local write
+     * failed); {@link ActivityOutbox} takes care of getting it to the backend.
+     */
     public LiveData<ActivityResponse> trackActivity(ActivityRequest request) {
         MutableLiveData<ActivityResponse> liveData = new MutableLiveData<>();
 
-        apiService.trackActivity(request).enqueue(new Callback<ActivityResponse>() {
-            @Override
-            public void onResponse(Call<ActivityResponse> call,
-                                   Response<ActivityResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    liveData.postValue(response.body());
-                } else {
-                    liveData.postValue(null);
-                }
-            }
-
-            @Override
-            public void onFailure(Call<ActivityResponse> call, Throwable t) {
-                t.printStackTrace();
+        Schedulers.io().scheduleDirect(() -> {
+            try {
+                ActivityResponse queued = outbox.enqueue(request);
+                activityCache.put(queued);
+                liveData.postValue(queued);
+            } catch (Exception e) {
+                Log.e(TAG, "Could not queue activity: " + e.getMessage(), e);
                 liveData.postValue(null);
             }
         });
@@ -52,43 +76,44 @@ public class ActivityRepository {
     }
 
 
+    /**
+     * Activity history, read from the local table and topped up from the
+     * network by {@link ActivityRemoteMediator}. Page size and prefetch distance
+     * come from {@link AdaptivePagingController}.
+     */
     public Flow<PagingData<ActivityResponse>> getActivitiesFlow(String userId) {
 
         return new Pager<>(
-                new PagingConfig(
-                        10
-                ),
-                () -> new ActivityPagingSource(apiService, userId)
+                pagingController.pagingConfig(),
+                null,
+                new ActivityRemoteMediator(pageFetcher, database, activityCache,
+                        pagingController, userId),
+                () -> activityDao.pagingSource(userId)
         ).getFlow();
     }
 
+    /**
+     * The user's full activity history from the local table, newest first. Kicks off
+     * (or resumes) {@link HistorySyncWorker}; the LiveData re-emits as pages land.
+     */
     public LiveData<List<ActivityResponse>> getAllActivitiesForSearch(String userId) {
-        MutableLiveData<List<ActivityResponse>> liveData = new MutableLiveData<>();
-        apiService.getActivities(0, 100, userId).enqueue(new Callback<List<ActivityResponse>>() {
-            @Override
-            public void onResponse(Call<List<ActivityResponse>> call,
-                                   Response<List<ActivityResponse>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<ActivityResponse> list = response.body();
-                    // Sort latest first
-                    list.sort((a, b) -> {
-                        String ta = a.getStartTime() != null ? a.getStartTime() : "";
-                        String tb = b.getStartTime() != null ? b.getStartTime() : "";
-                        return tb.compareTo(ta);
-                    });
-                    liveData.postValue(list);
-                } else {
-                    liveData.postValue(null);
-                }
-            }
+        HistorySyncWorker.schedule(context, userId);
+        return activityDao.observeAll(userId);
+    }
 
-            @Override
-            public void onFailure(Call<List<ActivityResponse>> call, Throwable t) {
-                t.printStackTrace();
-                liveData.postValue(null);
-            }
-        });
-        return liveData;
+    /**
+     * One rollup cell (see {@link ActivityRollup}), maintained by {@link ActivityDao}
+     * as rows are written. Also schedules the history sync so lifetime totals cover
+     * activities that were never paged in. Emits null until the cell exists.
+     */
+    public LiveData<ActivityRollup> getRollup(String userId, String period, String bucket) {
+        HistorySyncWorker.schedule(context, userId);
+        return activityDao.observeRollup(userId, period, bucket, ActivityRollup.ALL_TYPES);
+    }
+
+    /** Per-type totals for one bucket, most frequent type first. */
+    public LiveData<List<ActivityRollup>> getRollupBreakdown(String userId, String period, String bucket) {
+        return activityDao.observeBreakdown(userId, period, bucket);
     }
 
     public LiveData<List<ActivityResponse>> getRecentActivities(String userId, int count) {
@@ -98,6 +123,7 @@ public class ActivityRepository {
             public void onResponse(Call<List<ActivityResponse>> call,
                                    Response<List<ActivityResponse>> response) {
                 if (response.isSuccessful() && response.body() != null) {
+                    activityCache.putAll(response.body());
                     liveData.postValue(response.body());
                 } else {
                     liveData.postValue(null);
@@ -0,0 +1,111 @@
+package com.saif.fitnessapp.activity;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+
+import com.saif.fitnessapp.utils.TimeFormats;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Running totals for one (user, period, bucket, activity type) cell.
+ *
+ * Each stored activity contributes to six cells: its day, its week (keyed by the
+ * Monday it falls in) and the lifetime bucket, each once for its own type and once
+ * for {@link #ALL_TYPES}. {@link ActivityDao} adds or subtracts those contributions
+ * whenever a row is written or removed, so the totals stay exact without ever
+ * re-reading the activity table.
+ *
+ * Buckets are calendar days and weeks in the device's time zone, taken from the
+ * activity's startTimeMillis (the instant the lists format for display), so a
+ * workout logged with an offset lands on the day it showed up as. Rows counted
+ * before a time-zone change stay in the buckets they were counted under.
+ */
+@Entity(
+        tableName = "activity_rollups",
+        primaryKeys = {"userId", "period", "bucket", "activityType"}
+)
+public class ActivityRollup {
+
+    public static final String PERIOD_DAY = "day";
+    public static final String PERIOD_WEEK = "week";
+    public static final String PERIOD_LIFETIME = "lifetime";
+
+    public static final String LIFETIME_BUCKET = "all";
+    /** activityType of the cell that sums every type. */
+    public static final String ALL_TYPES = "*";
+
+    @NonNull public String userId;
+    @NonNull public String period;
+    /** yyyy-MM-dd of the day, or of the week's Monday; {@link #LIFETIME_BUCKET} for lifetime. */
+    @NonNull public String bucket;
+    @NonNull public String activityType;
+
+    public int count;
+    public long calories;
+    public long duration;
+
+    public ActivityRollup(@NonNull String userId, @NonNull String period, @NonNull String bucket,
+                          @NonNull String activityType, int count, long calories, long duration) {
+        this.userId = userId;
+        this.period = period;
+        this.bucket = bucket;
+        this.activityType = activityType;
+        this.count = count;
+        this.calories = calories;
+        this.duration = duration;
+    }
+
+    /** An all-zero cell, for screens to show before anything has been stored. */
+    public static ActivityRollup empty(@NonNull String userId) {
+        return new ActivityRollup(userId, PERIOD_LIFETIME, LIFETIME_BUCKET, ALL_TYPES, 0, 0, 0);
+    }
+
+    // ─── Bucket keys ─────────────────────────────────────────────────────────
+
+    /**
+     * (period, bucket) pairs an activity starting at {@code startTimeMillis} counts
+     * towards; just the lifetime one when the start time is unknown.
+     */
+    public static List<String[]> bucketsFor(long startTimeMillis) {
+        List<String[]> buckets = new ArrayList<>(3);
+        buckets.add(new String[]{PERIOD_LIFETIME, LIFETIME_BUCKET});
+        LocalDate day = localDate(startTimeMillis);
+        if (day != null) {
+            buckets.add(new String[]{PERIOD_DAY, day.toString()});
+            buckets.add(new String[]{PERIOD_WEEK, monday(day).toString()});
+        }
+        return buckets;
+    }
+
+    /** yyyy-MM-dd of the device-local day containing {@code epochMillis}, or null if unknown. */
+    @Nullable
+    public static String dayBucket(long epochMillis) {
+        LocalDate day = localDate(epochMillis);
+        return day != null ? day.toString() : null;
+    }
+
+    /** Monday (yyyy-MM-dd) of the device-local week containing {@code epochMillis}, or null if unknown. */
+    @Nullable
+    public static String weekBucket(long epochMillis) {
+        LocalDate day = localDate(epochMillis);
+        return day != null ? monday(day).toString() : null;
+    }
+
+    @Nullable
+    private static LocalDate localDate(long epochMillis) {
+        if (epochMillis == TimeFormats.UNKNOWN) return null;
+        return Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static LocalDate monday(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
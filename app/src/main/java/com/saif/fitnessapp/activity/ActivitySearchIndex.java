@@ -0,0 +1,177 @@
+package com.saif.fitnessapp.activity;
+
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable trigram index over a set of activities, built once per data set
+ * (off the main thread) and then queried per keystroke.
+ *
+ * Each activity is flattened into one lower-cased text blob holding the same
+ * fields the old linear search looked at: type, duration, calories, start time,
+ * id and metric values. Fields are separated by a newline so a match never spans
+ * two fields. Queries of three or more characters intersect trigram posting lists
+ * and only verify the surviving candidates; shorter queries scan the prebuilt blobs,
+ * which is still allocation-free per item.
+ *
+ * Results keep the order of the input list.
+ */
+public final class ActivitySearchIndex {
+
+    private static final int GRAM = 3;
+    private static final char FIELD_SEPARATOR = '\n';
+
+    public static final ActivitySearchIndex EMPTY =
+            new ActivitySearchIndex(Collections.emptyList());
+
+    private final List<ActivityResponse> activities;
+    private final String[] blobs;
+    private final Map<String, int[]> postings;
+
+    private ActivitySearchIndex(List<ActivityResponse> activities) {
+        this.activities = activities;
+        this.blobs = new String[activities.size()];
+
+        Map<String, IntList> building = new HashMap<>();
+        for (int doc = 0; doc < activities.size(); doc++) {
+            String blob = searchableText(activities.get(doc));
+            blobs[doc] = blob;
+            for (int i = 0; i + GRAM <= blob.length(); i++) {
+                if (spansFields(blob, i)) continue;
+                String gram = blob.substring(i, i + GRAM);
+                IntList list = building.get(gram);
+                if (list == null) {
+                    list = new IntList();
+                    building.put(gram, list);
+                }
+                list.addOnce(doc);
+            }
+        }
+
+        this.postings = new HashMap<>(building.size() * 2);
+        for (Map.Entry<String, IntList> e : building.entrySet()) {
+            postings.put(e.getKey(), e.getValue().toArray());
+        }
+    }
+
+    /** Builds an index over {@code activities}. O(total text length); call off the main thread. */
+    public static ActivitySearchIndex build(List<ActivityResponse> activities) {
+        if (activities == null || activities.isEmpty()) return EMPTY;
+        return new ActivitySearchIndex(new ArrayList<>(activities));
+    }
+
+    public int size() {
+        return activities.size();
+    }
+
+    /** Activities matching {@code rawQuery} (case-insensitive substring), in input order. */
+    public List<ActivityResponse> search(String rawQuery) {
+        String q = normalize(rawQuery);
+        if (q.isEmpty()) return Collections.emptyList();
+
+        List<ActivityResponse> results = new ArrayList<>();
+        if (q.length() < GRAM) {
+            for (int doc = 0; doc < blobs.length; doc++) {
+                if (blobs[doc].contains(q)) results.add(activities.get(doc));
+            }
+            return results;
+        }
+
+        int[] candidates = null;
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            int[] list = postings.get(q.substring(i, i + GRAM));
+            if (list == null) return results; // some trigram occurs nowhere
+            candidates = candidates == null ? list : intersect(candidates, list);
+            if (candidates.length == 0) return results;
+        }
+
+        // Trigrams can all be present without being contiguous — verify
+        for (int doc : candidates) {
+            if (blobs[doc].contains(q)) results.add(activities.get(doc));
+        }
+        return results;
+    }
+
+    // ─── Helpers ─────────────────────────────────────────────────────────────
+
+    private static String normalize(String query) {
+        return query == null ? "" : query.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static boolean spansFields(String blob, int start) {
+        for (int i = start; i < start + GRAM; i++) {
+            if (blob.charAt(i) == FIELD_SEPARATOR) return true;
+        }
+        return false;
+    }
+
+    static String searchableText(ActivityResponse a) {
+        StringBuilder sb = new StringBuilder(96);
+        // Types are indexed with spaces so "weight lifting" finds WEIGHT_LIFTING
+        if (a.getActivityType() != null) {
+            sb.append(a.getActivityType().toLowerCase(Locale.ROOT).replace('_', ' ')).append(FIELD_SEPARATOR);
+        }
+        if (a.getDuration() != null) sb.append(a.getDuration()).append(FIELD_SEPARATOR);
+        if (a.getCaloriesBurned() != null) sb.append(a.getCaloriesBurned()).append(FIELD_SEPARATOR);
+        if (a.getStartTime() != null) {
+            sb.append(a.getStartTime().toLowerCase(Locale.ROOT)).append(FIELD_SEPARATOR);
+        }
+        if (a.getId() != null) sb.append(a.getId().toLowerCase(Locale.ROOT)).append(FIELD_SEPARATOR);
+        if (a.getAdditionalMetrics() != null) {
+            a.getAdditionalMetrics().forEach(new ActivityMetrics.Visitor() {
+                @Override
+                public void onNumber(ActivityMetrics.Key key, double value) {
+                    if (key.integral) sb.append(Math.round(value));
+                    else sb.append(value);
+                    sb.append(FIELD_SEPARATOR);
+                }
+
+                @Override
+                public void onText(String name, String value) {
+                    sb.append(value.toLowerCase(Locale.ROOT)).append(FIELD_SEPARATOR);
+                }
+            });
+        }
+        return sb.toString();
+    }
+
+    /** Both inputs are sorted ascending (doc ids are added in order). */
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /** Growable sorted int list; skips a doc id already added last. */
+    private static final class IntList {
+        private int[] data = new int[4];
+        private int size;
+
+        void addOnce(int value) {
+            if (size > 0 && data[size - 1] == value) return;
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.saif.fitnessapp.activity;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Checkpoint for {@link HistorySyncWorker}: how far the full-history walk has got
+ * for a user. Written after every page, so a sync killed mid-way resumes where it
+ * stopped instead of starting again from page 0. The resume point is the last row
+ * stored, so history changes in the meantime don't move it.
+ */
+@Entity(tableName = "activity_sync_state")
+public class ActivitySyncState {
+
+    @PrimaryKey
+    @NonNull
+    public String userId;
+
+    /** First backend page not yet stored locally, for servers that don't take a cursor. */
+    public int nextPage;
+
+    /** (startTime, id) of the last row stored; the walk continues after it. */
+    @Nullable
+    public String afterStartTime;
+    @Nullable
+    public String afterId;
+
+    /** True once the walk reached the end of the history at least once. */
+    public boolean complete;
+
+    public long lastSyncedAt;
+
+    public ActivitySyncState(@NonNull String userId, int nextPage, boolean complete,
+                             @Nullable String afterStartTime, @Nullable String afterId,
+                             long lastSyncedAt) {
+        this.userId = userId;
+        this.nextPage = nextPage;
+        this.complete = complete;
+        this.afterStartTime = afterStartTime;
+        this.afterId = afterId;
+        this.lastSyncedAt = lastSyncedAt;
+    }
+}
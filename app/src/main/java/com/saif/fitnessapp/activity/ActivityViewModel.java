@@ -6,6 +6,7 @@ import androidx.paging.PagingData;
 
 import com.saif.fitnessapp.network.dto.ActivityRequest;
 import com.saif.fitnessapp.network.dto.ActivityResponse;
+import com.saif.fitnessapp.startup.DashboardPrefetcher;
 
 import java.util.List;
 
@@ -18,10 +19,12 @@ import kotlinx.coroutines.flow.Flow;
 @HiltViewModel
 public class ActivityViewModel extends ViewModel {
     private final ActivityRepository activityRepository;
+    private final DashboardPrefetcher prefetcher;
 
     @Inject
-    public ActivityViewModel(ActivityRepository activityRepository) {
+    public ActivityViewModel(ActivityRepository activityRepository, DashboardPrefetcher prefetcher) {
         this.activityRepository = activityRepository;
+        this.prefetcher = prefetcher;
     }
 
     public LiveData<ActivityResponse> trackActivity(ActivityRequest request) {
@@ -39,8 +42,28 @@ public class ActivityViewModel extends ViewModel {
         );
     }
 
+    // Attaches to the splash screen's prefetch when there is one
     public LiveData<List<ActivityResponse>> getRecentActivities(String userId) {
-        return activityRepository.getRecentActivities(userId, 10);
+        LiveData<List<ActivityResponse>> prefetched = prefetcher.claimRecentActivities(userId);
+        return prefetched != null ? prefetched
+                : activityRepository.getRecentActivities(userId, DashboardPrefetcher.RECENT_ACTIVITY_COUNT);
+    }
+
+    /** Lifetime count/calories/duration across all types. */
+    public LiveData<ActivityRollup> getLifetimeStats(String userId) {
+        return activityRepository.getRollup(userId,
+                ActivityRollup.PERIOD_LIFETIME, ActivityRollup.LIFETIME_BUCKET);
+    }
+
+    /** Totals for the device-local week containing {@code epochMillis}. */
+    public LiveData<ActivityRollup> getWeekStats(String userId, long epochMillis) {
+        return activityRepository.getRollup(userId,
+                ActivityRollup.PERIOD_WEEK, ActivityRollup.weekBucket(epochMillis));
+    }
+
+    public LiveData<List<ActivityRollup>> getLifetimeBreakdown(String userId) {
+        return activityRepository.getRollupBreakdown(userId,
+                ActivityRollup.PERIOD_LIFETIME, ActivityRollup.LIFETIME_BUCKET);
     }
 
     public LiveData<List<ActivityResponse>> getAllActivitiesForSearch(String userId) {
@@ -0,0 +1,107 @@
+package com.saif.fitnessapp.activity;
+
+import android.util.Log;
+
+import androidx.paging.PagingConfig;
+
+import com.saif.fitnessapp.BuildConfig;
+
+import java.util.Locale;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Sizes activity-history paging from how slow the backend is and how fast the user
+ * scrolls, so a fling over a slow link doesn't outrun the next page.
+ *
+ * The quantity that matters is how many rows the user scrolls past while one page
+ * request is in flight (velocity x round trip). Pages are sized to cover two of
+ * those and loading starts one and a half of those before the end of the list, all
+ * within the bounds below. With no measurements yet it matches the old fixed
+ * config (page 10, prefetch 10).
+ *
+ * A singleton, so what it learns outlives any one Pager: {@link ActivityRemoteMediator}
+ * picks its request size per load, and every new Pager starts from
+ * {@link #pagingConfig()}.
+ */
+@Singleton
+public class AdaptivePagingController {
+    private static final String TAG = "AdaptivePaging";
+
+    // Backend pages are BASE_PAGE_SIZE x a power of two up to MAX_PAGE_MULTIPLE, so
+    // page indexes at any size line up (see fetchMultiple)
+    static final int BASE_PAGE_SIZE = 10;
+    static final int MAX_PAGE_MULTIPLE = 8;
+    static final int MIN_PREFETCH = 10;
+    static final int MAX_PREFETCH = 60;
+    static final int MAX_INITIAL_LOAD = 120;
+
+    // Weight of a new round-trip sample; rare cold starts shouldn't pin it high
+    private static final double RTT_ALPHA = 0.3;
+    // Velocity rises fast on a fling and decays slowly, so pages stay big for the
+    // rest of a browsing session
+    private static final double VELOCITY_ATTACK = 0.5;
+    private static final double VELOCITY_DECAY = 0.1;
+
+    private double rttMs = 0;
+    private double itemsPerSecond = 0;
+
+    @Inject
+    public AdaptivePagingController() {}
+
+    /** One backend page request took {@code elapsedMs}, end to end. */
+    public synchronized void recordLoad(long elapsedMs) {
+        rttMs = rttMs == 0 ? elapsedMs : rttMs + RTT_ALPHA * (elapsedMs - rttMs);
+        if (BuildConfig.DEBUG) {
+            Log.d(TAG, String.format(Locale.US,
+                    "rtt %d ms (avg %.0f), %.1f items/s -> fetch %d, prefetch %d",
+                    elapsedMs, rttMs, itemsPerSecond,
+                    BASE_PAGE_SIZE * targetMultiple(), prefetchDistance()));
+        }
+    }
+
+    /** Downward scroll speed over the last sampling window, in list rows per second. */
+    public synchronized void recordScroll(double itemsPerSecond) {
+        if (itemsPerSecond <= 0) return;
+        double weight = itemsPerSecond > this.itemsPerSecond ? VELOCITY_ATTACK : VELOCITY_DECAY;
+        this.itemsPerSecond += weight * (itemsPerSecond - this.itemsPerSecond);
+    }
+
+    /** Config for a new Pager, from what has been measured so far. */
+    public synchronized PagingConfig pagingConfig() {
+        int pageSize = BASE_PAGE_SIZE * targetMultiple();
+        int prefetch = prefetchDistance();
+        int initialLoad = Math.min(MAX_INITIAL_LOAD, Math.max(3 * pageSize, 2 * prefetch));
+        return new PagingConfig(pageSize, prefetch, true, initialLoad);
+    }
+
+    /**
+     * Size of the next backend request, as a multiple of {@link #BASE_PAGE_SIZE}, when
+     * {@code basePage} rows-of-BASE_PAGE_SIZE are already stored. The largest
+     * power of two up to the target that divides basePage, so the request lands on
+     * a whole page of its own size: basePage / multiple.
+     */
+    public synchronized int fetchMultiple(int basePage) {
+        int multiple = targetMultiple();
+        while (multiple > 1 && basePage % multiple != 0) multiple /= 2;
+        return multiple;
+    }
+
+    /** Rows scrolled past during one round trip. */
+    private double itemsPerRoundTrip() {
+        return itemsPerSecond * rttMs / 1000;
+    }
+
+    private int targetMultiple() {
+        double wanted = 2 * itemsPerRoundTrip() / BASE_PAGE_SIZE;
+        int multiple = 1;
+        while (multiple < MAX_PAGE_MULTIPLE && multiple < wanted) multiple *= 2;
+        return multiple;
+    }
+
+    private int prefetchDistance() {
+        int wanted = (int) Math.ceil(1.5 * itemsPerRoundTrip());
+        return Math.max(MIN_PREFETCH, Math.min(MAX_PREFETCH, wanted));
+    }
+}
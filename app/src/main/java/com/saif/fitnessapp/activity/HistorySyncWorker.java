@@ -0,0 +1,181 @@
+package com.saif.fitnessapp.activity;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.hilt.work.HiltWorker;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.saif.fitnessapp.database.AppDatabase;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import dagger.assisted.Assisted;
+import dagger.assisted.AssistedInject;
+
+/**
+ * Copies a user's entire activity history into the local table, which is what
+ * search reads from.
+ *
+ * The walk is keyset-paged like the list's appends: each request asks for the
+ * rows after the last one stored, by (startTime, id), and the checkpoint in
+ * {@link ActivitySyncState} records that row in the same transaction as the rows.
+ * Activities tracked or deleted while the walk is paused can't shift it, as they
+ * would an offset. {@link ActivityPageFetcher} falls back to the page index for
+ * servers that don't take a cursor.
+ *
+ * Pages are fetched one at a time: each request needs the last row of the one
+ * before, so overlapping them (as the offset walk once did, a few pages in
+ * flight) would mean guessing offsets again and losing the stable walk. Rows are
+ * written {@link #WRITE_BATCH_PAGES} pages per transaction, so Room invalidates
+ * the table, and re-runs {@code observeAll} for search, once per batch rather
+ * than once per page.
+ *
+ * After the first complete pass, later runs only walk from the newest page until
+ * they reach a page with nothing new. Work is unique per user, so a sync queued
+ * for one account never swallows another's; logging out cancels it.
+ */
+@HiltWorker
+public class HistorySyncWorker extends Worker {
+
+    private static final String TAG = "HistorySyncWorker";
+    private static final String WORK_TAG = "activity_history_sync";
+    private static final String KEY_USER_ID = "user_id";
+
+    static final int SYNC_PAGE_SIZE = 50;
+    // Pages per write transaction; a stop or failure loses at most this many fetches
+    static final int WRITE_BATCH_PAGES = 10;
+
+    private final ActivityPageFetcher pageFetcher;
+    private final AppDatabase database;
+    private final ActivityDao activityDao;
+    private final ActivityCache activityCache;
+
+    @AssistedInject
+    public HistorySyncWorker(
+            @Assisted @NonNull Context context,
+            @Assisted @NonNull WorkerParameters params,
+            ActivityPageFetcher pageFetcher,
+            AppDatabase database,
+            ActivityCache activityCache
+    ) {
+        super(context, params);
+        this.pageFetcher = pageFetcher;
+        this.database = database;
+        this.activityDao = database.activityDao();
+        this.activityCache = activityCache;
+    }
+
+    /** Starts (or resumes) {@code userId}'s sync unless theirs is already queued or running. */
+    public static void schedule(Context context, String userId) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(HistorySyncWorker.class)
+                .setInputData(new Data.Builder().putString(KEY_USER_ID, userId).build())
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .addTag(WORK_TAG)
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(WORK_TAG + "_" + userId, ExistingWorkPolicy.KEEP, request);
+    }
+
+    /** Stops every user's sync; the checkpoint stays, so signing back in resumes it. */
+    public static void cancel(Context context) {
+        WorkManager.getInstance(context).cancelAllWorkByTag(WORK_TAG);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String userId = getInputData().getString(KEY_USER_ID);
+        if (userId == null) return Result.failure();
+
+        ActivitySyncState state = activityDao.getSyncState(userId);
+        // A finished history only needs topping up from the newest page
+        boolean catchUp = state != null && state.complete;
+        boolean resume = state != null && !catchUp;
+        int page = resume ? state.nextPage : 0;
+        ActivityCursor cursor = resume ? ActivityCursor.of(state.afterStartTime, state.afterId) : null;
+
+        long startedAt = SystemClock.elapsedRealtime();
+        int stored = 0;
+        List<ActivityResponse> batch = new ArrayList<>();
+        int batchPages = 0;
+        try {
+            while (true) {
+                if (isStopped()) {
+                    write(userId, batch, catchUp, page, cursor);
+                    return Result.retry();
+                }
+
+                List<ActivityResponse> items = pageFetcher.fetch(userId, cursor, page, SYNC_PAGE_SIZE);
+                // A short page is the end of the history; in catch-up mode so is a page we already have
+                boolean last = items.size() < SYNC_PAGE_SIZE || (catchUp && !hasNewItems(items));
+                ActivityCursor next = items.isEmpty()
+                        ? cursor
+                        : ActivityCursor.after(items.get(items.size() - 1));
+                page++;
+                cursor = next;
+                batch.addAll(items);
+                batchPages++;
+                stored += items.size();
+
+                if (last || batchPages == WRITE_BATCH_PAGES) {
+                    write(userId, batch, catchUp || last, page, cursor);
+                    batch.clear();
+                    batchPages = 0;
+                }
+                if (last) break;
+            }
+        } catch (IOException e) {
+            // Pages already fetched are good; keep them and resume after them
+            write(userId, batch, catchUp, page, cursor);
+            Log.w(TAG, "History sync interrupted, will resume from checkpoint: " + e.getMessage());
+            return Result.retry();
+        }
+
+        Log.i(TAG, (catchUp ? "Catch-up" : "Full") + " sync stored " + stored
+                + " activities in " + (SystemClock.elapsedRealtime() - startedAt) + " ms");
+        return Result.success();
+    }
+
+    /**
+     * Stores {@code items} and the checkpoint after them in one transaction. A
+     * catch-up always leaves the history complete: it restarts from the top anyway.
+     */
+    private void write(String userId, List<ActivityResponse> items, boolean complete,
+                       int nextPage, ActivityCursor next) {
+        if (items.isEmpty() && !complete) return;
+        database.runInTransaction(() -> {
+            activityDao.upsertAll(ActivityEntity.fromResponses(items));
+            // Once complete, the resume point for a full walk no longer matters
+            activityDao.upsertSyncState(complete
+                    ? new ActivitySyncState(userId, 0, true, null, null, System.currentTimeMillis())
+                    : new ActivitySyncState(userId, nextPage, false,
+                            next != null ? next.startTime : null,
+                            next != null ? next.id : null,
+                            System.currentTimeMillis()));
+        });
+        activityCache.putAll(items);
+    }
+
+    private boolean hasNewItems(List<ActivityResponse> items) {
+        List<String> ids = new ArrayList<>(items.size());
+        for (ActivityResponse a : items) {
+            if (a.getId() != null) ids.add(a.getId());
+        }
+        return !ids.isEmpty() && activityDao.countExisting(ids) < ids.size();
+    }
+}
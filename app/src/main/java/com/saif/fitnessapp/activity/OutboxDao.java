@@ -0,0 +1,33 @@
+package com.saif.fitnessapp.activity;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface OutboxDao {
+
+    @Insert
+    void insert(OutboxEntry entry);
+
+    // Oldest first so uploads keep the order the user tracked them in
+    @Query("SELECT * FROM activity_outbox WHERE rejected = 0 ORDER BY queuedAt ASC LIMIT :limit")
+    List<OutboxEntry> oldestPending(int limit);
+
+    @Query("DELETE FROM activity_outbox WHERE localId = :localId")
+    void delete(String localId);
+
+    @Query("UPDATE activity_outbox SET attempts = attempts + 1, lastError = :error WHERE localId = :localId")
+    void markFailed(String localId, String error);
+
+    @Query("UPDATE activity_outbox SET attempts = attempts + 1, rejected = 1, lastError = :error WHERE localId = :localId")
+    void markRejected(String localId, String error);
+
+    @Query("DELETE FROM activity_outbox WHERE rejected = 1 AND queuedAt < :queuedBefore")
+    int deleteRejected(long queuedBefore);
+
+    @Query("SELECT COUNT(*) FROM activity_outbox")
+    int count();
+}
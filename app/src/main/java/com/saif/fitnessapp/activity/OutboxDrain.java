@@ -0,0 +1,222 @@
+package com.saif.fitnessapp.activity;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.saif.fitnessapp.network.ApiService;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+import com.saif.fitnessapp.utils.TimeFormats;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+/**
+ * The upload loop behind {@link OutboxDrainWorker}, without WorkManager or Room so
+ * it can run against a stand-in server in tests.
+ *
+ * Uploads are sent with the entry's localId as an Idempotency-Key. A backend that
+ * ignores the header could still end up with a copy from an earlier attempt whose
+ * response was lost, so an entry that has failed before is first looked up on the
+ * server and committed from there if a row carries exactly its payload.
+ *
+ * A refused entry loses its placeholder at once, so the list never shows a workout
+ * the server will not have; the entry itself is kept, with the reason, for
+ * {@link #REJECTED_RETENTION_MS} and then purged.
+ */
+class OutboxDrain {
+
+    enum Outcome {
+        /** Nothing pending is left. */
+        DRAINED,
+        /** Offline, throttled or a server error; try the rest later. */
+        RETRY,
+        /** 401/403 even after the auth interceptor's refresh; wait for a new sign-in. */
+        SIGNED_OUT
+    }
+
+    /** Where entries come from and where their results go. */
+    interface Store {
+        /** Oldest first, skipping rejected entries. */
+        List<OutboxEntry> pending(int limit);
+
+        /** Replaces the placeholder with the server's row and removes the entry. */
+        void commit(OutboxEntry entry, @Nullable ActivityResponse saved);
+
+        /** Counts an attempt that may succeed later. */
+        void markFailed(OutboxEntry entry, String error);
+
+        /** Stops sending the entry and removes its placeholder; the entry stays until purged. */
+        void reject(OutboxEntry entry, String error);
+
+        /** Deletes rejected entries queued before {@code queuedBefore}. */
+        void purgeRejected(long queuedBefore);
+    }
+
+    private static final String TAG = "OutboxDrainWorker";
+    static final int BATCH_SIZE = 20;
+    // Rows at or before the entry's start time to search for an earlier upload
+    static final int LOOKUP_PAGE_SIZE = 10;
+    // How long a refused entry is kept for diagnosis once its placeholder is gone
+    static final long REJECTED_RETENTION_MS = TimeUnit.DAYS.toMillis(7);
+
+    private final ApiService apiService;
+    private final Store store;
+
+    private int uploaded;
+    private long worstCommitLatencyMs;
+
+    OutboxDrain(ApiService apiService, Store store) {
+        this.apiService = apiService;
+        this.store = store;
+    }
+
+    Outcome run(BooleanSupplier stopped) {
+        store.purgeRejected(System.currentTimeMillis() - REJECTED_RETENTION_MS);
+        List<OutboxEntry> batch;
+        while (!(batch = store.pending(BATCH_SIZE)).isEmpty()) {
+            for (OutboxEntry entry : batch) {
+                if (stopped.getAsBoolean()) return Outcome.RETRY;
+                Outcome outcome = upload(entry);
+                if (outcome != null) return outcome;
+            }
+        }
+        return Outcome.DRAINED;
+    }
+
+    /** Entries committed by {@link #run} so far. */
+    int uploaded() {
+        return uploaded;
+    }
+
+    /** Longest submit-to-commit time among them. */
+    long worstCommitLatencyMs() {
+        return worstCommitLatencyMs;
+    }
+
+    /** Null once the entry is settled (committed or rejected); otherwise why the run stops. */
+    @Nullable
+    private Outcome upload(OutboxEntry entry) {
+        Response<ActivityResponse> response;
+        try {
+            if (entry.attempts > 0) {
+                Response<List<ActivityResponse>> lookup = lookUp(entry);
+                if (lookup != null && lookup.isSuccessful()) {
+                    ActivityResponse existing = findSame(entry, lookup.body());
+                    if (existing != null) {
+                        Log.i(TAG, entry.localId + " was already saved as " + existing.getId());
+                        commit(entry, existing);
+                        return null;
+                    }
+                } else if (lookup != null && isAuthFailure(lookup.code())) {
+                    store.markFailed(entry, "HTTP " + lookup.code());
+                    return Outcome.SIGNED_OUT;
+                } else if (lookup != null && isRetryable(lookup.code())) {
+                    store.markFailed(entry, "HTTP " + lookup.code());
+                    return Outcome.RETRY;
+                }
+                // Any other lookup failure: nothing to match against, rely on the key
+            }
+            response = apiService.trackActivity(entry.localId, entry.toRequest()).execute();
+        } catch (IOException e) {
+            store.markFailed(entry, e.getMessage());
+            Log.w(TAG, "Upload failed, will retry: " + e.getMessage());
+            return Outcome.RETRY;
+        }
+
+        int code = response.code();
+        if (response.isSuccessful()) {
+            commit(entry, response.body());
+            return null;
+        }
+        if (isAuthFailure(code)) {
+            store.markFailed(entry, "HTTP " + code);
+            Log.w(TAG, "Upload got HTTP " + code + ", waiting for the next sign-in");
+            return Outcome.SIGNED_OUT;
+        }
+        if (isRetryable(code)) {
+            store.markFailed(entry, "HTTP " + code);
+            Log.w(TAG, "Upload got HTTP " + code + ", will retry");
+            return Outcome.RETRY;
+        }
+        // The backend rejected the payload itself; resending can't fix it
+        Log.e(TAG, "Upload rejected with HTTP " + code + " after "
+                + (entry.attempts + 1) + " attempt(s), dropping " + entry.localId);
+        store.reject(entry, "HTTP " + code + errorDetail(response));
+        return null;
+    }
+
+    /** Newest rows starting no later than the entry, or null when it has no usable start time. */
+    @Nullable
+    private Response<List<ActivityResponse>> lookUp(OutboxEntry entry) throws IOException {
+        long startMillis = TimeFormats.parseEpochMillis(entry.startTime);
+        if (startMillis == TimeFormats.UNKNOWN) return null;
+        // No beforeId: everything strictly before the next millisecond. Sent in UTC
+        // with a 'Z', like the server's own start times that ActivityCursor echoes
+        // back, rather than device-local time the server would read in its own zone.
+        String justAfter = Instant.ofEpochMilli(startMillis + 1).toString();
+        return apiService.getActivitiesBefore(0, LOOKUP_PAGE_SIZE, entry.userId, justAfter, null)
+                .execute();
+    }
+
+    /**
+     * The row whose every field matches what the entry uploads. A different workout
+     * logged at the same start (another type, calories or metrics) is not taken for
+     * it; two identical ones at the same instant are indistinguishable.
+     */
+    @Nullable
+    private static ActivityResponse findSame(OutboxEntry entry, @Nullable List<ActivityResponse> rows) {
+        if (rows == null) return null;
+        long startMillis = TimeFormats.parseEpochMillis(entry.startTime);
+        for (ActivityResponse row : rows) {
+            if (row.getId() != null
+                    && row.getStartTimeMillis() == startMillis
+                    && Objects.equals(row.getUserId(), entry.userId)
+                    && Objects.equals(row.getActivityType(), entry.activityType)
+                    && Objects.equals(row.getDuration(), entry.duration)
+                    && Objects.equals(row.getCaloriesBurned(), entry.caloriesBurned)
+                    && Objects.equals(row.getAdditionalMetrics(), entry.additionalMetrics)) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    private void commit(OutboxEntry entry, @Nullable ActivityResponse saved) {
+        store.commit(entry, saved);
+        uploaded++;
+        worstCommitLatencyMs = Math.max(worstCommitLatencyMs,
+                System.currentTimeMillis() - entry.queuedAt);
+    }
+
+    /** ": <first line of the error body>", or "" when there is none. */
+    private static String errorDetail(Response<?> response) {
+        try (ResponseBody body = response.errorBody()) {
+            if (body == null) return "";
+            String text = body.string().trim();
+            int newline = text.indexOf('\n');
+            if (newline >= 0) text = text.substring(0, newline);
+            if (text.length() > 200) text = text.substring(0, 200);
+            return text.isEmpty() ? "" : ": " + text;
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /** The session is gone; retrying on a timer won't bring it back. */
+    private static boolean isAuthFailure(int code) {
+        return code == 401 || code == 403;
+    }
+
+    /** Timeouts, throttling and server errors are worth another try. */
+    private static boolean isRetryable(int code) {
+        return code == 408 || code == 429 || code >= 500;
+    }
+}
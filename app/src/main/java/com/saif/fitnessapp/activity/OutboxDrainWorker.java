@@ -0,0 +1,130 @@
+package com.saif.fitnessapp.activity;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.hilt.work.HiltWorker;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.saif.fitnessapp.database.AppDatabase;
+import com.saif.fitnessapp.network.ApiService;
+import com.saif.fitnessapp.network.NetworkModule;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import java.util.List;
+
+import javax.inject.Named;
+
+import dagger.assisted.Assisted;
+import dagger.assisted.AssistedInject;
+
+/**
+ * Uploads {@link OutboxEntry} rows oldest-first until the outbox is empty.
+ *
+ * The backend has no bulk endpoint, so a "batch" is up to
+ * {@link OutboxDrain#BATCH_SIZE} rows sent back to back over the same pooled
+ * connection. A network error or a retryable status stops the run and asks
+ * WorkManager for a backoff retry; the CONNECTED constraint keeps it parked while
+ * the device is offline. An auth failure ends the run without a retry: the entries
+ * stay queued and {@link ActivityOutbox#scheduleDrain} runs again after sign-in.
+ */
+@HiltWorker
+public class OutboxDrainWorker extends Worker {
+
+    static final String UNIQUE_WORK_NAME = "activity_outbox_drain";
+
+    private static final String TAG = "OutboxDrainWorker";
+
+    private final ApiService apiService;
+    private final AppDatabase database;
+    private final OutboxDao outboxDao;
+    private final ActivityDao activityDao;
+    private final ActivityCache activityCache;
+
+    @AssistedInject
+    public OutboxDrainWorker(
+            @Assisted @NonNull Context context,
+            @Assisted @NonNull WorkerParameters params,
+            @Named(NetworkModule.OUTBOX_API) ApiService apiService,
+            AppDatabase database,
+            ActivityCache activityCache
+    ) {
+        super(context, params);
+        this.apiService = apiService;
+        this.database = database;
+        this.outboxDao = database.outboxDao();
+        this.activityDao = database.activityDao();
+        this.activityCache = activityCache;
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        long startedAt = SystemClock.elapsedRealtime();
+        OutboxDrain drain = new OutboxDrain(apiService, new RoomStore());
+        try {
+            switch (drain.run(this::isStopped)) {
+                case DRAINED:
+                    return Result.success();
+                case SIGNED_OUT:
+                    return Result.failure();
+                default:
+                    return Result.retry();
+            }
+        } finally {
+            long elapsedMs = SystemClock.elapsedRealtime() - startedAt;
+            int uploaded = drain.uploaded();
+            if (uploaded > 0) {
+                Log.i(TAG, "Drained " + uploaded + " activities in " + elapsedMs + " ms ("
+                        + (uploaded * 1000L / Math.max(1, elapsedMs)) + "/s), worst submit-to-commit "
+                        + drain.worstCommitLatencyMs() + " ms");
+            }
+        }
+    }
+
+    private class RoomStore implements OutboxDrain.Store {
+
+        @Override
+        public List<OutboxEntry> pending(int limit) {
+            return outboxDao.oldestPending(limit);
+        }
+
+        /** Swaps the placeholder for the server's row and clears the outbox entry atomically. */
+        @Override
+        public void commit(OutboxEntry entry, @Nullable ActivityResponse saved) {
+            database.runInTransaction(() -> {
+                activityDao.deleteById(entry.localId);
+                if (saved != null && saved.getId() != null) {
+                    activityDao.upsert(ActivityEntity.fromResponse(saved));
+                }
+                outboxDao.delete(entry.localId);
+            });
+            activityCache.remove(entry.localId);
+            activityCache.put(saved);
+        }
+
+        @Override
+        public void markFailed(OutboxEntry entry, String error) {
+            outboxDao.markFailed(entry.localId, error);
+        }
+
+        @Override
+        public void reject(OutboxEntry entry, String error) {
+            database.runInTransaction(() -> {
+                outboxDao.markRejected(entry.localId, error);
+                activityDao.deleteById(entry.localId);
+            });
+            activityCache.remove(entry.localId);
+        }
+
+        @Override
+        public void purgeRejected(long queuedBefore) {
+            int purged = outboxDao.deleteRejected(queuedBefore);
+            if (purged > 0) Log.i(TAG, "Purged " + purged + " rejected outbox entries");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.saif.fitnessapp.activity;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+import com.saif.fitnessapp.network.dto.ActivityRequest;
+import com.saif.fitnessapp.utils.TimeFormats;
+
+/**
+ * A tracked activity that hasn't been accepted by the backend yet. Rows are
+ * written before any network call and removed by {@link OutboxDrainWorker}
+ * once the upload succeeds, so a workout survives failures and process death.
+ *
+ * {@link #localId} doubles as the id of the placeholder row in the activity
+ * table, which is what lets the UI show the activity straight away. It is also
+ * the Idempotency-Key of every upload attempt.
+ *
+ * An entry the backend refuses outright (a 4xx other than auth or throttling)
+ * loses its placeholder and is kept with {@link #rejected} set and the reason in
+ * {@link #lastError}; the drain skips it from then on and purges it after
+ * {@link OutboxDrain#REJECTED_RETENTION_MS}.
+ */
+@Entity(tableName = "activity_outbox")
+public class OutboxEntry {
+
+    /** Prefix for placeholder ids so they can never collide with backend ids. */
+    public static final String LOCAL_ID_PREFIX = "local-";
+
+    @PrimaryKey
+    @NonNull
+    public String localId;
+
+    public String userId;
+    public String activityType;
+    public Integer duration;
+    public Integer caloriesBurned;
+    public String startTime;
+    public ActivityMetrics additionalMetrics;
+
+    /** System.currentTimeMillis() when the user submitted it. */
+    public long queuedAt;
+    public int attempts;
+    public String lastError;
+    @ColumnInfo(defaultValue = "0")
+    public boolean rejected;
+
+    public OutboxEntry(@NonNull String localId, String userId, String activityType,
+                       Integer duration, Integer caloriesBurned, String startTime,
+                       ActivityMetrics additionalMetrics, long queuedAt) {
+        this.localId = localId;
+        this.userId = userId;
+        this.activityType = activityType;
+        this.duration = duration;
+        this.caloriesBurned = caloriesBurned;
+        this.startTime = startTime;
+        this.additionalMetrics = additionalMetrics;
+        this.queuedAt = queuedAt;
+    }
+
+    public ActivityRequest toRequest() {
+        return new ActivityRequest(userId, activityType, duration, caloriesBurned,
+                startTime, additionalMetrics);
+    }
+
+    /** Row shown in the activity list until the upload lands. */
+    public ActivityEntity toPlaceholder() {
+        return new ActivityEntity(localId, userId, activityType, duration, caloriesBurned,
+                startTime, TimeFormats.parseEpochMillis(startTime), additionalMetrics, null, null);
+    }
+}
@@ -11,10 +11,23 @@ public final class AuthConfig {
 
     private AuthConfig() {}
 
+    /**
+     * Resolves the URLs below now. Called from the startup executor so the
+     * emulator probe runs there rather than on whichever thread first reads a URL.
+     */
+    public static void preload() {
+        // Class initialization does the work
+    }
+
     // ===============================
     // DEVICE DETECTION (IMPROVED)
     // ===============================
 
+    // Only probed when a production URL is missing, and only once for both URLs
+    private static final class Device {
+        static final boolean EMULATOR = isEmulator();
+    }
+
     private static boolean isEmulator() {
         boolean result = Build.FINGERPRINT.startsWith("generic")
                 || Build.FINGERPRINT.startsWith("unknown")
@@ -39,16 +52,11 @@ public final class AuthConfig {
                 || Build.SERIAL.toLowerCase().contains("nox")
                 || (Build.BRAND.startsWith("generic") && Build.DEVICE.startsWith("generic"));
 
-        Log.d(TAG, "Emulator Detection Details:");
-        Log.d(TAG, "  FINGERPRINT: " + Build.FINGERPRINT);
-        Log.d(TAG, "  MODEL: " + Build.MODEL);
-        Log.d(TAG, "  MANUFACTURER: " + Build.MANUFACTURER);
-        Log.d(TAG, "  BRAND: " + Build.BRAND);
-        Log.d(TAG, "  DEVICE: " + Build.DEVICE);
-        Log.d(TAG, "  PRODUCT: " + Build.PRODUCT);
-        Log.d(TAG, "  HARDWARE: " + Build.HARDWARE);
-        Log.d(TAG, "  BOARD: " + Build.BOARD);
-        Log.d(TAG, "  Result: " + (result ? "EMULATOR" : "PHYSICAL DEVICE"));
+        if (BuildConfig.DEBUG) {
+            Log.d(TAG, "Emulator detection: " + (result ? "EMULATOR" : "PHYSICAL DEVICE")
+                    + " (model=" + Build.MODEL + ", product=" + Build.PRODUCT
+                    + ", hardware=" + Build.HARDWARE + ", fingerprint=" + Build.FINGERPRINT + ")");
+        }
 
         return result;
     }
@@ -60,11 +68,11 @@ public final class AuthConfig {
     // Production URLs take priority; fall back to emulator/device detection for local dev
     public static final String KEYCLOAK_BASE_URL = (!BuildConfig.KEYCLOAK_PRODUCTION_URL.isEmpty())
             ? BuildConfig.KEYCLOAK_PRODUCTION_URL
-            : isEmulator() ? BuildConfig.KEYCLOAK_EMULATOR_URL : BuildConfig.KEYCLOAK_DEVICE_URL;
+            : Device.EMULATOR ? BuildConfig.KEYCLOAK_EMULATOR_URL : BuildConfig.KEYCLOAK_DEVICE_URL;
 
     public static final String API_BASE_URL = (!BuildConfig.API_PRODUCTION_URL.isEmpty())
             ? BuildConfig.API_PRODUCTION_URL
-            : isEmulator() ? BuildConfig.API_EMULATOR_URL : BuildConfig.API_DEVICE_URL;
+            : Device.EMULATOR ? BuildConfig.API_EMULATOR_URL : BuildConfig.API_DEVICE_URL;
 
     public static final String REALM = BuildConfig.KEYCLOAK_REALM;
 
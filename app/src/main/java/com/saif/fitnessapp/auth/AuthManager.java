@@ -7,6 +7,11 @@ import android.net.Uri;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.saif.fitnessapp.network.NetworkModule;
 
 import net.openid.appauth.AppAuthConfiguration;
 import net.openid.appauth.AuthorizationException;
@@ -16,38 +21,58 @@ import net.openid.appauth.AuthorizationService;
 import net.openid.appauth.AuthorizationServiceConfiguration;
 import net.openid.appauth.ResponseTypeValues;
 import net.openid.appauth.TokenRequest;
-import net.openid.appauth.TokenResponse;
 import net.openid.appauth.connectivity.ConnectionBuilder;
 
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.net.ssl.HttpsURLConnection;
 
 import dagger.hilt.android.qualifiers.ApplicationContext;
-
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.FormBody;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * All Keycloak and auth-service traffic goes through the app's shared OkHttp
+ * connection pool and dispatcher, so login, OTP and refresh calls reuse
+ * keep-alive connections instead of paying a fresh TCP/TLS handshake each time.
+ *
+ * Every network method returns its {@link Call} so the caller can cancel it
+ * (e.g. when the screen goes away). Callbacks run on an OkHttp thread — callers
+ * must use runOnUiThread as needed.
+ */
 @Singleton
 public class AuthManager {
 
     private static final String TAG = "AuthManager";
 
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final int AUTH_TIMEOUT_SECONDS = 15;
+    private static final String NETWORK_ERROR = "Network error. Please check your connection.";
+
     private final AuthorizationService authService;
     private final AuthorizationServiceConfiguration serviceConfig;
     private final TokenManager tokenManager;
     private final Context context;
+    private final OkHttpClient httpClient;
+    private final Gson gson = new Gson();
 
     // Store the last request to validate response
     private AuthorizationRequest lastAuthRequest;
@@ -55,10 +80,12 @@ public class AuthManager {
     @Inject
     public AuthManager(
             @ApplicationContext Context context,
-            TokenManager tokenManager
+            TokenManager tokenManager,
+            @Named(NetworkModule.BASE_CLIENT) OkHttpClient baseClient
     ) {
         this.context = context;
         this.tokenManager = tokenManager;
+        this.httpClient = authClient(baseClient);
 
         // CRITICAL: Create AppAuthConfiguration with custom ConnectionBuilder that allows HTTP
         AppAuthConfiguration.Builder configBuilder = new AppAuthConfiguration.Builder();
@@ -79,6 +106,21 @@ public class AuthManager {
 //        Log.d(TAG, "Token endpoint: " + AuthConfig.TOKEN_ENDPOINT);
     }
 
+    /**
+     * Shorter timeouts than API calls. Same connection pool, but its own
+     * Dispatcher: API calls block their dispatcher threads in AuthInterceptor /
+     * TokenAuthenticator until a refresh lands, and the per-host limit counts
+     * hostname only (Keycloak and the API share one, on different ports). On the
+     * shared dispatcher the refresh could queue behind the very calls waiting on it.
+     */
+    static OkHttpClient authClient(OkHttpClient baseClient) {
+        return baseClient.newBuilder()
+                .dispatcher(new Dispatcher())
+                .connectTimeout(AUTH_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(AUTH_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .build();
+    }
+
     // ===================== LOGIN =====================
     public void startLogin(Activity activity) {
         // Build additional parameters to handle issuer
@@ -113,211 +155,145 @@ public class AuthManager {
      * Direct credential login using Keycloak's Resource Owner Password Credentials grant.
      * No browser — stays fully inside the app.
      */
-    public void loginWithCredentials(String email, String password, @NonNull AuthCallback callback) {
-        new Thread(() -> {
-            try {
-                String tokenEndpoint = AuthConfig.TOKEN_ENDPOINT;
-                String body = "grant_type=password"
-                        + "&client_id=" + URLEncoder.encode(AuthConfig.CLIENT_ID, "UTF-8")
-                        + "&username=" + URLEncoder.encode(email, "UTF-8")
-                        + "&password=" + URLEncoder.encode(password, "UTF-8")
-                        + "&scope=" + URLEncoder.encode(AuthConfig.SCOPES, "UTF-8");
-
-                URL url = new URL(tokenEndpoint);
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("POST");
-                conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-                conn.setDoOutput(true);
-                conn.setConnectTimeout(15000);
-                conn.setReadTimeout(15000);
-
-                try (OutputStream os = conn.getOutputStream()) {
-                    os.write(body.getBytes(StandardCharsets.UTF_8));
-                }
-
-                int responseCode = conn.getResponseCode();
-                Log.d(TAG, "ROPC response code: " + responseCode);
-
-                InputStream is = (responseCode == 200)
-                        ? conn.getInputStream()
-                        : conn.getErrorStream();
-
-                StringBuilder sb = new StringBuilder();
-                try (BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
-                    String line;
-                    while ((line = br.readLine()) != null) sb.append(line);
-                }
-
-                String responseBody = sb.toString();
-                Log.d(TAG, "ROPC response: " + responseBody);
-
-                if (responseCode == 200) {
-                    JSONObject json = new JSONObject(responseBody);
-                    String accessToken  = json.optString("access_token", null);
-                    String refreshToken = json.optString("refresh_token", null);
-                    String idToken      = json.optString("id_token", null);
-                    long expiresIn      = json.optLong("expires_in", 3600);
-                    String tokenType    = json.optString("token_type", "Bearer");
-                    String userId       = JwtUtils.extractSub(idToken != null ? idToken : accessToken);
-
-                    tokenManager.saveTokens(accessToken, refreshToken, idToken,
-                            expiresIn, tokenType, userId);
-                    callback.onSuccess();
-                } else {
-                    String errorMsg = "Invalid credentials";
-                    try {
-                        JSONObject errJson = new JSONObject(responseBody);
-                        String desc = errJson.optString("error_description", null);
-                        if (desc != null && !desc.isEmpty()) errorMsg = desc;
-                    } catch (Exception ignored) {}
-                    callback.onError(errorMsg);
-                }
+    public Call loginWithCredentials(String email, String password, @NonNull AuthCallback callback) {
+        FormBody form = new FormBody.Builder()
+                .add("grant_type", "password")
+                .add("client_id", AuthConfig.CLIENT_ID)
+                .add("username", email)
+                .add("password", password)
+                .add("scope", AuthConfig.SCOPES)
+                .build();
 
-            } catch (Exception e) {
-                Log.e(TAG, "ROPC login error: " + e.getMessage(), e);
-                callback.onError("Network error. Please check your connection.");
-            }
-        }).start();
+        return enqueue(new Request.Builder().url(AuthConfig.TOKEN_ENDPOINT).post(form).build(),
+                "ROPC login",
+                (code, body) -> {
+                    if (code == 200) {
+                        JSONObject json = new JSONObject(body);
+                        String accessToken  = json.optString("access_token", null);
+                        String refreshToken = json.optString("refresh_token", null);
+                        String idToken      = json.optString("id_token", null);
+                        long expiresIn      = json.optLong("expires_in", 3600);
+                        String tokenType    = json.optString("token_type", "Bearer");
+                        String userId       = JwtUtils.extractSub(idToken != null ? idToken : accessToken);
+
+                        tokenManager.saveTokens(accessToken, refreshToken, idToken,
+                                expiresIn, tokenType, userId);
+                        callback.onSuccess();
+                    } else {
+                        String errorMsg = "Invalid credentials";
+                        try {
+                            JSONObject errJson = new JSONObject(body);
+                            String desc = errJson.optString("error_description", null);
+                            if (desc != null && !desc.isEmpty()) errorMsg = desc;
+                        } catch (Exception ignored) {}
+                        callback.onError(errorMsg);
+                    }
+                },
+                e -> callback.onError(NETWORK_ERROR));
     }
 
     // ===================== FORGOT PASSWORD (OTP-based) =====================
 
     /** Step 1 – request a 6-digit OTP for the given email.  Passes send-quota info to the UI. */
-    public void sendForgotPasswordOtp(String email, @NonNull OtpSendCallback callback) {        new Thread(() -> {
-            try {
-                String json = "{\"email\":\"" + escape(email) + "\"}";
-                String url  = AuthConfig.API_BASE_URL + "/api/auth/forgot-password/send-otp";
-                HttpURLConnection conn = openJson(url, "POST");
-                writeBody(conn, json);
-                int    code = conn.getResponseCode();
-                String body = readBody(conn, code);
-                Log.d(TAG, "sendForgotPasswordOtp -> " + code + " : " + body);
-                if (code == 200 || code == 201) {
-                    JSONObject j = new JSONObject(body);
-                    if (j.optBoolean("success", true)) {
-                        int  sendCount = j.optInt("sendCount", 1);
-                        int  maxSends  = j.optInt("maxSends",  5);
-                        callback.onOtpSent(sendCount, maxSends);
+    public Call sendForgotPasswordOtp(String email, @NonNull OtpSendCallback callback) {
+        JsonObject json = new JsonObject();
+        json.addProperty("email", email);
+        return postJson(AuthConfig.API_BASE_URL + "/api/auth/forgot-password/send-otp", json, null,
+                "sendForgotPasswordOtp",
+                (code, body) -> {
+                    if (code == 200 || code == 201) {
+                        JSONObject j = new JSONObject(body);
+                        if (j.optBoolean("success", true)) {
+                            int  sendCount = j.optInt("sendCount", 1);
+                            int  maxSends  = j.optInt("maxSends",  5);
+                            callback.onOtpSent(sendCount, maxSends);
+                        } else {
+                            callback.onError(j.optString("message", "Failed to send OTP"), 0, 0, 0);
+                        }
                     } else {
-                        callback.onError(j.optString("message", "Failed to send OTP"), 0, 0, 0);
+                        // 429 → CooldownException or RateLimitExceededException
+                        JSONObject j    = new JSONObject(body);
+                        String  msg     = j.optString("message", "Too many requests");
+                        int  sendCount  = j.optInt("sendCount",  0);
+                        int  maxSends   = j.optInt("maxSends",   5);
+                        long retryAfter = j.optLong("retryAfterSeconds", 60);
+                        callback.onError(msg, sendCount, maxSends, retryAfter);
                     }
-                } else {
-                    // 429 → CooldownException or RateLimitExceededException
-                    JSONObject j    = new JSONObject(body);
-                    String  msg     = j.optString("message", "Too many requests");
-                    int  sendCount  = j.optInt("sendCount",  0);
-                    int  maxSends   = j.optInt("maxSends",   5);
-                    long retryAfter = j.optLong("retryAfterSeconds", 60);
-                    callback.onError(msg, sendCount, maxSends, retryAfter);
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "sendForgotPasswordOtp error: " + e.getMessage(), e);
-                callback.onError("Network error. Please check your connection.", 0, 0, 0);
-            }
-        }).start();
+                },
+                e -> callback.onError(NETWORK_ERROR, 0, 0, 0));
     }
 
     /**
      * Convenience overload for callers that don't need send-quota info (e.g. ProfileFragment).
      * Delegates to {@link #sendForgotPasswordOtp(String, OtpSendCallback)}.
      */
-    public void sendForgotPasswordOtp(String email, @NonNull AuthCallback callback) {
-        sendForgotPasswordOtp(email, new OtpSendCallback() {
+    public Call sendForgotPasswordOtp(String email, @NonNull AuthCallback callback) {
+        return sendForgotPasswordOtp(email, new OtpSendCallback() {
             @Override public void onOtpSent(int sendCount, int maxSends) { callback.onSuccess(); }
             @Override public void onError(String msg, int s, int m, long r) { callback.onError(msg); }
         });
     }
 
     /** Step 2 – verify the OTP; {@link OtpVerifyCallback#onSuccess(String)} receives the resetToken. */
-    public void verifyForgotPasswordOtp(String email, String otp,
+    public Call verifyForgotPasswordOtp(String email, String otp,
                                         @NonNull OtpVerifyCallback callback) {
-        new Thread(() -> {
-            try {
-                String json = "{\"email\":\"" + escape(email)
-                        + "\",\"otp\":\"" + escape(otp) + "\"}";
-                String url = AuthConfig.API_BASE_URL + "/api/auth/forgot-password/verify-otp";
-
-                HttpURLConnection conn = openJson(url, "POST");
-                writeBody(conn, json);
-                int code = conn.getResponseCode();
-                String body = readBody(conn, code);
-                Log.d(TAG, "verifyForgotPasswordOtp -> " + code + " : " + body);
-
-                if (code == 200) {
-                    JSONObject j = new JSONObject(body);
-                    boolean success = j.optBoolean("success", false);
-                    if (success) {
-                        String token = j.optString("resetToken", null);
-                        callback.onSuccess(token);
+        JsonObject json = new JsonObject();
+        json.addProperty("email", email);
+        json.addProperty("otp", otp);
+        return postJson(AuthConfig.API_BASE_URL + "/api/auth/forgot-password/verify-otp", json, null,
+                "verifyForgotPasswordOtp",
+                (code, body) -> {
+                    if (code == 200) {
+                        JSONObject j = new JSONObject(body);
+                        boolean success = j.optBoolean("success", false);
+                        if (success) {
+                            String token = j.optString("resetToken", null);
+                            callback.onSuccess(token);
+                        } else {
+                            callback.onError(j.optString("message", "Invalid OTP"));
+                        }
                     } else {
-                        callback.onError(j.optString("message", "Invalid OTP"));
+                        // 422: wrong OTP with attemptsRemaining, or expired/not-found
+                        JSONObject j = new JSONObject(body);
+                        String msg = j.optString("message", "Invalid or expired OTP");
+                        callback.onError(msg);
                     }
-                } else {
-                    // 422: wrong OTP with attemptsRemaining, or expired/not-found
-                    JSONObject j = new JSONObject(body);
-                    String msg = j.optString("message", "Invalid or expired OTP");
-                    callback.onError(msg);
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "verifyForgotPasswordOtp error: " + e.getMessage(), e);
-                callback.onError("Network error. Please check your connection.");
-            }
-        }).start();
+                },
+                e -> callback.onError(NETWORK_ERROR));
     }
 
     /** Step 3 – use the resetToken to set a new password. */
-    public void resetPassword(String resetToken, String newPassword,
+    public Call resetPassword(String resetToken, String newPassword,
                               @NonNull AuthCallback callback) {
-        new Thread(() -> {
-            try {
-                String json = "{\"resetToken\":\"" + escape(resetToken)
-                        + "\",\"newPassword\":\"" + escape(newPassword) + "\"}";
-                callApi(AuthConfig.API_BASE_URL + "/api/auth/forgot-password/reset",
-                        "POST", json, callback);
-            } catch (Exception e) {
-                Log.e(TAG, "resetPassword error: " + e.getMessage(), e);
-                callback.onError("Network error. Please check your connection.");
-            }
-        }).start();
+        JsonObject json = new JsonObject();
+        json.addProperty("resetToken", resetToken);
+        json.addProperty("newPassword", newPassword);
+        return callApi(AuthConfig.API_BASE_URL + "/api/auth/forgot-password/reset", json, callback);
     }
 
     // ===================== SIGNUP OTP =====================
 
     /** Step 1 – send verification OTP before account creation (checks email + username availability). */
-    public void sendSignupOtp(String email, String firstName, String username,
+    public Call sendSignupOtp(String email, String firstName, String username,
                               @NonNull AuthCallback callback) {
-        new Thread(() -> {
-            try {
-                String json = "{\"email\":\"" + escape(email)
-                        + "\",\"firstName\":\"" + escape(firstName)
-                        + "\",\"username\":\"" + escape(username != null ? username : "") + "\"}";
-                callApi(AuthConfig.API_BASE_URL + "/api/auth/signup/send-otp",
-                        "POST", json, callback);
-            } catch (Exception e) {
-                Log.e(TAG, "sendSignupOtp error: " + e.getMessage(), e);
-                callback.onError("Network error. Please check your connection.");
-            }
-        }).start();
+        JsonObject json = new JsonObject();
+        json.addProperty("email", email);
+        json.addProperty("firstName", firstName);
+        json.addProperty("username", username != null ? username : "");
+        return callApi(AuthConfig.API_BASE_URL + "/api/auth/signup/send-otp", json, callback);
     }
 
     /** Backward-compatible overload (no username — skips username availability check). */
-    public void sendSignupOtp(String email, String firstName, @NonNull AuthCallback callback) {
-        sendSignupOtp(email, firstName, "", callback);
+    public Call sendSignupOtp(String email, String firstName, @NonNull AuthCallback callback) {
+        return sendSignupOtp(email, firstName, "", callback);
     }
 
     /** Step 2 – verify the signup OTP before creating the account. */
-    public void verifySignupOtp(String email, String otp, @NonNull AuthCallback callback) {
-        new Thread(() -> {
-            try {
-                String json = "{\"email\":\"" + escape(email)
-                        + "\",\"otp\":\"" + escape(otp) + "\"}";
-                callApi(AuthConfig.API_BASE_URL + "/api/auth/signup/verify-otp",
-                        "POST", json, callback);
-            } catch (Exception e) {
-                Log.e(TAG, "verifySignupOtp error: " + e.getMessage(), e);
-                callback.onError("Network error. Please check your connection.");
-            }
-        }).start();
+    public Call verifySignupOtp(String email, String otp, @NonNull AuthCallback callback) {
+        JsonObject json = new JsonObject();
+        json.addProperty("email", email);
+        json.addProperty("otp", otp);
+        return callApi(AuthConfig.API_BASE_URL + "/api/auth/signup/verify-otp", json, callback);
     }
 
     // ===================== EMAIL CHANGE VERIFICATION (OTP) =====================
@@ -327,47 +303,38 @@ public class AuthManager {
      * Calls the authenticated {@code /api/users/{userId}/send-email-change-otp} endpoint,
      * which first checks that the new email is not already registered.
      */
-    public void sendEmailChangeOtp(String newEmail, String firstName,
+    public Call sendEmailChangeOtp(String newEmail, String firstName,
                                    @NonNull OtpSendCallback callback) {
-        new Thread(() -> {
-            try {
-                String userId      = tokenManager.getUserId();
-                String accessToken = tokenManager.getAccessToken();
-                String json = "{\"email\":\"" + escape(newEmail) + "\"}";
-                String url  = AuthConfig.API_BASE_URL + "/api/users/" + userId
-                        + "/send-email-change-otp";
-                HttpURLConnection conn = openJson(url, "POST");
-                conn.setRequestProperty("Authorization", "Bearer " + accessToken);
-                writeBody(conn, json);
-                int    code = conn.getResponseCode();
-                String body = readBody(conn, code);
-                Log.d(TAG, "sendEmailChangeOtp -> " + code + " : " + body);
-                if (code == 200 || code == 201) {
-                    JSONObject j = new JSONObject(body);
-                    if (j.optBoolean("success", true)) {
-                        callback.onOtpSent(j.optInt("sendCount", 1), j.optInt("maxSends", 5));
+        String userId = tokenManager.getUserId();
+        JsonObject json = new JsonObject();
+        json.addProperty("email", newEmail);
+        return postJson(AuthConfig.API_BASE_URL + "/api/users/" + userId + "/send-email-change-otp",
+                json, tokenManager.getAccessToken(),
+                "sendEmailChangeOtp",
+                (code, body) -> {
+                    if (code == 200 || code == 201) {
+                        JSONObject j = new JSONObject(body);
+                        if (j.optBoolean("success", true)) {
+                            callback.onOtpSent(j.optInt("sendCount", 1), j.optInt("maxSends", 5));
+                        } else {
+                            callback.onError(j.optString("message", "Failed to send OTP"), 0, 0, 0);
+                        }
                     } else {
-                        callback.onError(j.optString("message", "Failed to send OTP"), 0, 0, 0);
+                        JSONObject j = new JSONObject(body);
+                        callback.onError(
+                                j.optString("message", "Request failed"),
+                                j.optInt("sendCount", 0),
+                                j.optInt("maxSends", 5),
+                                j.optLong("retryAfterSeconds", 0));
                     }
-                } else {
-                    JSONObject j = new JSONObject(body);
-                    callback.onError(
-                            j.optString("message", "Request failed"),
-                            j.optInt("sendCount", 0),
-                            j.optInt("maxSends", 5),
-                            j.optLong("retryAfterSeconds", 0));
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "sendEmailChangeOtp error: " + e.getMessage(), e);
-                callback.onError("Network error. Please check your connection.", 0, 0, 0);
-            }
-        }).start();
+                },
+                e -> callback.onError(NETWORK_ERROR, 0, 0, 0));
     }
 
     /** Backward-compatible overload for callers that still use {@link AuthCallback}. */
-    public void sendEmailChangeOtp(String newEmail, String firstName,
+    public Call sendEmailChangeOtp(String newEmail, String firstName,
                                    @NonNull AuthCallback callback) {
-        sendEmailChangeOtp(newEmail, firstName, new OtpSendCallback() {
+        return sendEmailChangeOtp(newEmail, firstName, new OtpSendCallback() {
             @Override public void onOtpSent(int s, int m) { callback.onSuccess(); }
             @Override public void onError(String msg, int s, int m, long r) { callback.onError(msg); }
         });
@@ -377,19 +344,12 @@ public class AuthManager {
      * Verify the OTP sent to the new email address.
      * Returns success if the OTP is valid — caller may then call updateUser.
      */
-    public void verifyEmailChangeOtp(String newEmail, String otp,
+    public Call verifyEmailChangeOtp(String newEmail, String otp,
                                      @NonNull AuthCallback callback) {
-        new Thread(() -> {
-            try {
-                String json = "{\"email\":\"" + escape(newEmail)
-                        + "\",\"otp\":\"" + escape(otp) + "\"}";
-                callApi(AuthConfig.API_BASE_URL + "/api/auth/signup/verify-otp",
-                        "POST", json, callback);
-            } catch (Exception e) {
-                Log.e(TAG, "verifyEmailChangeOtp error: " + e.getMessage(), e);
-                callback.onError("Network error. Please check your connection.");
-            }
-        }).start();
+        JsonObject json = new JsonObject();
+        json.addProperty("email", newEmail);
+        json.addProperty("otp", otp);
+        return callApi(AuthConfig.API_BASE_URL + "/api/auth/signup/verify-otp", json, callback);
     }
 
     // ===================== FORGOT PASSWORD (legacy – kept for safety) =====================
@@ -398,76 +358,38 @@ public class AuthManager {
      * @deprecated Use {@link #sendForgotPasswordOtp} instead.
      */
     @Deprecated
-    public void requestPasswordReset(String email, @NonNull AuthCallback callback) {
-        new Thread(() -> {
-            try {
-                String apiUrl = AuthConfig.API_BASE_URL + "/api/auth/forgot-password";
-                String body   = "{\"email\":\"" + email.replace("\"", "\\\"") + "\"}";
-
-                URL url = new URL(apiUrl);
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("POST");
-                conn.setRequestProperty("Content-Type", "application/json");
-                conn.setDoOutput(true);
-                conn.setConnectTimeout(15000);
-                conn.setReadTimeout(15000);
-
-                try (OutputStream os = conn.getOutputStream()) {
-                    os.write(body.getBytes(StandardCharsets.UTF_8));
-                }
-
-                int responseCode = conn.getResponseCode();
-                Log.d(TAG, "Forgot-password response code: " + responseCode);
-
-                if (responseCode == 200 || responseCode == 204) {
-                    callback.onSuccess();
-                } else {
-                    InputStream es = conn.getErrorStream();
-                    String errorMsg = "Failed to send reset email. Please try again.";
-                    if (es != null) {
-                        StringBuilder sb = new StringBuilder();
-                        try (BufferedReader br = new BufferedReader(
-                                new InputStreamReader(es, StandardCharsets.UTF_8))) {
-                            String line;
-                            while ((line = br.readLine()) != null) sb.append(line);
-                        }
-                        try {
-                            JSONObject errJson = new JSONObject(sb.toString());
-                            String msg = errJson.optString("message", null);
-                            if (msg != null && !msg.isEmpty()) errorMsg = msg;
-                        } catch (Exception ignored) {}
+    public Call requestPasswordReset(String email, @NonNull AuthCallback callback) {
+        JsonObject json = new JsonObject();
+        json.addProperty("email", email);
+        return postJson(AuthConfig.API_BASE_URL + "/api/auth/forgot-password", json, null,
+                "Forgot-password",
+                (code, body) -> {
+                    if (code == 200 || code == 204) {
+                        callback.onSuccess();
+                    } else {
+                        callback.onError(extractMessage(body,
+                                "Failed to send reset email. Please try again."));
                     }
-                    callback.onError(errorMsg);
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "Forgot-password error: " + e.getMessage(), e);
-                callback.onError("Network error. Please check your connection.");
-            }
-        }).start();
+                },
+                e -> callback.onError(NETWORK_ERROR));
     }
 
     // ===================== CALLBACK =====================
-    public void handleAuthResponse(
+    public Call handleAuthResponse(
             @NonNull Intent intent,
             @NonNull AuthCallback callback
     ) {
         Log.d(TAG, "handleAuthResponse called");
-//        Log.d(TAG, "Intent action: " + intent.getAction());
-//        Log.d(TAG, "Intent data: " + intent.getData());
 
         // Try to extract response
         AuthorizationResponse response = AuthorizationResponse.fromIntent(intent);
         AuthorizationException exception = AuthorizationException.fromIntent(intent);
 
-        // Log what we got
-//        Log.d(TAG, "Response from intent: " + (response != null ? "found" : "null"));
-//        Log.d(TAG, "Exception from intent: " + (exception != null ? exception.error : "null"));
-
         if (exception != null) {
             Log.e(TAG, "Authorization exception: " + exception.error);
             Log.e(TAG, "Error description: " + exception.errorDescription);
             callback.onError(exception.errorDescription != null ? exception.errorDescription : "Authorization failed");
-            return;
+            return null;
         }
 
         if (response == null) {
@@ -478,133 +400,106 @@ public class AuthManager {
             if (response == null) {
                 Log.e(TAG, "Failed to extract authorization response");
                 callback.onError("Login cancelled or invalid response");
-                return;
+                return null;
             }
         }
 
         Log.d(TAG, "Authorization successful, exchanging code for token");
-//        Log.d(TAG, "Auth code: " + (response.authorizationCode != null ? "present" : "null"));
 
-        // Create token request
+        // AppAuth still builds the exchange parameters (code, redirect_uri, PKCE verifier),
+        // but the request itself goes over the shared OkHttp client.
         TokenRequest tokenRequest = response.createTokenExchangeRequest();
+        FormBody.Builder form = new FormBody.Builder()
+                .add("client_id", tokenRequest.clientId);
+        for (Map.Entry<String, String> param : tokenRequest.getRequestParameters().entrySet()) {
+            form.add(param.getKey(), param.getValue());
+        }
 
-//        Log.d(TAG, "Token request created");
-//        Log.d(TAG, "Token endpoint: " + tokenRequest.configuration.tokenEndpoint);
-
-        authService.performTokenRequest(
-                tokenRequest,
-                (TokenResponse tokenResponse, AuthorizationException tokenEx) -> {
-                    if (tokenEx != null) {
-                        Log.e(TAG, "Token exchange error: " + tokenEx.error);
-                        Log.e(TAG, "Error description: " + tokenEx.errorDescription);
-                        if (tokenEx.getCause() != null) {
-                            Log.e(TAG, "Cause: " + tokenEx.getCause().getMessage());
-                            tokenEx.getCause().printStackTrace();
-                        }
-                        callback.onError(tokenEx.errorDescription != null ? tokenEx.errorDescription : "Token exchange failed");
-                        return;
-                    }
-
-                    if (tokenResponse != null) {
-                        handleTokenResponse(tokenResponse);
+        return enqueue(new Request.Builder().url(AuthConfig.TOKEN_ENDPOINT).post(form.build()).build(),
+                "Token exchange",
+                (code, body) -> {
+                    if (code == 200) {
+                        handleTokenResponse(new JSONObject(body));
                         callback.onSuccess();
                     } else {
-                        Log.e(TAG, "Token response is null");
-                        callback.onError("Token exchange failed - no response");
+                        Log.e(TAG, "Token exchange error: HTTP " + code + " " + body);
+                        callback.onError(extractError(body, "Token exchange failed"));
                     }
-                }
-        );
+                },
+                e -> callback.onError("Token exchange failed"));
     }
 
      //Refresh access token using refresh token
      //called when access token expires but refresh token is still valid
-    public void refreshAccessToken(@NonNull TokenRefreshCallback callback) {
+    public Call refreshAccessToken(@NonNull TokenRefreshCallback callback) {
         String refreshToken = tokenManager.getRefreshToken();
 
         if (refreshToken == null || refreshToken.isEmpty()) {
             Log.e(TAG, "No refresh token available - user needs to login again");
             callback.onRefreshFailed("No refresh token available");
-            return;
+            return null;
         }
 
-//        Log.d(TAG, "Refreshing access token using refresh token");
-
-        // Create token refresh request
-        TokenRequest tokenRequest = new TokenRequest.Builder(
-                serviceConfig,
-                AuthConfig.CLIENT_ID
-        )
-                .setGrantType("refresh_token")
-                .setRefreshToken(refreshToken)
-                .setScope(AuthConfig.SCOPES)
+        FormBody form = new FormBody.Builder()
+                .add("grant_type", "refresh_token")
+                .add("client_id", AuthConfig.CLIENT_ID)
+                .add("refresh_token", refreshToken)
+                .add("scope", AuthConfig.SCOPES)
                 .build();
 
-        authService.performTokenRequest(
-                tokenRequest,
-                (TokenResponse tokenResponse, AuthorizationException tokenEx) -> {
-                    if (tokenEx != null) {
-                        Log.e(TAG, "Token refresh failed: " + tokenEx.error);
-                        Log.e(TAG, "Error description: " + tokenEx.errorDescription);
-
-                        // Only clear tokens for actual OAuth authentication errors
-                        // (e.g. invalid_grant = refresh token genuinely expired/revoked).
-                        // TYPE_OAUTH_TOKEN_ERROR (type==2) means the server explicitly
-                        // rejected the token. TYPE_GENERAL_ERROR (type==0) means a
-                        // network/IO failure — the server was just unreachable (Render
-                        // free-tier sleep). In that case keep the tokens so the user
-                        // can still enter the app and retry later.
-                        if (tokenEx.type == net.openid.appauth.AuthorizationException.TYPE_OAUTH_TOKEN_ERROR) {
-                            Log.e(TAG, "OAuth token error — clearing tokens, user must re-login");
-                            tokenManager.clearTokens();
-                        } else {
-                            Log.w(TAG, "Network/general error during refresh — keeping tokens");
-                        }
-                        callback.onRefreshFailed(tokenEx.errorDescription != null ?
-                                tokenEx.errorDescription : "Token refresh failed");
+        return enqueue(new Request.Builder().url(AuthConfig.TOKEN_ENDPOINT).post(form).build(),
+                "Token refresh",
+                (code, body) -> {
+                    if (code == 200) {
+                        handleTokenResponse(new JSONObject(body));
+                        callback.onRefreshSuccess();
                         return;
                     }
 
-                    if (tokenResponse != null) {
-//                        Log.d(TAG, "Token refresh successful");
-                        handleTokenResponse(tokenResponse);
-                        callback.onRefreshSuccess();
+                    // Only clear tokens when Keycloak explicitly rejected the grant
+                    // (4xx with an OAuth "error", e.g. invalid_grant = refresh token
+                    // genuinely expired/revoked). A 5xx or an unreachable server
+                    // (Render free-tier sleep) keeps the tokens so the user can still
+                    // enter the app and retry later.
+                    String oauthError = null;
+                    try { oauthError = new JSONObject(body).optString("error", null); }
+                    catch (Exception ignored) {}
+                    if (code >= 400 && code < 500 && oauthError != null) {
+                        Log.e(TAG, "OAuth token error (" + oauthError + ") — clearing tokens, user must re-login");
+                        tokenManager.clearTokens();
                     } else {
-                        Log.e(TAG, "Token refresh response is null");
-                        callback.onRefreshFailed("Token refresh failed - no response");
+                        Log.w(TAG, "Server error during refresh (HTTP " + code + ") — keeping tokens");
                     }
-                }
-        );
+                    callback.onRefreshFailed(extractError(body, "Token refresh failed"));
+                },
+                e -> {
+                    Log.w(TAG, "Network error during refresh — keeping tokens");
+                    callback.onRefreshFailed("Token refresh failed");
+                });
     }
 
     /**
-     * Handle token response from both initial login and refresh
+     * Handle token endpoint JSON from both the code exchange and refresh
      */
-    private void handleTokenResponse(TokenResponse tokenResponse) {
-        long expiresIn = tokenResponse.accessTokenExpirationTime != null
-                ? (tokenResponse.accessTokenExpirationTime - System.currentTimeMillis()) / 1000
-                : 3600;
-
-        String userId = JwtUtils.extractSub(tokenResponse.idToken != null ?
-                tokenResponse.idToken : tokenManager.getIdToken());
+    private void handleTokenResponse(JSONObject json) {
+        String accessToken = json.optString("access_token", null);
+        String idToken     = json.optString("id_token", null);
+        long expiresIn     = json.optLong("expires_in", 3600);
+        String tokenType   = json.optString("token_type", "Bearer");
 
-//        Log.d(TAG, "Token response processed");
-//        Log.d(TAG, "User ID: " + userId);
-//        Log.d(TAG, "Access token: " + (tokenResponse.accessToken != null ? "present (length: " + tokenResponse.accessToken.length() + ")" : "null"));
-//        Log.d(TAG, "Refresh token: " + (tokenResponse.refreshToken != null ? "present" : "using existing"));
-//        Log.d(TAG, "ID token: " + (tokenResponse.idToken != null ? "present" : "using existing"));
-//        Log.d(TAG, "Expires in: " + expiresIn + " seconds");
+        String userId = JwtUtils.extractSub(idToken != null ? idToken : tokenManager.getIdToken());
 
         // Keycloak might not return a new refresh token on refresh
         // In that case, keep the existing refresh token
-        String refreshTokenToSave = tokenResponse.refreshToken != null ?
-                tokenResponse.refreshToken : tokenManager.getRefreshToken();
+        String refreshToken = json.optString("refresh_token", null);
+        String refreshTokenToSave = refreshToken != null ? refreshToken : tokenManager.getRefreshToken();
 
         tokenManager.saveTokens(
-                tokenResponse.accessToken,
+                accessToken,
                 refreshTokenToSave,
-                tokenResponse.idToken != null ? tokenResponse.idToken : tokenManager.getIdToken(),
+                idToken != null ? idToken : tokenManager.getIdToken(),
                 expiresIn,
-                tokenResponse.tokenType,
+                tokenType,
                 userId != null ? userId : tokenManager.getUserId()
         );
     }
@@ -624,10 +519,6 @@ public class AuthManager {
             String state = uri.getQueryParameter("state");
             String error = uri.getQueryParameter("error");
 
-//            Log.d(TAG, "Manual extraction - code: " + (code != null ? "present" : "null"));
-//            Log.d(TAG, "Manual extraction - state: " + (state != null ? state : "null"));
-//            Log.d(TAG, "Manual extraction - error: " + (error != null ? error : "null"));
-
             if (error != null) {
                 Log.e(TAG, "OAuth error in callback: " + error);
                 return null;
@@ -640,13 +531,11 @@ public class AuthManager {
 
             // Build response using the builder
             if (lastAuthRequest != null) {
-//                Log.d(TAG, "Building response from last auth request");
                 return new AuthorizationResponse.Builder(lastAuthRequest)
                         .setAuthorizationCode(code)
                         .setState(state)
                         .build();
             } else {
-//                Log.e(TAG, "No last auth request available");
                 return null;
             }
 
@@ -662,33 +551,51 @@ public class AuthManager {
 
     // ===================== PRIVATE HTTP HELPERS =====================
 
-    private HttpURLConnection openJson(String urlStr, String method) throws Exception {
-        URL url = new URL(urlStr);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod(method);
-        conn.setRequestProperty("Content-Type", "application/json");
-        conn.setRequestProperty("Accept", "application/json");
-        conn.setDoOutput(true);
-        conn.setConnectTimeout(15_000);
-        conn.setReadTimeout(15_000);
-        return conn;
-    }
-
-    private void writeBody(HttpURLConnection conn, String json) throws Exception {
-        try (OutputStream os = conn.getOutputStream()) {
-            os.write(json.getBytes(StandardCharsets.UTF_8));
-        }
+    /** Receives the HTTP status and the (possibly empty) response body. */
+    private interface ResponseHandler {
+        void onResponse(int code, String body) throws Exception;
     }
 
-    private String readBody(HttpURLConnection conn, int code) throws Exception {
-        InputStream is = (code >= 200 && code < 300) ? conn.getInputStream() : conn.getErrorStream();
-        if (is == null) return "";
-        StringBuilder sb = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = br.readLine()) != null) sb.append(line);
-        }
-        return sb.toString();
+    /** Called when the request could not complete (I/O failure or unparseable body). */
+    private interface FailureHandler {
+        void onFailure(Exception e);
+    }
+
+    private Call postJson(String url, JsonObject json, @Nullable String bearer, String name,
+                          ResponseHandler handler, FailureHandler onFailure) {
+        Request.Builder request = new Request.Builder()
+                .url(url)
+                .header("Accept", "application/json")
+                .post(RequestBody.create(gson.toJson(json), JSON));
+        if (bearer != null) request.header("Authorization", "Bearer " + bearer);
+        return enqueue(request.build(), name, handler, onFailure);
+    }
+
+    private Call enqueue(Request request, String name,
+                         ResponseHandler handler, FailureHandler onFailure) {
+        Call call = httpClient.newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                try (ResponseBody responseBody = response.body()) {
+                    String body = responseBody != null ? responseBody.string() : "";
+                    Log.d(TAG, name + " -> " + response.code());
+                    handler.onResponse(response.code(), body);
+                } catch (Exception e) {
+                    Log.e(TAG, name + " error: " + e.getMessage(), e);
+                    onFailure.onFailure(e);
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                // A cancelled call means the caller is gone — nobody to notify
+                if (call.isCanceled()) return;
+                Log.e(TAG, name + " error: " + e.getMessage(), e);
+                onFailure.onFailure(e);
+            }
+        });
+        return call;
     }
 
     private String extractMessage(String json, String fallback) {
@@ -696,31 +603,31 @@ public class AuthManager {
         catch (Exception e) { return fallback; }
     }
 
-    private String escape(String s) {
-        return s == null ? "" : s.replace("\\", "\\\\").replace("\"", "\\\"");
+    /** OAuth error bodies carry error_description rather than message. */
+    private String extractError(String json, String fallback) {
+        try { return new JSONObject(json).optString("error_description", fallback); }
+        catch (Exception e) { return fallback; }
     }
 
     /**
      * Generic POST helper – calls callback on main thread is NOT guaranteed;
      * callers must use runOnUiThread as needed.
      */
-    private void callApi(String urlStr, String method, String json,
-                         @NonNull AuthCallback callback) throws Exception {
-        HttpURLConnection conn = openJson(urlStr, method);
-        writeBody(conn, json);
-        int code = conn.getResponseCode();
-        String body = readBody(conn, code);
-        Log.d(TAG, "callApi " + urlStr + " -> " + code + " : " + body);
-        if (code == 200 || code == 201) {
-            JSONObject j = new JSONObject(body);
-            if (j.optBoolean("success", true)) {
-                callback.onSuccess();
-            } else {
-                callback.onError(j.optString("message", "Request failed"));
-            }
-        } else {
-            callback.onError(extractMessage(body, "Request failed (HTTP " + code + ")"));
-        }
+    private Call callApi(String url, JsonObject json, @NonNull AuthCallback callback) {
+        return postJson(url, json, null, "callApi " + url,
+                (code, body) -> {
+                    if (code == 200 || code == 201) {
+                        JSONObject j = new JSONObject(body);
+                        if (j.optBoolean("success", true)) {
+                            callback.onSuccess();
+                        } else {
+                            callback.onError(j.optString("message", "Request failed"));
+                        }
+                    } else {
+                        callback.onError(extractMessage(body, "Request failed (HTTP " + code + ")"));
+                    }
+                },
+                e -> callback.onError(NETWORK_ERROR));
     }
 
     // ===================== CALLBACK INTERFACES =====================
@@ -805,4 +712,4 @@ public class AuthManager {
             return connection;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.saif.fitnessapp.auth;
+
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The claims the app reads from a Keycloak JWT, decoded once per token (see
+ * {@link JwtUtils#claims}). Immutable; times are epoch seconds as in the token,
+ * 0 when absent.
+ */
+public final class JwtClaims {
+
+    // Allowance for device/server clock drift when a token's exp is read without
+    // its receipt time to anchor it (e.g. after a restart)
+    public static final long CLOCK_SKEW_MS = 30 * 1000;
+
+    @Nullable public final String sub;
+    public final long exp;
+    public final long iat;
+    @Nullable public final String azp;
+    public final List<String> realmRoles;
+
+    JwtClaims(@Nullable String sub, long exp, long iat, @Nullable String azp, List<String> realmRoles) {
+        this.sub = sub;
+        this.exp = exp;
+        this.iat = iat;
+        this.azp = azp;
+        this.realmRoles = Collections.unmodifiableList(realmRoles);
+    }
+
+    public boolean hasExpiry() {
+        return exp > 0;
+    }
+
+    public boolean hasRealmRole(String role) {
+        return realmRoles.contains(role);
+    }
+
+    /**
+     * Local wall-clock expiry of a token received at {@code receivedAtMillis}. With
+     * iat, the token's lifetime (exp - iat, both server clock) is laid onto the
+     * local receipt time, so a skewed device clock cancels out. Without it, the raw
+     * exp less {@link #CLOCK_SKEW_MS}. 0 if the token has no exp.
+     */
+    public long localExpiryMillis(long receivedAtMillis) {
+        if (!hasExpiry()) return 0;
+        if (iat > 0 && iat <= exp) return receivedAtMillis + (exp - iat) * 1000;
+        return exp * 1000 - CLOCK_SKEW_MS;
+    }
+
+    /** Expiry when the receipt time is unknown: raw exp less {@link #CLOCK_SKEW_MS}. */
+    public long conservativeExpiryMillis() {
+        return hasExpiry() ? exp * 1000 - CLOCK_SKEW_MS : 0;
+    }
+}
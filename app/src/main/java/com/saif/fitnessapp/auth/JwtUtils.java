@@ -1,29 +1,102 @@
 package com.saif.fitnessapp.auth;
 
 import android.util.Base64;
+import android.util.LruCache;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import androidx.annotation.Nullable;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 public class JwtUtils {
 
+    // A user holds at most an access and an ID token at a time, plus the pair being
+    // replaced during a refresh. Strings cache their hash, so a lookup with the
+    // same token instance costs no more than a reference compare.
+    private static final LruCache<String, JwtClaims> CLAIMS = new LruCache<>(8);
+
+    // Cached for tokens that don't decode, so they aren't retried either
+    private static final JwtClaims UNDECODABLE = new JwtClaims(null, 0, 0, null, new ArrayList<>());
+
     public static String extractSub(String idToken) {
-        if (idToken == null) return null;
+        JwtClaims claims = claims(idToken);
+        return claims != null ? claims.sub : null;
+    }
 
-        try {
-            String[] parts = idToken.split("\\.");
-            if (parts.length != 3) return null;
+    /** Claims of {@code token}, decoded on first sight and cached; null if it isn't a JWT. */
+    @Nullable
+    public static JwtClaims claims(@Nullable String token) {
+        if (token == null) return null;
+        JwtClaims claims = CLAIMS.get(token);
+        if (claims == null) {
+            claims = decode(token);
+            CLAIMS.put(token, claims != null ? claims : UNDECODABLE);
+        }
+        return claims == UNDECODABLE ? null : claims;
+    }
+
+    /**
+     * Decodes the payload segment with a streaming reader — no split regex and no
+     * JSON tree. Uncached; callers want {@link #claims}.
+     */
+    @Nullable
+    public static JwtClaims decode(String token) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0 || token.indexOf('.', second + 1) >= 0) return null;
 
-            String payload =
-                    new String(Base64.decode(parts[1], Base64.URL_SAFE));
+        try {
+            String payload = new String(
+                    Base64.decode(token.substring(first + 1, second), Base64.URL_SAFE),
+                    StandardCharsets.UTF_8);
 
-            JsonObject json =
-                    JsonParser.parseString(payload).getAsJsonObject();
+            String sub = null, azp = null;
+            long exp = 0, iat = 0;
+            List<String> roles = new ArrayList<>();
 
-            return json.has("sub") ? json.get("sub").getAsString() : null;
+            JsonReader reader = new JsonReader(new StringReader(payload));
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.skipValue();
+                    continue;
+                }
+                switch (name) {
+                    case "sub": sub = reader.nextString(); break;
+                    case "azp": azp = reader.nextString(); break;
+                    case "exp": exp = reader.nextLong(); break;
+                    case "iat": iat = reader.nextLong(); break;
+                    case "realm_access": readRoles(reader, roles); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return new JwtClaims(sub, exp, iat, azp, roles);
 
-        } catch (Exception e) {
+        } catch (IOException | RuntimeException e) {
             return null;
         }
     }
+
+    // "realm_access": {"roles": ["offline_access", ...]}
+    private static void readRoles(JsonReader reader, List<String> roles) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("roles") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) roles.add(reader.nextString());
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
 }
@@ -0,0 +1,68 @@
+package com.saif.fitnessapp.auth;
+
+import android.util.Log;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Counters for how access tokens get refreshed, for this process.
+ *
+ * - proactive: refreshes started by {@link TokenRefreshScheduler} ahead of expiry,
+ *   with the lead time (old token's expiry minus completion time; negative means
+ *   the refresh caught up after the token had already expired).
+ * - request path: refreshes an API request had to wait for. The scheduler's job is
+ *   to keep this at zero.
+ *
+ * Every update logs one line under the "RefreshMetrics" tag.
+ */
+@Singleton
+public class RefreshMetrics {
+    private static final String TAG = "RefreshMetrics";
+
+    private final AtomicLong proactiveCount = new AtomicLong();
+    private final AtomicLong leadTimeSumMs = new AtomicLong();
+    private final AtomicLong minLeadTimeMs = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong requestPathCount = new AtomicLong();
+
+    @Inject
+    public RefreshMetrics() {}
+
+    public void recordProactive(long leadTimeMs) {
+        proactiveCount.incrementAndGet();
+        leadTimeSumMs.addAndGet(leadTimeMs);
+        minLeadTimeMs.accumulateAndGet(leadTimeMs, Math::min);
+        Log.i(TAG, "proactive refresh, lead " + leadTimeMs / 1000 + " s | " + summary());
+    }
+
+    public void recordRequestPath() {
+        requestPathCount.incrementAndGet();
+        Log.i(TAG, "request waited on a refresh | " + summary());
+    }
+
+    public long getProactiveCount() {
+        return proactiveCount.get();
+    }
+
+    public long getRequestPathCount() {
+        return requestPathCount.get();
+    }
+
+    /** Mean lead time of proactive refreshes in ms, or 0 if there were none. */
+    public long getAverageLeadTimeMs() {
+        long count = proactiveCount.get();
+        return count == 0 ? 0 : leadTimeSumMs.get() / count;
+    }
+
+    public String summary() {
+        long count = proactiveCount.get();
+        return String.format(Locale.US, "proactive=%d (avg lead %d s, min %d s) requestPath=%d",
+                count,
+                getAverageLeadTimeMs() / 1000,
+                count == 0 ? 0 : minLeadTimeMs.get() / 1000,
+                requestPathCount.get());
+    }
+}
@@ -2,15 +2,37 @@ package com.saif.fitnessapp.auth;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.Trace;
 
 import androidx.security.crypto.EncryptedSharedPreferences;
 import androidx.security.crypto.MasterKey;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import dagger.hilt.android.qualifiers.ApplicationContext;
 
+/**
+ * Token and remember-me storage in EncryptedSharedPreferences.
+ *
+ * Opening that store means a Keystore round trip plus a Tink keyset decrypt, so
+ * the constructor doesn't do it. {@link #initialize(Executor)} — called from
+ * FitnessApplication.onCreate — opens it on a background thread, and UI code waits
+ * on {@link #whenReady()} instead of blocking. Any other accessor that runs first
+ * waits for that open (or does it itself if nothing started it).
+ *
+ * Tokens are read on every API request, and each EncryptedSharedPreferences read is
+ * an AES decrypt. So the token fields are decrypted once, when the store opens, into
+ * a {@link TokenSnapshot} held in a volatile field. Reads come from the snapshot;
+ * saveTokens/clearTokens write the store and swap in a new snapshot. Remember-me
+ * fields are read rarely and stay in the store.
+ */
 @Singleton
 public class TokenManager {
     private static final String PREF_NAME = "fitness_auth_prefs";
@@ -24,68 +46,150 @@ public class TokenManager {
     private static final String KEY_SAVED_EMAIL = "saved_email";
     private static final String KEY_SAVED_PASSWORD = "saved_password";
 
-    // Buffer time before actual expiry to proactively refresh token (5 minutes)
-    private static final long TOKEN_REFRESH_BUFFER_MS = 5 * 60 * 1000;
+    private final Context context;
+    private final CompletableFuture<SharedPreferences> prefsFuture = new CompletableFuture<>();
+    private final AtomicBoolean initStarted = new AtomicBoolean();
 
-    private final SharedPreferences encryptedSharedPreferences;
+    // Loaded with the store; replaced whole, under writeLock, on every token write
+    private volatile TokenSnapshot snapshot;
+    private final Object writeLock = new Object();
+    private final CopyOnWriteArrayList<Runnable> tokensChangedListeners = new CopyOnWriteArrayList<>();
 
     @Inject
     public TokenManager(@ApplicationContext Context context) {
+        this.context = context;
+    }
+
+    /** Starts opening the encrypted store on {@code executor}. Later calls do nothing. */
+    public void initialize(Executor executor) {
+        if (initStarted.compareAndSet(false, true)) {
+            executor.execute(this::openPrefs);
+        }
+    }
+
+    /**
+     * Completes once the encrypted store is open, on the thread that opened it.
+     * Completes exceptionally if it could not be opened.
+     */
+    public CompletableFuture<Void> whenReady() {
+        return prefsFuture.thenApply(prefs -> null);
+    }
+
+    public boolean isReady() {
+        return prefsFuture.isDone() && !prefsFuture.isCompletedExceptionally();
+    }
+
+    private void openPrefs() {
+        Trace.beginSection("TokenManager.openPrefs");
         try {
-            // Using non-deprecated MasterKey API (fixes the deprecation warning)
-            MasterKey masterKey = new MasterKey.Builder(context)
-                    .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
-                    .build();
-
-            // Using new EncryptedSharedPreferences.create() signature
-            this.encryptedSharedPreferences = EncryptedSharedPreferences.create(
-                    context,
-                    PREF_NAME,
-                    masterKey,
-                    EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
-                    EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
-            );
+            SharedPreferences prefs = openStore();
+            // The only token decrypts until the next cold start
+            snapshot = readSnapshot(prefs);
+            prefsFuture.complete(prefs);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to initialize EncryptedSharedPreferences", e);
+            prefsFuture.completeExceptionally(
+                    new RuntimeException("Failed to initialize EncryptedSharedPreferences", e));
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    /** The Keystore and Tink work; runs once, on whichever thread opens the store. */
+    SharedPreferences openStore() throws Exception {
+        // Using non-deprecated MasterKey API (fixes the deprecation warning)
+        MasterKey masterKey = new MasterKey.Builder(context)
+                .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
+                .build();
+
+        // Using new EncryptedSharedPreferences.create() signature
+        return EncryptedSharedPreferences.create(
+                context,
+                PREF_NAME,
+                masterKey,
+                EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
+                EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
+        );
+    }
+
+    private SharedPreferences prefs() {
+        // Nobody called initialize(): open it on this thread, as before
+        if (initStarted.compareAndSet(false, true)) openPrefs();
+        try {
+            return prefsFuture.join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    private static TokenSnapshot readSnapshot(SharedPreferences prefs) {
+        String accessToken = prefs.getString(KEY_ACCESS_TOKEN, null);
+        long expiresAt = prefs.getLong(KEY_EXPIRES_IN, 0);
+        if (expiresAt == 0) {
+            // Stored without an expiry: go by the token's own exp claim
+            JwtClaims claims = JwtUtils.claims(accessToken);
+            if (claims != null) expiresAt = claims.conservativeExpiryMillis();
         }
+        return new TokenSnapshot(
+                accessToken,
+                prefs.getString(KEY_REFRESH_TOKEN, null),
+                prefs.getString(KEY_ID_TOKEN, null),
+                expiresAt,
+                prefs.getString(KEY_TOKEN_TYPE, "Bearer"),
+                prefs.getString(KEY_USER_ID, null));
+    }
+
+    /**
+     * The current tokens, read together. Use this when several fields must belong to
+     * the same login (e.g. validity check followed by the token itself).
+     */
+    public TokenSnapshot getTokens() {
+        TokenSnapshot current = snapshot;
+        if (current != null) return current;
+        prefs();  // Waits for (or performs) the open, which loads the snapshot
+        return snapshot;
     }
 
     public void saveTokens(String accessToken, String refreshToken, String idToken, long expiresIn, String tokenType, String userId) {
-        encryptedSharedPreferences.edit()
-                .putString(KEY_ACCESS_TOKEN, accessToken)
-                .putString(KEY_REFRESH_TOKEN, refreshToken)
-                .putString(KEY_ID_TOKEN, idToken)
-                .putLong(KEY_EXPIRES_IN, System.currentTimeMillis() + (expiresIn * 1000))
-                .putString(KEY_TOKEN_TYPE, tokenType)
-                .putString(KEY_USER_ID, userId)
-                .apply();
+        TokenSnapshot next = new TokenSnapshot(accessToken, refreshToken, idToken,
+                TokenSnapshot.expiryFor(accessToken, expiresIn, System.currentTimeMillis()),
+                tokenType, userId);
+        synchronized (writeLock) {
+            prefs().edit()
+                    .putString(KEY_ACCESS_TOKEN, accessToken)
+                    .putString(KEY_REFRESH_TOKEN, refreshToken)
+                    .putString(KEY_ID_TOKEN, idToken)
+                    .putLong(KEY_EXPIRES_IN, next.expiresAtMillis)
+                    .putString(KEY_TOKEN_TYPE, tokenType)
+                    .putString(KEY_USER_ID, userId)
+                    .apply();
+            snapshot = next;
+        }
+        notifyTokensChanged();
     }
 
     public String getAccessToken() {
-        return encryptedSharedPreferences.getString(KEY_ACCESS_TOKEN, null);
+        return getTokens().accessToken;
     }
 
     public String getRefreshToken() {
-        return encryptedSharedPreferences.getString(KEY_REFRESH_TOKEN, null);
+        return getTokens().refreshToken;
     }
 
     public String getIdToken() {
-        return encryptedSharedPreferences.getString(KEY_ID_TOKEN, null);
+        return getTokens().idToken;
     }
 
     public String getUserId() {
-        return encryptedSharedPreferences.getString(KEY_USER_ID, null);
+        return getTokens().userId;
     }
 
     public String getTokenType() {
-        return encryptedSharedPreferences.getString(KEY_TOKEN_TYPE, "Bearer");
+        return getTokens().tokenType;
     }
 
     //Check if access token is expired or about to expire soon
     public boolean isAccessTokenExpired() {
-        long expiresAt = encryptedSharedPreferences.getLong(KEY_EXPIRES_IN, 0);
-        // Add buffer time to refresh before actual expiry
-        return System.currentTimeMillis() >= (expiresAt - TOKEN_REFRESH_BUFFER_MS);
+        return getTokens().isAccessTokenExpired(System.currentTimeMillis());
     }
 
 
@@ -97,8 +201,7 @@ public class TokenManager {
 
     //Check if user is authenticated
     public boolean isLoggedIn() {
-        String refreshToken = getRefreshToken();
-        return refreshToken != null && !refreshToken.isEmpty();
+        return getTokens().isLoggedIn();
     }
 
     /**
@@ -106,7 +209,8 @@ public class TokenManager {
      * Returns true if user is logged in but access token is expired/expiring soon
      */
     public boolean needsTokenRefresh() {
-        return isLoggedIn() && isAccessTokenExpired();
+        TokenSnapshot tokens = getTokens();
+        return tokens.isLoggedIn() && tokens.isAccessTokenExpired(System.currentTimeMillis());
     }
 
     /**
@@ -114,23 +218,36 @@ public class TokenManager {
      * Use this when you need to verify the access token is immediately usable
      */
     public boolean hasValidAccessToken() {
-        return getAccessToken() != null && !isAccessTokenExpired();
+        return getTokens().hasValidAccessToken(System.currentTimeMillis());
     }
 
     public void clearTokens() {
-        encryptedSharedPreferences.edit()
-                .remove(KEY_ACCESS_TOKEN)
-                .remove(KEY_REFRESH_TOKEN)
-                .remove(KEY_ID_TOKEN)
-                .remove(KEY_EXPIRES_IN)
-                .remove(KEY_TOKEN_TYPE)
-                .remove(KEY_USER_ID)
-                .apply();
+        synchronized (writeLock) {
+            prefs().edit()
+                    .remove(KEY_ACCESS_TOKEN)
+                    .remove(KEY_REFRESH_TOKEN)
+                    .remove(KEY_ID_TOKEN)
+                    .remove(KEY_EXPIRES_IN)
+                    .remove(KEY_TOKEN_TYPE)
+                    .remove(KEY_USER_ID)
+                    .apply();
+            snapshot = TokenSnapshot.EMPTY;
+        }
+        notifyTokensChanged();
+    }
+
+    /** Runs {@code listener} on the writing thread after every saveTokens/clearTokens. */
+    public void addOnTokensChangedListener(Runnable listener) {
+        tokensChangedListeners.add(listener);
+    }
+
+    private void notifyTokensChanged() {
+        for (Runnable listener : tokensChangedListeners) listener.run();
     }
 
     // ─── Remember Me ──────────────────────────────────────────────────────
     public void saveCredentials(String email, String password) {
-        encryptedSharedPreferences.edit()
+        prefs().edit()
                 .putBoolean(KEY_REMEMBER_ME, true)
                 .putString(KEY_SAVED_EMAIL, email)
                 .putString(KEY_SAVED_PASSWORD, password)
@@ -138,7 +255,7 @@ public class TokenManager {
     }
 
     public void clearSavedCredentials() {
-        encryptedSharedPreferences.edit()
+        prefs().edit()
                 .putBoolean(KEY_REMEMBER_ME, false)
                 .remove(KEY_SAVED_EMAIL)
                 .remove(KEY_SAVED_PASSWORD)
@@ -146,14 +263,14 @@ public class TokenManager {
     }
 
     public boolean isRememberMe() {
-        return encryptedSharedPreferences.getBoolean(KEY_REMEMBER_ME, false);
+        return prefs().getBoolean(KEY_REMEMBER_ME, false);
     }
 
     public String getSavedEmail() {
-        return encryptedSharedPreferences.getString(KEY_SAVED_EMAIL, "");
+        return prefs().getString(KEY_SAVED_EMAIL, "");
     }
 
     public String getSavedPassword() {
-        return encryptedSharedPreferences.getString(KEY_SAVED_PASSWORD, "");
+        return prefs().getString(KEY_SAVED_PASSWORD, "");
     }
 }
\ No newline at end of file
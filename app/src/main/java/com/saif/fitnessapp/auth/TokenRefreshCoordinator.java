@@ -0,0 +1,155 @@
+package com.saif.fitnessapp.auth;
+
+import android.util.Log;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Single-flight access token refresh.
+ *
+ * The first caller that needs a refresh starts one and publishes a future for it;
+ * everyone who asks while it is running joins that same future and wakes up the
+ * moment it completes. Once it completes the slot is cleared, so the next expiry
+ * starts a new generation.
+ *
+ * A caller can check expiry just before a generation finishes and only reach
+ * {@link #refresh()} after it has. Keycloak rotates the refresh token on every
+ * refresh, so starting another with the old one would be rejected and log the user
+ * out; a new generation therefore only starts if the stored token still needs one.
+ *
+ * Futures complete with the new access token, or null if the refresh failed.
+ */
+@Singleton
+public class TokenRefreshCoordinator {
+    private static final String TAG = "TokenRefreshCoordinator";
+
+    // Upper bound for a blocked request thread; Keycloak on Render can be slow to wake
+    private static final long REFRESH_TIMEOUT_SECONDS = 10;
+
+    /** The token endpoint call; {@link AuthManager#refreshAccessToken} in the app. */
+    interface Refresher {
+        void refreshAccessToken(AuthManager.TokenRefreshCallback callback);
+    }
+
+    private final TokenManager tokenManager;
+    private final Refresher refresher;
+    private final RefreshMetrics metrics;
+
+    private final Object lock = new Object();
+    private CompletableFuture<String> inFlight;
+
+    @Inject
+    public TokenRefreshCoordinator(TokenManager tokenManager, AuthManager authManager,
+                                   RefreshMetrics metrics) {
+        this(tokenManager, authManager::refreshAccessToken, metrics);
+    }
+
+    TokenRefreshCoordinator(TokenManager tokenManager, Refresher refresher, RefreshMetrics metrics) {
+        this.tokenManager = tokenManager;
+        this.refresher = refresher;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Starts a refresh, or joins the one already running. Completes at once with the
+     * stored token if it is valid by now.
+     */
+    public CompletableFuture<String> refresh() {
+        return refresh(tokens -> tokens.hasValidAccessToken(System.currentTimeMillis()));
+    }
+
+    /**
+     * Like {@link #refresh()}, for a token that must be replaced even though it
+     * hasn't expired yet (refreshing ahead of expiry, or after the server rejected
+     * it). Completes at once only if {@code staleToken} has already been replaced.
+     */
+    public CompletableFuture<String> refreshReplacing(String staleToken) {
+        return refresh(tokens -> tokens.hasValidAccessToken(System.currentTimeMillis())
+                && !tokens.accessToken.equals(staleToken));
+    }
+
+    private CompletableFuture<String> refresh(Predicate<TokenSnapshot> alreadyFresh) {
+        CompletableFuture<String> future;
+        synchronized (lock) {
+            if (inFlight != null) {
+                return inFlight;
+            }
+            // Re-checked under the lock: a generation that finished since the caller
+            // looked has already spent the refresh token this one would send
+            TokenSnapshot tokens = tokenManager.getTokens();
+            if (alreadyFresh.test(tokens)) {
+                return CompletableFuture.completedFuture(tokens.accessToken);
+            }
+            future = new CompletableFuture<>();
+            inFlight = future;
+        }
+
+        Log.d(TAG, "Starting token refresh");
+        refresher.refreshAccessToken(new AuthManager.TokenRefreshCallback() {
+            @Override
+            public void onRefreshSuccess() {
+                finish(future, tokenManager.getAccessToken());
+            }
+
+            @Override
+            public void onRefreshFailed(String error) {
+                Log.e(TAG, "Token refresh failed: " + error);
+                finish(future, null);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Blocking variant for OkHttp threads. Returns the fresh access token, or
+     * null if the refresh failed or did not finish in time.
+     */
+    public String awaitRefresh() {
+        // A request is blocked on this refresh: the case TokenRefreshScheduler exists to avoid
+        if (tokenManager.isLoggedIn()) metrics.recordRequestPath();
+        return await(refresh());
+    }
+
+    /**
+     * Called after the server rejected {@code rejectedToken}. If another thread has
+     * already replaced it, the new token is returned right away without a second
+     * round trip to Keycloak.
+     */
+    public String awaitRefreshAfterRejection(String rejectedToken) {
+        TokenSnapshot tokens = tokenManager.getTokens();
+        if (tokens.hasValidAccessToken(System.currentTimeMillis())
+                && !tokens.accessToken.equals(rejectedToken)) {
+            return tokens.accessToken;
+        }
+        if (tokens.isLoggedIn()) metrics.recordRequestPath();
+        return await(refreshReplacing(rejectedToken));
+    }
+
+    private void finish(CompletableFuture<String> future, String accessToken) {
+        // Clear the slot first so anyone arriving after completion starts a new generation
+        synchronized (lock) {
+            if (inFlight == future) inFlight = null;
+        }
+        future.complete(accessToken);
+    }
+
+    private static String await(CompletableFuture<String> future) {
+        try {
+            return future.get(REFRESH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            Log.e(TAG, "Token refresh timeout");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Token refresh error", e.getCause());
+        }
+        return null;
+    }
+}
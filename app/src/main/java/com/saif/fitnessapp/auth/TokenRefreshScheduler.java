@@ -0,0 +1,124 @@
+package com.saif.fitnessapp.auth;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.ProcessLifecycleOwner;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import dagger.Lazy;
+
+/**
+ * Refreshes the access token in the background shortly before it would enter
+ * {@link TokenSnapshot}'s refresh buffer, so API requests find a valid token and
+ * don't wait on Keycloak (which can take many seconds to wake on Render).
+ *
+ * Runs only while the app is in the foreground (ProcessLifecycleOwner). Going to
+ * the background cancels the pending refresh; coming back re-checks at once and
+ * refreshes if the token expired meanwhile. Any token write — login, logout, a
+ * refresh started elsewhere — reschedules from the new expiry.
+ *
+ * Refreshes go through {@link TokenRefreshCoordinator}, so they share the
+ * single in-flight refresh with any request that needs one at the same moment.
+ */
+@Singleton
+public class TokenRefreshScheduler implements DefaultLifecycleObserver {
+    private static final String TAG = "TokenRefreshScheduler";
+
+    // Refresh this long before the token enters the refresh buffer
+    private static final long LEAD_MS = 60 * 1000;
+    // Backoff after a failed background refresh (e.g. Keycloak asleep)
+    private static final long RETRY_MIN_MS = 15 * 1000;
+    private static final long RETRY_MAX_MS = 5 * 60 * 1000;
+
+    private final TokenManager tokenManager;
+    // Lazy: only built once a refresh is actually due
+    private final Lazy<TokenRefreshCoordinator> refreshCoordinator;
+    private final RefreshMetrics metrics;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable check = this::check;
+
+    // Main thread only
+    private boolean foreground = false;
+    private boolean refreshing = false;
+    private long retryDelayMs = RETRY_MIN_MS;
+
+    @Inject
+    public TokenRefreshScheduler(TokenManager tokenManager,
+                                 Lazy<TokenRefreshCoordinator> refreshCoordinator,
+                                 RefreshMetrics metrics) {
+        this.tokenManager = tokenManager;
+        this.refreshCoordinator = refreshCoordinator;
+        this.metrics = metrics;
+    }
+
+    /** Call once, from Application.onCreate. */
+    @MainThread
+    public void start() {
+        ProcessLifecycleOwner.get().getLifecycle().addObserver(this);
+        tokenManager.addOnTokensChangedListener(() -> handler.post(() -> {
+            retryDelayMs = RETRY_MIN_MS;
+            check();
+        }));
+    }
+
+    @Override
+    public void onStart(@NonNull LifecycleOwner owner) {
+        foreground = true;
+        // Catch up on anything that came due while in the background
+        tokenManager.whenReady().thenRun(() -> handler.post(this::check));
+    }
+
+    @Override
+    public void onStop(@NonNull LifecycleOwner owner) {
+        foreground = false;
+        handler.removeCallbacks(check);
+    }
+
+    /** When {@code tokens} should be refreshed: {@link #LEAD_MS} before the refresh buffer starts. */
+    static long refreshDueAt(TokenSnapshot tokens) {
+        return tokens.expiresAtMillis - TokenSnapshot.REFRESH_BUFFER_MS - LEAD_MS;
+    }
+
+    /** Refreshes now if due, otherwise schedules itself for when it will be. */
+    private void check() {
+        handler.removeCallbacks(check);
+        if (!foreground || refreshing || !tokenManager.isReady()) return;
+
+        TokenSnapshot tokens = tokenManager.getTokens();
+        if (!tokens.isLoggedIn()) return;
+
+        long now = System.currentTimeMillis();
+        long dueAt = refreshDueAt(tokens);
+        if (now < dueAt) {
+            handler.postDelayed(check, dueAt - now);
+            return;
+        }
+
+        refreshing = true;
+        long expiresAt = tokens.expiresAtMillis;
+        Log.d(TAG, "Access token due for refresh, refreshing in background");
+        refreshCoordinator.get().refreshReplacing(tokens.accessToken).thenAccept(accessToken -> handler.post(() -> {
+            refreshing = false;
+            if (accessToken != null) {
+                metrics.recordProactive(expiresAt - System.currentTimeMillis());
+                retryDelayMs = RETRY_MIN_MS;
+                check();
+                return;
+            }
+            // Tokens cleared means the refresh token was rejected; nothing to retry
+            if (!tokenManager.isLoggedIn() || !foreground) return;
+            Log.w(TAG, "Background refresh failed, retrying in " + retryDelayMs / 1000 + " s");
+            handler.postDelayed(check, retryDelayMs);
+            retryDelayMs = Math.min(retryDelayMs * 2, RETRY_MAX_MS);
+        }));
+    }
+}
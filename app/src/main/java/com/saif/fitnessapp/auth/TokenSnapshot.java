@@ -0,0 +1,59 @@
+package com.saif.fitnessapp.auth;
+
+import androidx.annotation.Nullable;
+
+/**
+ * One consistent view of the stored tokens. Immutable: {@link TokenManager} swaps
+ * in a whole new snapshot on save or clear, so a reader never sees the access
+ * token of one login next to the expiry of another.
+ */
+public final class TokenSnapshot {
+
+    public static final TokenSnapshot EMPTY = new TokenSnapshot(null, null, null, 0L, "Bearer", null);
+
+    // Treat the access token as expired this long before it really is (5 minutes)
+    static final long REFRESH_BUFFER_MS = 5 * 60 * 1000;
+
+    @Nullable public final String accessToken;
+    @Nullable public final String refreshToken;
+    @Nullable public final String idToken;
+    /** Wall-clock expiry of the access token, epoch millis; 0 if unknown. */
+    public final long expiresAtMillis;
+    public final String tokenType;
+    @Nullable public final String userId;
+
+    public TokenSnapshot(@Nullable String accessToken, @Nullable String refreshToken,
+                         @Nullable String idToken, long expiresAtMillis,
+                         @Nullable String tokenType, @Nullable String userId) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.idToken = idToken;
+        this.expiresAtMillis = expiresAtMillis;
+        this.tokenType = tokenType != null ? tokenType : "Bearer";
+        this.userId = userId;
+    }
+
+    /**
+     * Expiry for a freshly received access token: from its exp claim, anchored to
+     * the receipt time (see {@link JwtClaims#localExpiryMillis}), else from the
+     * response's expires_in.
+     */
+    static long expiryFor(@Nullable String accessToken, long expiresInSeconds, long receivedAtMillis) {
+        JwtClaims claims = JwtUtils.claims(accessToken);
+        if (claims != null && claims.hasExpiry()) return claims.localExpiryMillis(receivedAtMillis);
+        return receivedAtMillis + expiresInSeconds * 1000;
+    }
+
+    public boolean isLoggedIn() {
+        return refreshToken != null && !refreshToken.isEmpty();
+    }
+
+    /** Expired, or expiring within the refresh buffer. */
+    public boolean isAccessTokenExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis - REFRESH_BUFFER_MS;
+    }
+
+    public boolean hasValidAccessToken(long nowMillis) {
+        return accessToken != null && !isAccessTokenExpired(nowMillis);
+    }
+}
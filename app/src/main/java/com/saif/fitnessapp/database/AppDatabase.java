@@ -0,0 +1,40 @@
+package com.saif.fitnessapp.database;
+
+import androidx.room.Database;
+import androidx.room.RoomDatabase;
+import androidx.room.TypeConverters;
+
+import com.saif.fitnessapp.activity.ActivityDao;
+import com.saif.fitnessapp.activity.ActivityEntity;
+import com.saif.fitnessapp.activity.ActivityRemoteKey;
+import com.saif.fitnessapp.activity.ActivityRollup;
+import com.saif.fitnessapp.activity.ActivitySyncState;
+import com.saif.fitnessapp.activity.OutboxDao;
+import com.saif.fitnessapp.activity.OutboxEntry;
+
+/**
+ * Local store backing the offline-first screens.
+ * The outbox holds workouts the backend doesn't have yet, so every version bump
+ * needs a migration in {@link Migrations}; only a downgrade rebuilds the database
+ * (see {@link DatabaseModule}).
+ */
+@Database(
+        entities = {
+                ActivityEntity.class,
+                ActivityRemoteKey.class,
+                OutboxEntry.class,
+                ActivitySyncState.class,
+                ActivityRollup.class
+        },
+        version = 8,
+        exportSchema = false
+)
+@TypeConverters(Converters.class)
+public abstract class AppDatabase extends RoomDatabase {
+
+    public static final String DATABASE_NAME = "fitness_app.db";
+
+    public abstract ActivityDao activityDao();
+
+    public abstract OutboxDao outboxDao();
+}
@@ -0,0 +1,36 @@
+package com.saif.fitnessapp.database;
+
+import android.util.Log;
+
+import androidx.room.TypeConverter;
+
+import com.saif.fitnessapp.network.ActivityMetricsTypeAdapter;
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+
+import java.io.IOException;
+
+/**
+ * Room type converters. additionalMetrics is stored as the same JSON the
+ * backend sends, so reading it back goes through the same adapter as the network path.
+ */
+public class Converters {
+
+    private static final String TAG = "Converters";
+    private static final ActivityMetricsTypeAdapter METRICS_ADAPTER = new ActivityMetricsTypeAdapter();
+
+    @TypeConverter
+    public static String fromMetrics(ActivityMetrics metrics) {
+        return metrics == null ? null : METRICS_ADAPTER.toJson(metrics);
+    }
+
+    @TypeConverter
+    public static ActivityMetrics toMetrics(String json) {
+        if (json == null) return null;
+        try {
+            return METRICS_ADAPTER.fromJson(json);
+        } catch (IOException e) {
+            Log.w(TAG, "Unreadable metrics column: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.saif.fitnessapp.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+
+import com.saif.fitnessapp.activity.ActivityDao;
+
+import javax.inject.Singleton;
+
+import dagger.Module;
+import dagger.Provides;
+import dagger.hilt.InstallIn;
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import dagger.hilt.components.SingletonComponent;
+
+@Module
+@InstallIn(SingletonComponent.class)
+public class DatabaseModule {
+
+    @Provides
+    @Singleton
+    public AppDatabase provideDatabase(@ApplicationContext Context context) {
+        return Room.databaseBuilder(context, AppDatabase.class, AppDatabase.DATABASE_NAME)
+                .addMigrations(Migrations.MIGRATION_1_2, Migrations.MIGRATION_2_3,
+                        Migrations.MIGRATION_3_4, Migrations.MIGRATION_4_5,
+                        Migrations.MIGRATION_5_6, Migrations.MIGRATION_6_7,
+                        Migrations.MIGRATION_7_8)
+                // The outbox can't be re-fetched, so a missing upgrade path should fail
+                // loudly rather than wipe it. An older build can't read a newer schema,
+                // though, so a downgrade starts over
+                .fallbackToDestructiveMigrationOnDowngrade()
+                .build();
+    }
+
+    @Provides
+    public ActivityDao provideActivityDao(AppDatabase database) {
+        return database.activityDao();
+    }
+}
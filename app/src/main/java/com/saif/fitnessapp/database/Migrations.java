@@ -0,0 +1,167 @@
+package com.saif.fitnessapp.database;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.saif.fitnessapp.activity.ActivityRollup;
+import com.saif.fitnessapp.utils.TimeFormats;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written migrations, one per version. The database holds outbox entries the
+ * backend doesn't have yet, so there is no destructive fallback on upgrade.
+ */
+public final class Migrations {
+
+    private Migrations() {}
+
+    /** v2: adds the activity outbox. */
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `activity_outbox` ("
+                    + "`localId` TEXT NOT NULL, "
+                    + "`userId` TEXT, "
+                    + "`activityType` TEXT, "
+                    + "`duration` INTEGER, "
+                    + "`caloriesBurned` INTEGER, "
+                    + "`startTime` TEXT, "
+                    + "`additionalMetrics` TEXT, "
+                    + "`queuedAt` INTEGER NOT NULL, "
+                    + "`attempts` INTEGER NOT NULL, "
+                    + "`lastError` TEXT, "
+                    + "PRIMARY KEY(`localId`))");
+        }
+    };
+
+    /** v3: adds the history-sync checkpoint. */
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `activity_sync_state` ("
+                    + "`userId` TEXT NOT NULL, "
+                    + "`nextPage` INTEGER NOT NULL, "
+                    + "`complete` INTEGER NOT NULL, "
+                    + "`lastSyncedAt` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`userId`))");
+        }
+    };
+
+    /**
+     * v4: adds activity rollups and fills them from whatever is already stored, so
+     * totals are right from the first launch after the upgrade.
+     */
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `activity_rollups` ("
+                    + "`userId` TEXT NOT NULL, "
+                    + "`period` TEXT NOT NULL, "
+                    + "`bucket` TEXT NOT NULL, "
+                    + "`activityType` TEXT NOT NULL, "
+                    + "`count` INTEGER NOT NULL, "
+                    + "`calories` INTEGER NOT NULL, "
+                    + "`duration` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`userId`, `period`, `bucket`, `activityType`))");
+            rebuildRollups(db);
+        }
+    };
+
+    /**
+     * v5: activities get a parsed startTimeMillis column to sort on. Existing rows
+     * are decoded here with the same parser the entity uses, since SQLite's own
+     * date functions would read offset-less local times as UTC.
+     */
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `activities` ADD COLUMN `startTimeMillis` INTEGER NOT NULL DEFAULT 0");
+            try (Cursor cursor = db.query("SELECT `id`, `startTime` FROM `activities`")) {
+                while (cursor.moveToNext()) {
+                    db.execSQL("UPDATE `activities` SET `startTimeMillis` = ? WHERE `id` = ?",
+                            new Object[]{TimeFormats.parseEpochMillis(cursor.getString(1)), cursor.getString(0)});
+                }
+            }
+            db.execSQL("DROP INDEX IF EXISTS `index_activities_userId_startTime`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_activities_userId_startTimeMillis` "
+                    + "ON `activities` (`userId`, `startTimeMillis`)");
+        }
+    };
+
+    /** v6: outbox entries the backend refused are kept and flagged instead of deleted. */
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `activity_outbox` ADD COLUMN `rejected` INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+
+    /**
+     * v7: the history-sync checkpoint records the last row stored. A walk that was
+     * mid-way resumes once more by page index, then by cursor from there on.
+     */
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `activity_sync_state` ADD COLUMN `afterStartTime` TEXT");
+            db.execSQL("ALTER TABLE `activity_sync_state` ADD COLUMN `afterId` TEXT");
+        }
+    };
+
+    /**
+     * v8: day and week rollups were keyed by the date written in startTime, which
+     * for an offset timestamp isn't always the device-local day; recount them.
+     */
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            rebuildRollups(db);
+        }
+    };
+
+    /**
+     * Recomputes every rollup cell from the stored activities with
+     * {@link ActivityRollup#bucketsFor}, the function ActivityDao applies per row, so
+     * the two can't disagree about which day a workout belongs to.
+     */
+    private static void rebuildRollups(SupportSQLiteDatabase db) {
+        // (userId, period, bucket, activityType) -> {count, calories, duration}
+        Map<List<String>, long[]> cells = new HashMap<>();
+        try (Cursor cursor = db.query("SELECT `userId`, `activityType`, `caloriesBurned`, `duration`, "
+                + "`startTime` FROM `activities` WHERE `userId` IS NOT NULL")) {
+            while (cursor.moveToNext()) {
+                String userId = cursor.getString(0);
+                String type = cursor.isNull(1) ? "OTHER" : cursor.getString(1);
+                long calories = cursor.isNull(2) ? 0 : cursor.getLong(2);
+                long duration = cursor.isNull(3) ? 0 : cursor.getLong(3);
+                long startMillis = TimeFormats.parseEpochMillis(cursor.getString(4));
+                for (String[] bucket : ActivityRollup.bucketsFor(startMillis)) {
+                    for (String cellType : new String[]{ActivityRollup.ALL_TYPES, type}) {
+                        long[] totals = cells.computeIfAbsent(
+                                Arrays.asList(userId, bucket[0], bucket[1], cellType), k -> new long[3]);
+                        totals[0]++;
+                        totals[1] += calories;
+                        totals[2] += duration;
+                    }
+                }
+            }
+        }
+        db.execSQL("DELETE FROM `activity_rollups`");
+        for (Map.Entry<List<String>, long[]> cell : cells.entrySet()) {
+            List<String> key = cell.getKey();
+            long[] totals = cell.getValue();
+            db.execSQL("INSERT INTO `activity_rollups` "
+                            + "(`userId`, `period`, `bucket`, `activityType`, `count`, `calories`, `duration`) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    new Object[]{key.get(0), key.get(1), key.get(2), key.get(3),
+                            totals[0], totals[1], totals[2]});
+        }
+    }
+}
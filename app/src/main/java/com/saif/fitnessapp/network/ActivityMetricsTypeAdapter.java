@@ -0,0 +1,148 @@
+package com.saif.fitnessapp.network;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes {@link ActivityMetrics} as the flat additionalMetrics JSON object
+ * the backend uses, so the wire format is unchanged. Registry keys go straight into
+ * primitive slots via {@link JsonReader#nextDouble()}; unknown keys are kept as extras.
+ */
+public class ActivityMetricsTypeAdapter extends TypeAdapter<ActivityMetrics> {
+
+    @Override
+    public ActivityMetrics read(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return null;
+        }
+        ActivityMetrics metrics = new ActivityMetrics();
+        // Numeric values by Key ordinal, packed into the metrics once at the end
+        double[] byOrdinal = null;
+        long mask = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            ActivityMetrics.Key key = ActivityMetrics.Key.fromJson(name);
+            JsonToken token = in.peek();
+
+            if (key != null && (token == JsonToken.NUMBER || token == JsonToken.STRING)) {
+                // nextDouble() also accepts numeric strings like "42.5"
+                try {
+                    double value = in.nextDouble();
+                    if (byOrdinal == null) byOrdinal = new double[ActivityMetrics.Key.ALL.length];
+                    byOrdinal[key.ordinal()] = value;
+                    mask |= 1L << key.ordinal();
+                } catch (NumberFormatException e) {
+                    metrics.putExtra(name, in.nextString());
+                }
+            } else if (ActivityMetrics.TRAINING_ZONE.equals(name) && token != JsonToken.NULL) {
+                if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+                    metrics.setTrainingZone(in.nextString());
+                } else {
+                    metrics.putExtra(name, readValue(in));
+                }
+            } else if (token == JsonToken.NULL) {
+                in.nextNull();
+            } else {
+                metrics.putExtra(name, readValue(in));
+            }
+        }
+        in.endObject();
+        if (mask != 0) metrics.setAll(mask, byOrdinal);
+        return metrics;
+    }
+
+    @Override
+    public void write(JsonWriter out, ActivityMetrics value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        for (ActivityMetrics.Key key : ActivityMetrics.Key.ALL) {
+            if (!value.has(key)) continue;
+            double v = value.get(key);
+            out.name(key.jsonName);
+            // Whole values go out as "30", not "30.0"; anything else exactly as
+            // stored, integral keys included (rounding is for display only)
+            if (v == Math.rint(v) && Math.abs(v) < 1e15) {
+                out.value((long) v);
+            } else {
+                out.value(v);
+            }
+        }
+        if (value.getTrainingZone() != null) {
+            out.name(ActivityMetrics.TRAINING_ZONE).value(value.getTrainingZone());
+        }
+        Map<String, Object> extras = value.getExtras();
+        if (extras != null) {
+            for (Map.Entry<String, Object> e : extras.entrySet()) {
+                out.name(e.getKey());
+                writeValue(out, e.getValue());
+            }
+        }
+        out.endObject();
+    }
+
+    // ─── Untyped values (extras only) ────────────────────────────────────────
+
+    /** Numbers stay Double, matching what Gson's ObjectTypeAdapter produced. */
+    static Object readValue(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NUMBER:
+                return in.nextDouble();
+            case STRING:
+                return in.nextString();
+            case BOOLEAN:
+                return in.nextBoolean();
+            case BEGIN_OBJECT:
+                Map<String, Object> map = new LinkedHashMap<>();
+                in.beginObject();
+                while (in.hasNext()) map.put(in.nextName(), readValue(in));
+                in.endObject();
+                return map;
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                in.beginArray();
+                while (in.hasNext()) list.add(readValue(in));
+                in.endArray();
+                return list;
+            default:
+                in.skipValue();
+                return null;
+        }
+    }
+
+    static void writeValue(JsonWriter out, Object value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else if (value instanceof Number) {
+            out.value((Number) value);
+        } else if (value instanceof Boolean) {
+            out.value((Boolean) value);
+        } else if (value instanceof Map) {
+            out.beginObject();
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                out.name(String.valueOf(e.getKey()));
+                writeValue(out, e.getValue());
+            }
+            out.endObject();
+        } else if (value instanceof List) {
+            out.beginArray();
+            for (Object o : (List<?>) value) writeValue(out, o);
+            out.endArray();
+        } else {
+            out.value(value.toString());
+        }
+    }
+}
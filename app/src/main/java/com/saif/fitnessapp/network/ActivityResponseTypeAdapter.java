@@ -0,0 +1,98 @@
+package com.saif.fitnessapp.network;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import java.io.IOException;
+
+/**
+ * Hand-written streaming adapter for {@link ActivityResponse}.
+ *
+ * The reflective adapter goes through field lookups for every item; this reads
+ * tokens straight into the constructor arguments, and metrics straight into
+ * {@link ActivityMetrics} slots, so an activity page is parsed in one pass with
+ * no intermediate tree or boxed metric values. Timestamps stay strings here; the
+ * DTO decodes them on first use.
+ * Registered on the app's Gson in {@link NetworkModule}, which means Retrofit's
+ * {@code List<ActivityResponse>} responses use it for every element.
+ */
+public class ActivityResponseTypeAdapter extends TypeAdapter<ActivityResponse> {
+
+    private final ActivityMetricsTypeAdapter metricsAdapter = new ActivityMetricsTypeAdapter();
+
+    @Override
+    public ActivityResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String id = null, userId = null, activityType = null, startTime = null;
+        String createdAt = null, updatedAt = null;
+        Integer duration = null, caloriesBurned = null;
+        ActivityMetrics additionalMetrics = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":                id = readString(in); break;
+                case "userId":            userId = readString(in); break;
+                case "activityType":      activityType = readString(in); break;
+                case "duration":          duration = readInteger(in); break;
+                case "caloriesBurned":    caloriesBurned = readInteger(in); break;
+                case "startTime":         startTime = readString(in); break;
+                case "additionalMetrics": additionalMetrics = metricsAdapter.read(in); break;
+                case "createdAt":         createdAt = readString(in); break;
+                case "updatedAt":         updatedAt = readString(in); break;
+                default:                  in.skipValue(); break;
+            }
+        }
+        in.endObject();
+
+        return new ActivityResponse(id, userId, activityType, duration, caloriesBurned,
+                startTime, additionalMetrics, createdAt, updatedAt);
+    }
+
+    @Override
+    public void write(JsonWriter out, ActivityResponse value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(value.getId());
+        out.name("userId").value(value.getUserId());
+        out.name("activityType").value(value.getActivityType());
+        out.name("duration").value(value.getDuration());
+        out.name("caloriesBurned").value(value.getCaloriesBurned());
+        out.name("startTime").value(value.getStartTime());
+        out.name("additionalMetrics");
+        metricsAdapter.write(out, value.getAdditionalMetrics());
+        out.name("createdAt").value(value.getCreatedAt());
+        out.name("updatedAt").value(value.getUpdatedAt());
+        out.endObject();
+    }
+
+    // ─── Helpers ─────────────────────────────────────────────────────────────
+
+    private static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        // Tolerates "30.0" as well as 30, like the reflective adapter did
+        return (int) in.nextDouble();
+    }
+}
@@ -15,6 +15,7 @@ import java.util.List;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
@@ -42,8 +43,15 @@ public interface ApiService {
 
     // --- ACTIVITY SERVICE APIs ---
 
+    /**
+     * Saves a tracked activity. {@code idempotencyKey} is the same on every attempt
+     * for one activity, so a server that honours it can drop a repeated upload.
+     */
     @POST("api/activities/track")
-    Call<ActivityResponse> trackActivity(@Body ActivityRequest request);
+    Call<ActivityResponse> trackActivity(
+            @Header("Idempotency-Key") String idempotencyKey,
+            @Body ActivityRequest request
+    );
 
     @GET("api/activities")
     Call<List<ActivityResponse>> getActivities(
@@ -52,6 +60,21 @@ public interface ApiService {
             @Query("userId") String userId
     );
 
+    /**
+     * Keyset page: up to {@code size} activities after (beforeStartTime, beforeId) in
+     * newest-first order, ties broken by id. Null cursor params are left off, giving
+     * the first page. With a cursor, {@code page} is 0; servers without cursor support
+     * go by {@code page} instead (see ActivityPageFetcher).
+     */
+    @GET("api/activities")
+    Call<List<ActivityResponse>> getActivitiesBefore(
+            @Query("page") int page,
+            @Query("size") int size,
+            @Query("userId") String userId,
+            @Query("beforeStartTime") String beforeStartTime,
+            @Query("beforeId") String beforeId
+    );
+
     // --- AI SERVICE APIs ---
 
     @GET("api/recommendations/user/{userId}")
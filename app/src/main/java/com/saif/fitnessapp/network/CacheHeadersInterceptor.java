@@ -0,0 +1,64 @@
+package com.saif.fitnessapp.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.Set;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that makes the read-only API responses storable.
+ *
+ * The backend sends Spring Security's default
+ * {@code Cache-Control: no-cache, no-store, max-age=0, must-revalidate} on every
+ * response, so {@link okhttp3.Cache} never writes anything and
+ * {@link CachePolicyInterceptor}'s stale fallback has nothing to serve. For the
+ * GET endpoints in {@link #CACHEABLE} those headers are replaced with
+ * {@code private, max-age=0}: the copy is stored, but it is never fresh, so
+ * online reads still go to the server (conditionally when it sends an ETag or
+ * Last-Modified) and only the fallback ever serves it unrevalidated.
+ *
+ * Runs as a network interceptor because the cache decides what to store from the
+ * headers it sees coming back from the network.
+ */
+public class CacheHeadersInterceptor implements Interceptor {
+
+    /** ApiService templates (see {@link EndpointTemplates}) whose responses may be stored. */
+    static final Set<String> CACHEABLE = Set.of(
+            "api/users/{userId}",
+            "api/activities",
+            "api/activities/{activityId}",
+            "api/recommendations/user/{userId}",
+            "api/recommendations/activity/{activityId}");
+
+    private static final String STORABLE = "private, max-age=0";
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        if (!"GET".equals(request.method())
+                || !(response.isSuccessful() || response.code() == 304)
+                || !CACHEABLE.contains(EndpointTemplates.of(request))
+                || isStorable(response.cacheControl())) {
+            return response;
+        }
+        // A 304 is rewritten too: its headers are merged into the stored copy
+        return response.newBuilder()
+                .header("Cache-Control", STORABLE)
+                .removeHeader("Pragma")
+                .removeHeader("Expires")
+                .build();
+    }
+
+    /** Whether the server's own headers already let the copy be stored and served stale. */
+    private static boolean isStorable(CacheControl cacheControl) {
+        return !cacheControl.noStore() && !cacheControl.noCache() && !cacheControl.mustRevalidate()
+                && cacheControl.maxAgeSeconds() >= 0;
+    }
+}
@@ -0,0 +1,128 @@
+package com.saif.fitnessapp.network;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.saif.fitnessapp.BuildConfig;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Client-side cache policy for GET requests, sitting in front of OkHttp's disk cache.
+ *
+ * Freshness and ETag / Last-Modified revalidation are left to the {@link okhttp3.Cache}
+ * itself. This interceptor adds two things on top:
+ * - if the network fails or the server answers 5xx (e.g. 502/503 while the backend
+ *   cold-starts), an expired cached copy (up to {@link #MAX_STALE_DAYS} old) is served
+ *   instead of the error, so screens still render
+ * - every GET is classified as hit / 304 / miss / stale in {@link HttpCacheStats}
+ *
+ * Neither works for a response the server marked no-store; {@link CacheHeadersInterceptor}
+ * rewrites those for the read-only endpoints so there is a copy to fall back on.
+ */
+public class CachePolicyInterceptor implements Interceptor {
+    private static final String TAG = "CachePolicyInterceptor";
+
+    private static final int MAX_STALE_DAYS = 7;
+
+    private final HttpCacheStats stats;
+
+    public CachePolicyInterceptor(HttpCacheStats stats) {
+        this.stats = stats;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method())) {
+            return chain.proceed(request);
+        }
+
+        String endpoint = EndpointTemplates.of(request);
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            // Cancellation (e.g. paging teardown) is not a network failure
+            if (e instanceof InterruptedIOException || chain.call().isCanceled()) throw e;
+
+            Response stale = proceedFromCache(chain, request);
+            if (stale == null) throw e;
+            stats.recordStale(endpoint, cachedBytes(stale));
+            if (BuildConfig.DEBUG) Log.d(TAG, endpoint + " -> STALE (" + e.getMessage() + ")");
+            return stale;
+        }
+
+        if (response.code() >= 500) {
+            // Buffer the (small) error body so the call is free for the cache lookup,
+            // and the error can still be returned if nothing is cached
+            Response error = buffered(response);
+            Response stale = proceedFromCache(chain, request);
+            if (stale != null) {
+                stats.recordStale(endpoint, cachedBytes(stale));
+                if (BuildConfig.DEBUG) Log.d(TAG, endpoint + " -> STALE (HTTP " + error.code() + ")");
+                return stale;
+            }
+            response = error;
+        }
+
+        record(endpoint, response);
+        return response;
+    }
+
+    private static Response buffered(Response response) throws IOException {
+        ResponseBody body = response.body();
+        if (body == null) return response;
+        MediaType contentType = body.contentType();
+        byte[] bytes = body.bytes(); // Reads fully and closes
+        return response.newBuilder().body(ResponseBody.create(bytes, contentType)).build();
+    }
+
+    /** Replays the request against the cache only. Returns null if nothing usable is cached. */
+    private Response proceedFromCache(Chain chain, Request request) {
+        Request cacheOnly = request.newBuilder()
+                .cacheControl(new CacheControl.Builder()
+                        .onlyIfCached()
+                        .maxStale(MAX_STALE_DAYS, TimeUnit.DAYS)
+                        .build())
+                .build();
+        try {
+            Response cached = chain.proceed(cacheOnly);
+            if (cached.isSuccessful()) return cached;
+            cached.close(); // 504 Unsatisfiable Request — not in cache
+        } catch (IOException ignored) {
+            // Cache read failed too; surface the original network error
+        }
+        return null;
+    }
+
+    private void record(String endpoint, Response response) {
+        Response cacheResponse = response.cacheResponse();
+        Response networkResponse = response.networkResponse();
+
+        if (cacheResponse != null && networkResponse == null) {
+            stats.recordHit(endpoint, cachedBytes(response));
+            if (BuildConfig.DEBUG) Log.d(TAG, endpoint + " -> HIT");
+        } else if (cacheResponse != null && networkResponse.code() == 304) {
+            stats.recordRevalidated(endpoint, cachedBytes(response));
+            if (BuildConfig.DEBUG) Log.d(TAG, endpoint + " -> 304");
+        } else {
+            stats.recordMiss(endpoint);
+        }
+    }
+
+    private static long cachedBytes(Response response) {
+        return response.body() != null ? response.body().contentLength() : -1;
+    }
+}
@@ -0,0 +1,46 @@
+package com.saif.fitnessapp.network;
+
+import java.lang.reflect.Method;
+
+import okhttp3.Request;
+import retrofit2.Invocation;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+/**
+ * Maps a request back to the {@link ApiService} path template it came from
+ * (e.g. {@code api/activities/{activityId}}), so per-endpoint stats don't
+ * explode into one bucket per id.
+ */
+public final class EndpointTemplates {
+
+    private EndpointTemplates() {}
+
+    public static String of(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            String path = templateOf(invocation.method());
+            if (path != null) return strip(path);
+        }
+        // Not a Retrofit call (e.g. Keycloak) — the raw path is the best we have
+        return strip(request.url().encodedPath());
+    }
+
+    private static String templateOf(Method method) {
+        GET get = method.getAnnotation(GET.class);
+        if (get != null) return get.value();
+        POST post = method.getAnnotation(POST.class);
+        if (post != null) return post.value();
+        PUT put = method.getAnnotation(PUT.class);
+        if (put != null) return put.value();
+        DELETE delete = method.getAnnotation(DELETE.class);
+        if (delete != null) return delete.value();
+        return null;
+    }
+
+    private static String strip(String path) {
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+}
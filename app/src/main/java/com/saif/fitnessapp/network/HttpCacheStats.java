@@ -0,0 +1,82 @@
+package com.saif.fitnessapp.network;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Per-endpoint HTTP cache counters.
+ *
+ * - hit:         served from the disk cache, no network at all
+ * - revalidated: conditional request answered with 304, body served from cache
+ * - miss:        full body downloaded
+ * - stale:       network failed and an expired cached copy was served instead
+ *
+ * bytesSaved counts the cached body bytes (as reported by Content-Length) for
+ * hits, revalidations and stale serves.
+ */
+@Singleton
+public class HttpCacheStats {
+
+    private final ConcurrentHashMap<String, Counters> byEndpoint = new ConcurrentHashMap<>();
+
+    @Inject
+    public HttpCacheStats() {}
+
+    public void recordHit(String endpoint, long bytes) {
+        Counters c = counters(endpoint);
+        c.hits.increment();
+        c.addSaved(bytes);
+    }
+
+    public void recordRevalidated(String endpoint, long bytes) {
+        Counters c = counters(endpoint);
+        c.revalidated.increment();
+        c.addSaved(bytes);
+    }
+
+    public void recordMiss(String endpoint) {
+        counters(endpoint).misses.increment();
+    }
+
+    public void recordStale(String endpoint, long bytes) {
+        Counters c = counters(endpoint);
+        c.stale.increment();
+        c.addSaved(bytes);
+    }
+
+    /** Human-readable table, one endpoint per line, sorted by path. */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Counters> e : new TreeMap<>(byEndpoint).entrySet()) {
+            Counters c = e.getValue();
+            sb.append(String.format(Locale.US,
+                    "%s  hit=%d 304=%d miss=%d stale=%d saved=%.1fKB%n",
+                    e.getKey(),
+                    c.hits.sum(), c.revalidated.sum(), c.misses.sum(), c.stale.sum(),
+                    c.bytesSaved.sum() / 1024.0));
+        }
+        return sb.toString();
+    }
+
+    private Counters counters(String endpoint) {
+        return byEndpoint.computeIfAbsent(endpoint, k -> new Counters());
+    }
+
+    private static final class Counters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder revalidated = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder stale = new LongAdder();
+        final LongAdder bytesSaved = new LongAdder();
+
+        void addSaved(long bytes) {
+            if (bytes > 0) bytesSaved.add(bytes);
+        }
+    }
+}
@@ -1,42 +1,102 @@
 package com.saif.fitnessapp.network;
 
+import android.content.Context;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.saif.fitnessapp.BuildConfig;
 import com.saif.fitnessapp.auth.AuthConfig;
-import com.saif.fitnessapp.auth.AuthManager;
 import com.saif.fitnessapp.auth.TokenManager;
+import com.saif.fitnessapp.auth.TokenRefreshCoordinator;
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
 
+import java.io.File;
 import java.util.concurrent.TimeUnit;
 
 import dagger.Module;
 import dagger.Provides;
 import dagger.hilt.InstallIn;
+import dagger.hilt.android.qualifiers.ApplicationContext;
 import dagger.hilt.components.SingletonComponent;
+import okhttp3.Cache;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
+import javax.inject.Named;
 import javax.inject.Singleton;
 
 @Module
 @InstallIn(SingletonComponent.class)
 public class NetworkModule {
 
+    /** Qualifier for the unauthenticated base client whose pool and dispatcher everything shares. */
+    public static final String BASE_CLIENT = "base_client";
+
+    /** Qualifier for the ApiService the activity outbox uploads through. */
+    public static final String OUTBOX_API = "outbox_api";
+
+    private static final String HTTP_CACHE_DIR = "http_cache";
+    private static final long HTTP_CACHE_SIZE_BYTES = 20L * 1024 * 1024;
+
     /**
-     * Injects AuthManager for automatic token refresh
+     * Injects the refresh coordinator for automatic token refresh
      */
     @Provides
     @Singleton
     public AuthInterceptor provideAuthInterceptor(
             TokenManager tokenManager,
-            AuthManager authManager
+            TokenRefreshCoordinator refreshCoordinator
     ) {
-        return new AuthInterceptor(tokenManager, authManager);
+        return new AuthInterceptor(tokenManager, refreshCoordinator);
+    }
+
+    @Provides
+    @Singleton
+    public TokenAuthenticator provideTokenAuthenticator(TokenRefreshCoordinator refreshCoordinator) {
+        return new TokenAuthenticator(refreshCoordinator);
+    }
+
+    /**
+     * Bounded on-disk HTTP cache. OkHttp stores GET responses and revalidates them
+     * with If-None-Match / If-Modified-Since, so unchanged data comes back as a 304.
+     */
+    @Provides
+    @Singleton
+    public Cache provideHttpCache(@ApplicationContext Context context) {
+        return new Cache(new File(context.getCacheDir(), HTTP_CACHE_DIR), HTTP_CACHE_SIZE_BYTES);
     }
 
+    /**
+     * Plain client with no auth or caching. AuthManager derives its client from this one,
+     * so auth calls and API calls share one ConnectionPool — keep-alive connections to
+     * the API host are reused across login, OTP and data requests. AuthManager gives its
+     * client a separate Dispatcher, since API calls block theirs while awaiting a refresh.
+     * Derived clients inherit the timing listener, so Keycloak calls are timed too.
+     */
     @Provides
     @Singleton
-    public OkHttpClient provideOkHttpClient(AuthInterceptor authInterceptor) {
+    @Named(BASE_CLIENT)
+    public OkHttpClient provideBaseOkHttpClient(NetworkTimingStats timingStats) {
+        return new OkHttpClient.Builder()
+                .connectTimeout(AuthConfig.API_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(AuthConfig.API_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .writeTimeout(AuthConfig.API_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .eventListenerFactory(new TimingEventListener.Factory(timingStats)) // Per-endpoint phase timings
+                .build();
+    }
+
+    @Provides
+    @Singleton
+    public OkHttpClient provideOkHttpClient(
+            @Named(BASE_CLIENT) OkHttpClient baseClient,
+            AuthInterceptor authInterceptor,
+            TokenAuthenticator tokenAuthenticator,
+            Cache cache,
+            HttpCacheStats cacheStats
+    ) {
         HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
         if (BuildConfig.DEBUG) {
             logging.setLevel(HttpLoggingInterceptor.Level.BODY);
@@ -46,23 +106,36 @@ public class NetworkModule {
             logging.setLevel(HttpLoggingInterceptor.Level.NONE);
         }
 
-
-        return new OkHttpClient.Builder()
-                .addInterceptor(authInterceptor) // Adds auth token and handles refresh
+        return baseClient.newBuilder()
+                .cache(cache)
+                .addInterceptor(authInterceptor) // Adds auth token, refreshes before expiry
+                .authenticator(tokenAuthenticator) // Refreshes and retries once on 401
+                .addInterceptor(new CachePolicyInterceptor(cacheStats)) // Stale fallback + hit/miss stats
                 .addInterceptor(logging)
-                .connectTimeout(AuthConfig.API_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-                .readTimeout(AuthConfig.API_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-                .writeTimeout(AuthConfig.API_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .addNetworkInterceptor(new CacheHeadersInterceptor()) // Lets the cache store no-store GETs
                 .build();
     }
 
+    /**
+     * Activity pages are the largest payloads, so they skip reflection and go
+     * through a streaming adapter.
+     */
     @Provides
     @Singleton
-    public Retrofit provideRetrofit(OkHttpClient okHttpClient) {
+    public Gson provideGson() {
+        return new GsonBuilder()
+                .registerTypeAdapter(ActivityResponse.class, new ActivityResponseTypeAdapter())
+                .registerTypeAdapter(ActivityMetrics.class, new ActivityMetricsTypeAdapter())
+                .create();
+    }
+
+    @Provides
+    @Singleton
+    public Retrofit provideRetrofit(OkHttpClient okHttpClient, Gson gson) {
         return new Retrofit.Builder()
                 .baseUrl(AuthConfig.API_BASE_URL)
                 .client(okHttpClient)
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create(gson))
                 .build();
     }
 
@@ -71,4 +144,21 @@ public class NetworkModule {
     public ApiService provideApiService(Retrofit retrofit) {
         return retrofit.create(ApiService.class);
     }
+
+    /**
+     * Same client and converters, except OkHttp won't quietly resend a request after
+     * the connection drops. An upload whose response was lost may already be saved,
+     * so OutboxDrain decides for itself whether to send it again.
+     */
+    @Provides
+    @Singleton
+    @Named(OUTBOX_API)
+    public ApiService provideOutboxApiService(Retrofit retrofit, OkHttpClient okHttpClient) {
+        return retrofit.newBuilder()
+                .client(okHttpClient.newBuilder()
+                        .retryOnConnectionFailure(false)
+                        .build())
+                .build()
+                .create(ApiService.class);
+    }
 }
\ No newline at end of file
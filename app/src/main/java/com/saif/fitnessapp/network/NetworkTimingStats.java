@@ -0,0 +1,143 @@
+package com.saif.fitnessapp.network;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Per-endpoint latency histograms for each phase of an HTTP call, fed by
+ * {@link TimingEventListener}. Endpoints are {@link EndpointTemplates} paths.
+ *
+ * Phases that only happen on a new connection (dns, connect, tls) have fewer
+ * samples than calls; newConn vs reused says how many calls paid for them. A slow
+ * ttfb on warm connections points at the backend (e.g. a Render cold start); time
+ * in total that no phase accounts for was spent in the app's interceptors, such
+ * as waiting on a token refresh.
+ *
+ * Recording is lock-free (fixed buckets in an AtomicLongArray), so it's safe from
+ * any OkHttp thread. Percentiles are reported as the bucket's upper bound.
+ */
+@Singleton
+public class NetworkTimingStats {
+
+    public enum Phase {
+        DNS("dns"),
+        CONNECT("connect"),
+        TLS("tls"),
+        REQUEST_WRITE("write"),
+        TTFB("ttfb"),
+        BODY_READ("body"),
+        TOTAL("total");
+
+        final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private final ConcurrentHashMap<String, EndpointTimings> byEndpoint = new ConcurrentHashMap<>();
+
+    @Inject
+    public NetworkTimingStats() {}
+
+    public void record(String endpoint, Phase phase, long nanos) {
+        if (nanos < 0) return;
+        timings(endpoint).phases[phase.ordinal()].record(nanos / 1_000_000);
+    }
+
+    public void recordConnection(String endpoint, boolean newConnection) {
+        EndpointTimings t = timings(endpoint);
+        (newConnection ? t.newConnections : t.reusedConnections).increment();
+    }
+
+    public void recordFailure(String endpoint) {
+        timings(endpoint).failures.increment();
+    }
+
+    /** Human-readable table, one block per endpoint sorted by path, times in ms. */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, EndpointTimings> e : new TreeMap<>(byEndpoint).entrySet()) {
+            EndpointTimings t = e.getValue();
+            sb.append(String.format(Locale.US, "%s  newConn=%d reused=%d failed=%d%n",
+                    e.getKey(), t.newConnections.sum(), t.reusedConnections.sum(), t.failures.sum()));
+            for (Phase phase : Phase.values()) {
+                Histogram h = t.phases[phase.ordinal()];
+                long count = h.count();
+                if (count == 0) continue;
+                sb.append(String.format(Locale.US,
+                        "  %-7s n=%-4d avg=%-5d p50≤%-5s p90≤%-5s p99≤%-5s max=%d%n",
+                        phase.label, count, h.sumMs.get() / count,
+                        h.percentile(0.50), h.percentile(0.90), h.percentile(0.99), h.maxMs.get()));
+            }
+        }
+        return sb.length() == 0 ? "No requests recorded yet\n" : sb.toString();
+    }
+
+    public void reset() {
+        byEndpoint.clear();
+    }
+
+    private EndpointTimings timings(String endpoint) {
+        return byEndpoint.computeIfAbsent(endpoint, k -> new EndpointTimings());
+    }
+
+    private static final class EndpointTimings {
+        final Histogram[] phases = new Histogram[Phase.values().length];
+        final LongAdder newConnections = new LongAdder();
+        final LongAdder reusedConnections = new LongAdder();
+        final LongAdder failures = new LongAdder();
+
+        EndpointTimings() {
+            for (int i = 0; i < phases.length; i++) phases[i] = new Histogram();
+        }
+    }
+
+    /** Millisecond histogram over roughly logarithmic buckets; the last is open-ended. */
+    static final class Histogram {
+        static final long[] BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 20000, 30000};
+
+        final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MS.length + 1);
+        final AtomicLong sumMs = new AtomicLong();
+        final AtomicLong maxMs = new AtomicLong();
+
+        void record(long ms) {
+            buckets.incrementAndGet(bucketFor(ms));
+            sumMs.addAndGet(ms);
+            maxMs.accumulateAndGet(ms, Math::max);
+        }
+
+        long count() {
+            long count = 0;
+            for (int i = 0; i < buckets.length(); i++) count += buckets.get(i);
+            return count;
+        }
+
+        /** Upper bound of the bucket holding the given quantile, e.g. "200"; "inf" past the last. */
+        String percentile(double quantile) {
+            long count = count();
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) return i < BOUNDS_MS.length ? String.valueOf(BOUNDS_MS[i]) : "inf";
+            }
+            return "inf";
+        }
+
+        private static int bucketFor(long ms) {
+            for (int i = 0; i < BOUNDS_MS.length; i++) {
+                if (ms <= BOUNDS_MS[i]) return i;
+            }
+            return BOUNDS_MS.length;
+        }
+    }
+}
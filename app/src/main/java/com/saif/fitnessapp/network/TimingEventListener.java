@@ -0,0 +1,171 @@
+package com.saif.fitnessapp.network;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.saif.fitnessapp.network.NetworkTimingStats.Phase;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Times the phases of one call into {@link NetworkTimingStats}. OkHttp creates one
+ * listener per call and delivers its events in order, so the fields need no
+ * synchronization.
+ *
+ * Calls answered entirely from the disk cache never reach the network and are
+ * left to {@link HttpCacheStats}. A call retried by the authenticator after a 401
+ * records its write / ttfb / body phases once per attempt.
+ */
+public class TimingEventListener extends EventListener {
+
+    public static class Factory implements EventListener.Factory {
+        private final NetworkTimingStats stats;
+
+        public Factory(NetworkTimingStats stats) {
+            this.stats = stats;
+        }
+
+        @NonNull
+        @Override
+        public EventListener create(@NonNull Call call) {
+            return new TimingEventListener(stats, EndpointTemplates.of(call.request()));
+        }
+    }
+
+    private final NetworkTimingStats stats;
+    private final String endpoint;
+
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long tlsStart;
+    private long writeStart;
+    private long writeEnd;
+    private long bodyStart;
+
+    private boolean connected = false;
+    private boolean acquired = false;
+    private boolean cacheHit = false;
+
+    TimingEventListener(NetworkTimingStats stats, String endpoint) {
+        this.stats = stats;
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName,
+                       @NonNull List<InetAddress> inetAddressList) {
+        stats.record(endpoint, Phase.DNS, System.nanoTime() - dnsStart);
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                             @NonNull Proxy proxy) {
+        // Called again for each address tried; the phase covers all attempts
+        if (connectStart == 0) connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        tlsStart = System.nanoTime();
+        // TCP is done once the handshake starts
+        stats.record(endpoint, Phase.CONNECT, tlsStart - connectStart);
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, @Nullable Handshake handshake) {
+        stats.record(endpoint, Phase.TLS, System.nanoTime() - tlsStart);
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                           @NonNull Proxy proxy, @Nullable Protocol protocol) {
+        if (tlsStart == 0) stats.record(endpoint, Phase.CONNECT, System.nanoTime() - connectStart);
+        connected = true;
+    }
+
+    @Override
+    public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+        acquired = true;
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        writeStart = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+        writeEnd = System.nanoTime();
+        if (request.body() == null) recordWrite();
+    }
+
+    @Override
+    public void requestBodyEnd(@NonNull Call call, long byteCount) {
+        writeEnd = System.nanoTime();
+        recordWrite();
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        stats.record(endpoint, Phase.TTFB, System.nanoTime() - writeEnd);
+    }
+
+    @Override
+    public void responseBodyStart(@NonNull Call call) {
+        bodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        stats.record(endpoint, Phase.BODY_READ, System.nanoTime() - bodyStart);
+    }
+
+    @Override
+    public void cacheHit(@NonNull Call call, @NonNull Response cachedResponse) {
+        cacheHit = true;
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        finish(false);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        finish(true);
+    }
+
+    private void recordWrite() {
+        stats.record(endpoint, Phase.REQUEST_WRITE, writeEnd - writeStart);
+    }
+
+    private void finish(boolean failed) {
+        if (cacheHit || (!acquired && !failed)) return;
+        stats.record(endpoint, Phase.TOTAL, System.nanoTime() - callStart);
+        if (acquired) stats.recordConnection(endpoint, connected);
+        if (failed) stats.recordFailure(endpoint);
+    }
+}
@@ -0,0 +1,58 @@
+package com.saif.fitnessapp.network;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.saif.fitnessapp.auth.TokenRefreshCoordinator;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Handles 401 Unauthorized: refreshes the access token (once, shared with any
+ * other request that hit the same 401) and retries the request with it.
+ * Returning null hands the 401 back to the caller, which should send the user to login.
+ */
+public class TokenAuthenticator implements Authenticator {
+    private static final String TAG = "TokenAuthenticator";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenRefreshCoordinator refreshCoordinator;
+
+    public TokenAuthenticator(TokenRefreshCoordinator refreshCoordinator) {
+        this.refreshCoordinator = refreshCoordinator;
+    }
+
+    @Nullable
+    @Override
+    public Request authenticate(@Nullable Route route, @NonNull Response response) {
+        Request request = response.request();
+        String authorization = request.header("Authorization");
+
+        // Only retry requests we authenticated, and only once
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)
+                || AuthInterceptor.shouldSkipAuth(request)) {
+            return null;
+        }
+        if (response.priorResponse() != null) {
+            Log.e(TAG, "Retry with refreshed token was also rejected");
+            return null;
+        }
+
+        Log.d(TAG, "Got 401 Unauthorized, attempting token refresh and retry");
+        String rejectedToken = authorization.substring(BEARER_PREFIX.length());
+        String newAccessToken = refreshCoordinator.awaitRefreshAfterRejection(rejectedToken);
+        if (newAccessToken == null) {
+            Log.e(TAG, "Token refresh failed, returning 401");
+            return null;
+        }
+
+        return request.newBuilder()
+                .header("Authorization", BEARER_PREFIX + newAccessToken)
+                .build();
+    }
+}
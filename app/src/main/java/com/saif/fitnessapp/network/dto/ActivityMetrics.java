@@ -0,0 +1,226 @@
+package com.saif.fitnessapp.network.dto;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Typed container for an activity's additionalMetrics.
+ *
+ * Every numeric metric the app knows about has a fixed slot in {@link Key}. Values
+ * live in a packed primitive array with a presence bitmask, so a parsed activity
+ * holds a handful of doubles instead of a map of boxed Doubles. The one text metric
+ * (trainingZone) has its own field, and anything the backend adds that isn't in the
+ * registry is kept in {@link #getExtras()} so it still round-trips to the server.
+ *
+ * Serialized by {@code network.ActivityMetricsTypeAdapter} as the same flat JSON
+ * object the backend already sends.
+ */
+public final class ActivityMetrics {
+
+    /** Registry of numeric metrics, keyed by their JSON name. Max 64 entries (one bitmask). */
+    public enum Key {
+        // Common
+        AVG_HEART_RATE("avgHeartRate", true),
+        INTENSITY_SCORE("intensityScore", true),
+        INTENSITY_LEVEL("intensityLevel", true),
+        CONFIDENCE_SCORE("confidenceScore", true),
+        ESTIMATED_VO2_SCORE("estimatedVo2Score", true),
+        // Running / walking
+        DISTANCE_KM("distanceKm", false),
+        ESTIMATED_STEPS("estimatedSteps", true),
+        AVG_SPEED_KMH("avgSpeedKmh", false),
+        CADENCE_SPM("cadenceSpm", true),
+        PACE_MIN_PER_KM("paceMinPerKm", false),
+        // Cycling
+        ESTIMATED_POWER_WATTS("estimatedPowerWatts", true),
+        CADENCE_RPM("cadenceRpm", true),
+        // Swimming
+        LAPS("laps", true),
+        DISTANCE_METERS("distanceMeters", true),
+        AVG_STROKE_RATE("avgStrokeRate", true),
+        EFFICIENCY_SCORE("efficiencyScore", true),
+        // Weight lifting
+        SETS("sets", true),
+        REPS_PER_SET("repsPerSet", true),
+        ESTIMATED_LOAD_KG("estimatedLoadKg", true),
+        TOTAL_VOLUME_KG("totalVolumeKg", true),
+        // Boxing
+        PUNCHES_THROWN("punchesThrown", true),
+        ROUNDS("rounds", true),
+        AVG_INTENSITY("avgIntensity", true),
+        REACTION_SCORE("reactionScore", true),
+        // Yoga / stretching
+        FLEXIBILITY_SCORE("flexibilityScore", true),
+        BREATHING_SCORE("breathingScore", true),
+        MINDFULNESS_SCORE("mindfulnessScore", true),
+        CALMNESS_LEVEL("calmnessLevel", true);
+
+        /** Cached copy — Key.values() allocates a new array on every call. */
+        public static final Key[] ALL = values();
+        private static final Map<String, Key> BY_JSON = new HashMap<>();
+
+        static {
+            for (Key key : ALL) BY_JSON.put(key.jsonName, key);
+        }
+
+        public final String jsonName;
+        /** Whole-number metric: displayed without decimals. Stored and sent as read. */
+        public final boolean integral;
+
+        Key(String jsonName, boolean integral) {
+            this.jsonName = jsonName;
+            this.integral = integral;
+        }
+
+        @Nullable
+        public static Key fromJson(String name) {
+            return BY_JSON.get(name);
+        }
+    }
+
+    public static final String TRAINING_ZONE = "trainingZone";
+
+    private static final double[] EMPTY = new double[0];
+
+    private long presentMask;
+    // One slot per set bit in presentMask, in Key ordinal order
+    private double[] values = EMPTY;
+    @Nullable private String trainingZone;
+    @Nullable private Map<String, Object> extras;
+
+    // ─── Numeric metrics ─────────────────────────────────────────────────────
+
+    public boolean has(@NonNull Key key) {
+        return (presentMask & (1L << key.ordinal())) != 0;
+    }
+
+    /** Value for {@code key}, or {@code Double.NaN} if absent. */
+    public double get(@NonNull Key key) {
+        return has(key) ? values[slot(key)] : Double.NaN;
+    }
+
+    /** Value for {@code key} rounded to a long, or {@code fallback} if absent. */
+    public long getLong(@NonNull Key key, long fallback) {
+        return has(key) ? Math.round(values[slot(key)]) : fallback;
+    }
+
+    public ActivityMetrics set(@NonNull Key key, double value) {
+        int slot = slot(key);
+        if (has(key)) {
+            values[slot] = value;
+            return this;
+        }
+        double[] grown = new double[values.length + 1];
+        System.arraycopy(values, 0, grown, 0, slot);
+        grown[slot] = value;
+        System.arraycopy(values, slot, grown, slot + 1, values.length - slot);
+        values = grown;
+        presentMask |= 1L << key.ordinal();
+        return this;
+    }
+
+    /**
+     * Sets every key whose bit is in {@code mask} from {@code byOrdinal} (indexed by
+     * Key ordinal) in one allocation, for readers that collect a whole object first.
+     */
+    public ActivityMetrics setAll(long mask, @NonNull double[] byOrdinal) {
+        long merged = presentMask | mask;
+        double[] packed = new double[Long.bitCount(merged)];
+        int slot = 0;
+        for (long m = merged; m != 0; m &= m - 1) {
+            long bit = Long.lowestOneBit(m);
+            packed[slot++] = (mask & bit) != 0
+                    ? byOrdinal[Long.numberOfTrailingZeros(bit)]
+                    : values[Long.bitCount(presentMask & (bit - 1))];
+        }
+        presentMask = merged;
+        values = packed;
+        return this;
+    }
+
+    /** Number of numeric metrics present. */
+    public int numericCount() {
+        return values.length;
+    }
+
+    private int slot(Key key) {
+        return Long.bitCount(presentMask & ((1L << key.ordinal()) - 1));
+    }
+
+    // ─── Text / unknown metrics ──────────────────────────────────────────────
+
+    @Nullable
+    public String getTrainingZone() { return trainingZone; }
+
+    public ActivityMetrics setTrainingZone(@Nullable String trainingZone) {
+        this.trainingZone = trainingZone;
+        return this;
+    }
+
+    /** Metrics the registry doesn't know about, exactly as received. Null when there are none. */
+    @Nullable
+    public Map<String, Object> getExtras() { return extras; }
+
+    public ActivityMetrics putExtra(@NonNull String name, @Nullable Object value) {
+        if (extras == null) extras = new LinkedHashMap<>();
+        extras.put(name, value);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return presentMask == 0 && trainingZone == null && (extras == null || extras.isEmpty());
+    }
+
+    // ─── Iteration ───────────────────────────────────────────────────────────
+
+    public interface Visitor {
+        void onNumber(Key key, double value);
+        void onText(String name, String value);
+    }
+
+    /**
+     * Visits every present metric: numeric ones in registry order, then trainingZone,
+     * then extras (as text). No map or boxed values are created.
+     */
+    public void forEach(@NonNull Visitor visitor) {
+        long mask = presentMask;
+        int slot = 0;
+        while (mask != 0) {
+            int ordinal = Long.numberOfTrailingZeros(mask);
+            visitor.onNumber(Key.ALL[ordinal], values[slot++]);
+            mask &= mask - 1;
+        }
+        if (trainingZone != null) visitor.onText(TRAINING_ZONE, trainingZone);
+        if (extras != null) {
+            for (Map.Entry<String, Object> e : extras.entrySet()) {
+                if (e.getValue() != null) visitor.onText(e.getKey(), String.valueOf(e.getValue()));
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ActivityMetrics)) return false;
+        ActivityMetrics that = (ActivityMetrics) o;
+        return presentMask == that.presentMask
+                && Arrays.equals(values, that.values)
+                && Objects.equals(trainingZone, that.trainingZone)
+                && Objects.equals(extras, that.extras);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(presentMask);
+        result = 31 * result + Arrays.hashCode(values);
+        result = 31 * result + Objects.hashCode(trainingZone);
+        result = 31 * result + Objects.hashCode(extras);
+        return result;
+    }
+}
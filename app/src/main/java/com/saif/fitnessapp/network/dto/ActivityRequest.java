@@ -2,8 +2,6 @@ package com.saif.fitnessapp.network.dto;
 
 import com.google.gson.annotations.SerializedName;
 
-import java.util.Map;
-
 public class ActivityRequest {
     @SerializedName("userId")
     private String userId;
@@ -21,10 +19,10 @@ public class ActivityRequest {
     private String startTime;
 
     @SerializedName("additionalMetrics")
-    private Map<String, Object> additionalMetrics;
+    private ActivityMetrics additionalMetrics;
 
     public ActivityRequest(String userId, String activityType, Integer duration, 
-                          Integer caloriesBurned, String startTime, Map<String, Object> additionalMetrics) {
+                          Integer caloriesBurned, String startTime, ActivityMetrics additionalMetrics) {
         this.userId = userId;
         this.activityType = activityType;
         this.duration = duration;
@@ -39,5 +37,5 @@ public class ActivityRequest {
     public Integer getDuration() { return duration; }
     public Integer getCaloriesBurned() { return caloriesBurned; }
     public String getStartTime() { return startTime; }
-    public Map<String, Object> getAdditionalMetrics() { return additionalMetrics; }
+    public ActivityMetrics getAdditionalMetrics() { return additionalMetrics; }
 }
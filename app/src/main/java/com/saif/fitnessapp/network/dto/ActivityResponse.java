@@ -1,8 +1,10 @@
 package com.saif.fitnessapp.network.dto;
 
-import com.google.gson.annotations.SerializedName;
+import androidx.room.ColumnInfo;
+import androidx.room.Ignore;
 
-import java.util.Map;
+import com.google.gson.annotations.SerializedName;
+import com.saif.fitnessapp.utils.TimeFormats;
 
 public class ActivityResponse {
     @SerializedName("id")
@@ -24,7 +26,7 @@ public class ActivityResponse {
     private String startTime;
 
     @SerializedName("additionalMetrics")
-    private Map<String, Object> additionalMetrics;
+    private ActivityMetrics additionalMetrics;
 
     @SerializedName("createdAt")
     private String createdAt;
@@ -32,6 +34,41 @@ public class ActivityResponse {
     @SerializedName("updatedAt")
     private String updatedAt;
 
+    // Epoch millis of the strings above, decoded on first use and kept; 0 means
+    // not decoded yet. Parsing is left out of the constructors so reading a page or
+    // a cursor costs no date parsing at all. Room fills startTimeMillis from its
+    // stored column. Transient so Gson skips them; volatile so a long never tears.
+    @ColumnInfo(name = "startTimeMillis")
+    private transient volatile long startTimeMillis;
+    private transient volatile long createdAtMillis;
+    private transient volatile long updatedAtMillis;
+
+    /** For rows read back from the activities table, which stores startTime's millis. */
+    public ActivityResponse(String id, String userId, String activityType, Integer duration,
+                            Integer caloriesBurned, String startTime, long startTimeMillis,
+                            ActivityMetrics additionalMetrics,
+                            String createdAt, String updatedAt) {
+        this(id, userId, activityType, duration, caloriesBurned, startTime,
+                additionalMetrics, createdAt, updatedAt);
+        this.startTimeMillis = startTimeMillis;
+    }
+
+    @Ignore
+    public ActivityResponse(String id, String userId, String activityType, Integer duration,
+                            Integer caloriesBurned, String startTime,
+                            ActivityMetrics additionalMetrics,
+                            String createdAt, String updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.activityType = activityType;
+        this.duration = duration;
+        this.caloriesBurned = caloriesBurned;
+        this.startTime = startTime;
+        this.additionalMetrics = additionalMetrics;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters
     public String getId() { return id; }
     public String getUserId() { return userId; }
@@ -39,7 +76,26 @@ public class ActivityResponse {
     public Integer getDuration() { return duration; }
     public Integer getCaloriesBurned() { return caloriesBurned; }
     public String getStartTime() { return startTime; }
-    public Map<String, Object> getAdditionalMetrics() { return additionalMetrics; }
+    public ActivityMetrics getAdditionalMetrics() { return additionalMetrics; }
     public String getCreatedAt() { return createdAt; }
     public String getUpdatedAt() { return updatedAt; }
+
+    /** Epoch millis, or {@link TimeFormats#UNKNOWN}. */
+    public long getStartTimeMillis() {
+        long millis = startTimeMillis;
+        if (millis == 0) startTimeMillis = millis = TimeFormats.parseEpochMillis(startTime);
+        return millis;
+    }
+
+    public long getCreatedAtMillis() {
+        long millis = createdAtMillis;
+        if (millis == 0) createdAtMillis = millis = TimeFormats.parseEpochMillis(createdAt);
+        return millis;
+    }
+
+    public long getUpdatedAtMillis() {
+        long millis = updatedAtMillis;
+        if (millis == 0) updatedAtMillis = millis = TimeFormats.parseEpochMillis(updatedAt);
+        return millis;
+    }
 }
@@ -1,6 +1,7 @@
 package com.saif.fitnessapp.network.dto;
 
 import com.google.gson.annotations.SerializedName;
+import com.saif.fitnessapp.utils.TimeFormats;
 
 import java.util.List;
 
@@ -32,6 +33,11 @@ public class Recommendation {
     @SerializedName("createdAt")
     private String createdAt;
 
+    // Gson fills fields reflectively without running a constructor, so these are
+    // decoded on first access and kept
+    private transient long createdAtMillis;
+    private transient boolean createdAtDecoded;
+
     // Getters
     public String getId() { return id; }
     public String getUserId() { return userId; }
@@ -42,4 +48,13 @@ public class Recommendation {
     public List<String> getSuggestions() { return suggestions; }
     public List<String> getSafety() { return safety; }
     public String getCreatedAt() { return createdAt; }
+
+    /** Epoch millis, or {@link TimeFormats#UNKNOWN}. */
+    public long getCreatedAtMillis() {
+        if (!createdAtDecoded) {
+            createdAtMillis = TimeFormats.parseEpochMillis(createdAt);
+            createdAtDecoded = true;
+        }
+        return createdAtMillis;
+    }
 }
@@ -1,6 +1,7 @@
 package com.saif.fitnessapp.network.dto;
 
 import com.google.gson.annotations.SerializedName;
+import com.saif.fitnessapp.utils.TimeFormats;
 
 public class UserResponse {
     @SerializedName("id")
@@ -27,6 +28,13 @@ public class UserResponse {
     @SerializedName("updatedAt")
     private String updatedAt;
 
+    // Gson fills fields reflectively without running a constructor, so these are
+    // decoded on first access and kept
+    private transient long createdAtMillis;
+    private transient boolean createdAtDecoded;
+    private transient long updatedAtMillis;
+    private transient boolean updatedAtDecoded;
+
     // Getters
     public String getId() { return id; }
     public String getKeycloakId() { return keycloakId; }
@@ -36,4 +44,22 @@ public class UserResponse {
     public String getLastName() { return lastName; }
     public String getCreatedAt() { return createdAt; }
     public String getUpdatedAt() { return updatedAt; }
+
+    /** Epoch millis, or {@link TimeFormats#UNKNOWN}. */
+    public long getCreatedAtMillis() {
+        if (!createdAtDecoded) {
+            createdAtMillis = TimeFormats.parseEpochMillis(createdAt);
+            createdAtDecoded = true;
+        }
+        return createdAtMillis;
+    }
+
+    /** Epoch millis, or {@link TimeFormats#UNKNOWN}. */
+    public long getUpdatedAtMillis() {
+        if (!updatedAtDecoded) {
+            updatedAtMillis = TimeFormats.parseEpochMillis(updatedAt);
+            updatedAtDecoded = true;
+        }
+        return updatedAtMillis;
+    }
 }
@@ -30,12 +30,9 @@ public class RecommendationRepository {
             public void onResponse(Call<List<Recommendation>> call, Response<List<Recommendation>> response) {
                 if (response.isSuccessful() && response.body() != null) {
                     List<Recommendation> list = response.body();
-                    // Sort latest first by createdAt (ISO-8601 → lexicographic desc)
-                    list.sort((a, b) -> {
-                        String ta = a.getCreatedAt() != null ? a.getCreatedAt() : "";
-                        String tb = b.getCreatedAt() != null ? b.getCreatedAt() : "";
-                        return tb.compareTo(ta);
-                    });
+                    // Sort latest first by createdAt. Compared as instants: string order
+                    // breaks once offsets or fractional-second precision differ.
+                    list.sort((a, b) -> Long.compare(b.getCreatedAtMillis(), a.getCreatedAtMillis()));
                     liveData.postValue(list);
                 } else {
                     liveData.postValue(null);
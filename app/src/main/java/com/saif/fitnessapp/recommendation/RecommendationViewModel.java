@@ -4,6 +4,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.saif.fitnessapp.network.dto.Recommendation;
+import com.saif.fitnessapp.startup.DashboardPrefetcher;
 
 import dagger.hilt.android.lifecycle.HiltViewModel;
 
@@ -14,14 +15,19 @@ import javax.inject.Inject;
 @HiltViewModel
 public class RecommendationViewModel extends ViewModel {
     private final RecommendationRepository recommendationRepository;
+    private final DashboardPrefetcher prefetcher;
 
     @Inject
-    public RecommendationViewModel(RecommendationRepository recommendationRepository) {
+    public RecommendationViewModel(RecommendationRepository recommendationRepository,
+                                   DashboardPrefetcher prefetcher) {
         this.recommendationRepository = recommendationRepository;
+        this.prefetcher = prefetcher;
     }
 
+    // Attaches to the splash screen's prefetch when there is one
     public LiveData<List<Recommendation>> getUserRecommendations(String userId) {
-        return recommendationRepository.getUserRecommendations(userId);
+        LiveData<List<Recommendation>> prefetched = prefetcher.claimRecommendations(userId);
+        return prefetched != null ? prefetched : recommendationRepository.getUserRecommendations(userId);
     }
 
     public LiveData<Recommendation> getActivityRecommendation(String activityId) {
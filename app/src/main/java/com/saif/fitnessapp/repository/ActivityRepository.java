@@ -2,6 +2,7 @@ package com.saif.fitnessapp.repository;
 
 import androidx.lifecycle.MutableLiveData;
 
+import com.saif.fitnessapp.activity.ActivityCache;
 import com.saif.fitnessapp.network.ApiService;
 import com.saif.fitnessapp.network.dto.ActivityResponse;
 
@@ -16,10 +17,17 @@ import retrofit2.Response;
 public class ActivityRepository {
 
     private final ApiService apiService;
+    private final ActivityCache activityCache;
 
     @Inject
-    public ActivityRepository(ApiService apiService) {
+    public ActivityRepository(ApiService apiService, ActivityCache activityCache) {
         this.apiService = apiService;
+        this.activityCache = activityCache;
+    }
+
+    /** Last copy of the activity seen by any list load, or null. Never hits the network. */
+    public ActivityResponse getCachedActivity(String activityId) {
+        return activityCache.get(activityId);
     }
 
     /**
@@ -31,6 +39,7 @@ public class ActivityRepository {
             @Override
             public void onResponse(Call<ActivityResponse> call, Response<ActivityResponse> response) {
                 if (response.isSuccessful() && response.body() != null) {
+                    activityCache.put(response.body());
                     callback.onSuccess(response.body());
                 } else {
                     callback.onError("Failed to load activity details");
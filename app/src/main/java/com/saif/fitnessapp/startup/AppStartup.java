@@ -0,0 +1,51 @@
+package com.saif.fitnessapp.startup;
+
+import android.os.Trace;
+
+import com.saif.fitnessapp.auth.AuthConfig;
+import com.saif.fitnessapp.auth.TokenManager;
+import com.saif.fitnessapp.utils.StartupTrace;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Cold-start work that used to run on the main thread the first time something
+ * needed it: opening the encrypted token store and resolving AuthConfig's URLs.
+ * {@link #start()} hands both to one background thread from
+ * FitnessApplication.onCreate, so they overlap with the splash screen's first frame.
+ * Consumers wait on {@link TokenManager#whenReady()} instead of blocking.
+ */
+@Singleton
+public class AppStartup {
+
+    private final TokenManager tokenManager;
+
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "app-startup"));
+
+    @Inject
+    public AppStartup(TokenManager tokenManager) {
+        this.tokenManager = tokenManager;
+    }
+
+    public void start() {
+        // Token store first: it gates the splash screen's auth check
+        tokenManager.initialize(executor);
+        tokenManager.whenReady().whenComplete((ignored, error) ->
+                StartupTrace.mark(error == null ? "tokens_ready" : "tokens_failed"));
+
+        executor.execute(() -> {
+            Trace.beginSection("AuthConfig.preload");
+            try {
+                AuthConfig.preload();
+            } finally {
+                Trace.endSection();
+            }
+            StartupTrace.mark("auth_config_ready");
+        });
+    }
+}
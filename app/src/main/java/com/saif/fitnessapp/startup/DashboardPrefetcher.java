@@ -0,0 +1,125 @@
+package com.saif.fitnessapp.startup;
+
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+
+import com.saif.fitnessapp.activity.ActivityRepository;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+import com.saif.fitnessapp.network.dto.Recommendation;
+import com.saif.fitnessapp.network.dto.UserResponse;
+import com.saif.fitnessapp.recommendation.RecommendationRepository;
+import com.saif.fitnessapp.user.UserRepository;
+import com.saif.fitnessapp.utils.StartupTrace;
+
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Starts Home's network loads from the splash screen, as soon as a usable token
+ * exists, instead of after MainActivity and HomeFragment have been created.
+ *
+ * The user profile, recent activities and recommendations are requested in
+ * parallel (OkHttp runs them concurrently). The first ViewModel to ask for one of
+ * them claims the prefetched LiveData — in flight or already resolved — instead of
+ * starting its own call. Each result can be claimed once, and only for a short
+ * while, so later screens and refreshes still fetch fresh data.
+ */
+@Singleton
+public class DashboardPrefetcher {
+
+    // Older than this, a prefetched result is left unclaimed and screens fetch their own
+    private static final long MAX_AGE_MS = 60_000;
+
+    /** Home shows the latest few; it asks for this many. */
+    public static final int RECENT_ACTIVITY_COUNT = 10;
+
+    private final UserRepository userRepository;
+    private final ActivityRepository activityRepository;
+    private final RecommendationRepository recommendationRepository;
+
+    // Guarded by this
+    private Prefetch current;
+
+    private static final class Prefetch {
+        final String userId;
+        final long startedAt = SystemClock.elapsedRealtime();
+        LiveData<UserResponse> user;
+        LiveData<List<ActivityResponse>> recentActivities;
+        LiveData<List<Recommendation>> recommendations;
+
+        Prefetch(String userId) {
+            this.userId = userId;
+        }
+    }
+
+    @Inject
+    public DashboardPrefetcher(UserRepository userRepository,
+                               ActivityRepository activityRepository,
+                               RecommendationRepository recommendationRepository) {
+        this.userRepository = userRepository;
+        this.activityRepository = activityRepository;
+        this.recommendationRepository = recommendationRepository;
+    }
+
+    /** Starts all three loads for {@code userId}, unless a fresh prefetch for them exists. */
+    public void prefetch(@Nullable String userId) {
+        if (userId == null) return;
+        synchronized (this) {
+            if (fresh(userId) != null) return;
+            Prefetch prefetch = new Prefetch(userId);
+            prefetch.user = userRepository.fetchUser(userId);
+            prefetch.recentActivities = activityRepository.getRecentActivities(userId, RECENT_ACTIVITY_COUNT);
+            prefetch.recommendations = recommendationRepository.getUserRecommendations(userId);
+            current = prefetch;
+        }
+        StartupTrace.mark("dashboard_prefetch_started");
+    }
+
+    /** The prefetched profile load, or null if there is none to claim. */
+    @Nullable
+    public synchronized LiveData<UserResponse> claimUser(String userId) {
+        Prefetch prefetch = fresh(userId);
+        if (prefetch == null) return null;
+        LiveData<UserResponse> user = prefetch.user;
+        prefetch.user = null;
+        return user;
+    }
+
+    @Nullable
+    public synchronized LiveData<List<ActivityResponse>> claimRecentActivities(String userId) {
+        Prefetch prefetch = fresh(userId);
+        if (prefetch == null) return null;
+        LiveData<List<ActivityResponse>> activities = prefetch.recentActivities;
+        prefetch.recentActivities = null;
+        return activities;
+    }
+
+    @Nullable
+    public synchronized LiveData<List<Recommendation>> claimRecommendations(String userId) {
+        Prefetch prefetch = fresh(userId);
+        if (prefetch == null) return null;
+        LiveData<List<Recommendation>> recommendations = prefetch.recommendations;
+        prefetch.recommendations = null;
+        return recommendations;
+    }
+
+    /** Drops anything unclaimed, e.g. on logout. */
+    public synchronized void clear() {
+        current = null;
+    }
+
+    @Nullable
+    private Prefetch fresh(String userId) {
+        Prefetch prefetch = current;
+        if (prefetch == null || !prefetch.userId.equals(userId)) return null;
+        if (SystemClock.elapsedRealtime() - prefetch.startedAt > MAX_AGE_MS) {
+            current = null;
+            return null;
+        }
+        return prefetch;
+    }
+}
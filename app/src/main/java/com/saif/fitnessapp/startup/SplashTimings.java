@@ -0,0 +1,67 @@
+package com.saif.fitnessapp.startup;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.util.Locale;
+
+/**
+ * Histogram of how long the splash screen stayed up, kept across launches.
+ *
+ * Each exit adds one count to a duration bucket and one to its outcome (why the
+ * splash left when it did), then logs the whole distribution under the
+ * "SplashTimings" tag:
+ *
+ *   splash 1320 ms (valid_token) | <1.5s:41 <2s:6 <3s:2 <5s:1 ≥5s:0 | valid_token:44 refreshed:5 ...
+ *
+ * Counts live in a small plain SharedPreferences file; they hold no user data.
+ */
+public final class SplashTimings {
+
+    private static final String TAG = "SplashTimings";
+    private static final String PREFS = "splash_timings";
+
+    public static final String VALID_TOKEN = "valid_token";
+    public static final String REFRESHED = "refreshed";
+    public static final String REFRESH_FAILED = "refresh_failed";
+    public static final String REFRESH_TIMEOUT = "refresh_timeout";
+    public static final String LOGIN = "login";
+
+    private static final String[] OUTCOMES = {VALID_TOKEN, REFRESHED, REFRESH_FAILED, REFRESH_TIMEOUT, LOGIN};
+
+    // Upper bounds in ms; the last bucket is open-ended
+    private static final long[] BUCKET_BOUNDS = {1000, 1500, 2000, 3000, 5000};
+    private static final String[] BUCKET_LABELS = {"<1s", "<1.5s", "<2s", "<3s", "<5s", "≥5s"};
+
+    private SplashTimings() {}
+
+    public static void record(Context context, long splashMillis, String outcome) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        String bucketKey = "bucket_" + bucketFor(splashMillis);
+        String outcomeKey = "outcome_" + outcome;
+        prefs.edit()
+                .putInt(bucketKey, prefs.getInt(bucketKey, 0) + 1)
+                .putInt(outcomeKey, prefs.getInt(outcomeKey, 0) + 1)
+                .apply();
+
+        StringBuilder line = new StringBuilder(String.format(Locale.US,
+                "splash %d ms (%s) |", splashMillis, outcome));
+        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+            int count = prefs.getInt("bucket_" + i, 0);
+            line.append(' ').append(BUCKET_LABELS[i]).append(':').append(count);
+        }
+        line.append(" |");
+        for (String o : OUTCOMES) {
+            line.append(' ').append(o).append(':').append(prefs.getInt("outcome_" + o, 0));
+        }
+        Log.i(TAG, line.toString());
+    }
+
+    private static int bucketFor(long millis) {
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            if (millis < BUCKET_BOUNDS[i]) return i;
+        }
+        return BUCKET_BOUNDS.length;
+    }
+}
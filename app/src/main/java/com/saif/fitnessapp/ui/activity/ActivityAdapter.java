@@ -15,17 +15,17 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.saif.fitnessapp.R;
 import com.saif.fitnessapp.network.dto.ActivityResponse;
+import com.saif.fitnessapp.utils.TimeFormats;
 
-import java.text.SimpleDateFormat;
-import java.util.Locale;
 import java.util.Objects;
 
 public class ActivityAdapter extends PagingDataAdapter<ActivityResponse, ActivityAdapter.ActivityViewHolder> {
 
     private OnActivityClickListener clickListener;
 
-    public ActivityAdapter() {
-        super(new DiffUtil.ItemCallback<ActivityResponse>() {
+    /** Shared with the other activity lists so they diff the same way. */
+    public static final DiffUtil.ItemCallback<ActivityResponse> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<ActivityResponse>() {
             @Override
             public boolean areItemsTheSame(
                     @NonNull ActivityResponse oldItem,
@@ -47,7 +47,10 @@ public class ActivityAdapter extends PagingDataAdapter<ActivityResponse, Activit
                         Objects.equals(oldItem.getUserId(), newItem.getUserId()) &&
                         Objects.equals(oldItem.getAdditionalMetrics(), newItem.getAdditionalMetrics());
             }
-        });
+        };
+
+    public ActivityAdapter() {
+        super(DIFF_CALLBACK);
     }
 
     /**
@@ -119,7 +122,9 @@ public class ActivityAdapter extends PagingDataAdapter<ActivityResponse, Activit
             activityType.setText(formatActivityName(activity.getActivityType()));
             duration.setText(activity.getDuration() + " min");
             calories.setText(activity.getCaloriesBurned() + " kcal");
-            startTime.setText(formatDateTime(activity.getStartTime()));
+            startTime.setText(activity.getStartTimeMillis() != TimeFormats.UNKNOWN
+                    ? TimeFormats.formatDateTime(activity.getStartTimeMillis())
+                    : activity.getStartTime());
 
             // Set click listener for the entire item
             itemView.setOnClickListener(v -> {
@@ -140,20 +145,10 @@ public class ActivityAdapter extends PagingDataAdapter<ActivityResponse, Activit
         }
     }
 
+    /** For callers that only have the ISO string (e.g. navigation arguments). */
     public static String formatDateTime(String isoTime) {
-        try {
-            SimpleDateFormat input = new SimpleDateFormat(
-                    "yyyy-MM-dd'T'HH:mm:ss.SSS",
-                    Locale.US
-            );
-            SimpleDateFormat output = new SimpleDateFormat(
-                    "dd MMM yyyy, hh:mm a",
-                    Locale.US
-            );
-            return output.format(input.parse(isoTime));
-        } catch (Exception e) {
-            return isoTime;
-        }
+        long millis = TimeFormats.parseEpochMillis(isoTime);
+        return millis != TimeFormats.UNKNOWN ? TimeFormats.formatDateTime(millis) : isoTime;
     }
 
     /**
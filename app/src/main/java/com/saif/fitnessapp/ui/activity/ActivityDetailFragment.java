@@ -32,6 +32,7 @@ import com.github.mikephil.charting.data.LineData;
 import com.github.mikephil.charting.data.LineDataSet;
 import com.google.android.material.card.MaterialCardView;
 import com.saif.fitnessapp.R;
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
 import com.saif.fitnessapp.network.dto.ActivityResponse;
 import com.saif.fitnessapp.network.dto.Recommendation;
 import com.saif.fitnessapp.ui.TitleController;
@@ -39,7 +40,7 @@ import com.saif.fitnessapp.ui.activity.utils.MetricsHelper;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 
 import dagger.hilt.android.AndroidEntryPoint;
 
@@ -76,6 +77,7 @@ public class ActivityDetailFragment extends Fragment {
     private TextView chartStatDuration;
     private TextView chartStatAvgRate;
     private TextView chartStatTotal;
+    private boolean chartStyled = false;
 
     // AI Recommendation Section
     private MaterialCardView recommendationCard;
@@ -127,9 +129,11 @@ public class ActivityDetailFragment extends Fragment {
     private String startTime;
     private ActivityResponse currentActivity;
     private Recommendation currentRecommendation;
+    private List<MetricsHelper.Metric> currentMetrics;
 
     private boolean recommendationLoaded = false;
     private boolean activityLoaded = false;
+    private boolean activityContentShown = false;
 
 
     public static ActivityDetailFragment newInstance(
@@ -210,6 +214,8 @@ public class ActivityDetailFragment extends Fragment {
         // Chart
         chartCard = view.findViewById(R.id.chart_card);
         caloriesChart = view.findViewById(R.id.calories_chart);
+        // A new view means a new, unstyled chart
+        chartStyled = false;
         chartCaloriesBadge = view.findViewById(R.id.chart_calories_badge);
         chartStatDuration = view.findViewById(R.id.chart_stat_duration);
         chartStatAvgRate = view.findViewById(R.id.chart_stat_avgrate);
@@ -358,15 +364,29 @@ public class ActivityDetailFragment extends Fragment {
         // Show Lottie loading
         showLottieLoading();
 
-        // Fetch full activity details (for metrics)
+        // Activity details (for metrics). Emits the in-memory copy from the list first,
+        // so metrics and chart show without waiting; the network copy follows.
         viewModel.getActivityDetails(activityId).observe(getViewLifecycleOwner(), activity -> {
             if (activity != null) {
+                ActivityResponse previous = currentActivity;
                 currentActivity = activity;
                 activityLoaded = true;
-//                tryShowContentAfterLottie();   // <-- IMPORTANT
+                if (!activityContentShown) {
+                    showActivityContent();
+                } else if (previous == null
+                        || !Objects.equals(previous.getAdditionalMetrics(), activity.getAdditionalMetrics())) {
+                    // Revalidated copy changed; the metric cards follow via getMetrics()
+                    displayChart(activity);
+                }
             }
         });
 
+        // Metric cards, formatted off the main thread by the ViewModel
+        viewModel.getMetrics().observe(getViewLifecycleOwner(), metrics -> {
+            currentMetrics = metrics;
+            if (activityContentShown) displayMetrics(metrics);
+        });
+
 // Fetch AI recommendation
         viewModel.getRecommendation(activityId).observe(getViewLifecycleOwner(), recommendation -> {
             if (recommendation != null) {
@@ -391,12 +411,19 @@ public class ActivityDetailFragment extends Fragment {
     private void tryShowContentAfterLottie() {
         if (activityLoaded && recommendationLoaded) {
             // Now and ONLY now show metrics & chart
-            displayMetrics(currentActivity);
+            if (currentMetrics != null) displayMetrics(currentMetrics);
             displayChart(currentActivity);
         }
     }
 
 
+    private void showActivityContent() {
+        if (getView() == null || currentActivity == null) return;
+        activityContentShown = true;
+        if (currentMetrics != null) displayMetrics(currentMetrics);
+        displayChart(currentActivity);
+    }
+
     private void showLottieLoading() {
         lottieCard.setVisibility(View.VISIBLE);
         recommendationCard.setVisibility(View.GONE);
@@ -421,32 +448,20 @@ public class ActivityDetailFragment extends Fragment {
                             .setDuration(400)
                             .start();
 
-                    // NOW trigger metrics animation AFTER lottie is gone
-                    if (activityLoaded) {
-                        displayMetrics(currentActivity);
-                        displayChart(currentActivity);
+                    if (activityLoaded && !activityContentShown) {
+                        showActivityContent();
                     }
                 })
                 .start();
     }
 
-    private void displayMetrics(ActivityResponse activity) {
+    private void displayMetrics(List<MetricsHelper.Metric> metrics) {
 
         LinearLayout metricsContainer =
                 requireView().findViewById(R.id.metrics_grid_linear);
 
         metricsGrid.removeAllViews();
 
-        if (activity.getAdditionalMetrics() == null ||
-                activity.getAdditionalMetrics().isEmpty()) {
-
-            metricsContainer.setVisibility(View.GONE);
-            return;
-        }
-
-        Map<String, MetricsHelper.Metric> metrics =
-                MetricsHelper.parseMetrics(activity.getAdditionalMetrics());
-
         if (metrics.isEmpty()) {
             metricsContainer.setVisibility(View.GONE);
             return;
@@ -455,7 +470,7 @@ public class ActivityDetailFragment extends Fragment {
         metricsContainer.setVisibility(View.VISIBLE);
 
         // Now add cards
-        for (MetricsHelper.Metric metric : metrics.values()) {
+        for (MetricsHelper.Metric metric : metrics) {
             View metricCard = createMetricCard(metric);
             metricsGrid.addView(metricCard);
 
@@ -549,25 +564,38 @@ public class ActivityDetailFragment extends Fragment {
             chartStatAvgRate.setText(String.format(java.util.Locale.US, "%.1f", avg));
         }
 
-        // ── Build data ────────────────────────────────────────────────
-        List<Entry> entries = generateCalorieCurve(dur, cal);
+        if (!chartStyled) {
+            styleCalorieChart();
+            chartStyled = true;
+        }
 
-        LineDataSet dataSet = new LineDataSet(entries, "");
-        dataSet.setColor(Color.parseColor("#64B5F6"));
-        dataSet.setLineWidth(2.5f);
-        dataSet.setDrawCircles(false);
-        dataSet.setDrawValues(false);
-        dataSet.setMode(LineDataSet.Mode.CUBIC_BEZIER);
-        dataSet.setDrawFilled(true);
-        dataSet.setFillColor(Color.parseColor("#1E88E5"));
-        dataSet.setFillAlpha(55);
-        dataSet.setHighlightEnabled(true);
-        dataSet.setHighLightColor(Color.parseColor("#FFB74D"));
-        dataSet.setHighlightLineWidth(1.5f);
+        // Avg calorie/min limit line
+        caloriesChart.getAxisLeft().removeAllLimitLines();
+        float avgCalPerMin = (float) cal / dur;
+        LimitLine avgLine = new LimitLine(avgCalPerMin * (dur / 2f), "Avg");
+        avgLine.setLineWidth(1f);
+        avgLine.setLineColor(Color.parseColor("#80FFB74D"));
+        avgLine.enableDashedLine(10f, 6f, 0f);
+        avgLine.setLabelPosition(LimitLine.LimitLabelPosition.RIGHT_TOP);
+        avgLine.setTextColor(Color.parseColor("#FFB74D"));
+        avgLine.setTextSize(9f);
+        caloriesChart.getAxisLeft().addLimitLine(avgLine);
+
+        renderCalorieChart(generateCalorieCurve(dur, cal));
 
-        LineData lineData = new LineData(dataSet);
-        caloriesChart.setData(lineData);
+        // Fade-in the card
+        chartCard.setAlpha(0f);
+        chartCard.animate()
+                .alpha(1f)
+                .setDuration(450)
+                .setStartDelay(350)
+                .start();
+    }
 
+    /**
+     * Axis, touch and legend styling. Done once per view; redraws only swap values.
+     */
+    private void styleCalorieChart() {
         // ── Dark-mode chart styling ───────────────────────────────────
         // Background transparent (card is dark)
         caloriesChart.setBackgroundColor(Color.TRANSPARENT);
@@ -613,30 +641,25 @@ public class ActivityDetailFragment extends Fragment {
 
         // Right Y axis off
         caloriesChart.getAxisRight().setEnabled(false);
+    }
 
-        // Avg calorie/min limit line
-        caloriesChart.getAxisLeft().removeAllLimitLines();
-        float avgCalPerMin = (float) cal / dur;
-        LimitLine avgLine = new LimitLine(avgCalPerMin * (dur / 2f), "Avg");
-        avgLine.setLineWidth(1f);
-        avgLine.setLineColor(Color.parseColor("#80FFB74D"));
-        avgLine.enableDashedLine(10f, 6f, 0f);
-        avgLine.setLabelPosition(LimitLine.LimitLabelPosition.RIGHT_TOP);
-        avgLine.setTextColor(Color.parseColor("#FFB74D"));
-        avgLine.setTextSize(9f);
-        caloriesChart.getAxisLeft().addLimitLine(avgLine);
+    /**
+     * Swaps the curve into the existing data set when there is one, so a revalidated
+     * activity redraws without rebuilding the chart's data objects.
+     */
+    private void renderCalorieChart(List<Entry> entries) {
+        LineData lineData = caloriesChart.getData();
+        if (lineData != null && lineData.getDataSetCount() > 0) {
+            ((LineDataSet) lineData.getDataSetByIndex(0)).setValues(entries);
+            lineData.notifyDataChanged();
+            caloriesChart.notifyDataSetChanged();
+        } else {
+            caloriesChart.setData(new LineData(createCalorieDataSet(entries)));
+        }
 
         // ── Animate ───────────────────────────────────────────────────
         caloriesChart.animateY(900, com.github.mikephil.charting.animation.Easing.EaseInOutQuart);
         caloriesChart.invalidate();
-
-        // Fade-in the card
-        chartCard.setAlpha(0f);
-        chartCard.animate()
-                .alpha(1f)
-                .setDuration(450)
-                .setStartDelay(350)
-                .start();
     }
 
     /**
@@ -662,6 +685,22 @@ public class ActivityDetailFragment extends Fragment {
         return entries;
     }
 
+    private LineDataSet createCalorieDataSet(List<Entry> entries) {
+        LineDataSet dataSet = new LineDataSet(entries, "");
+        dataSet.setColor(Color.parseColor("#64B5F6"));
+        dataSet.setLineWidth(2.5f);
+        dataSet.setDrawCircles(false);
+        dataSet.setDrawValues(false);
+        dataSet.setMode(LineDataSet.Mode.CUBIC_BEZIER);
+        dataSet.setDrawFilled(true);
+        dataSet.setFillColor(Color.parseColor("#1E88E5"));
+        dataSet.setFillAlpha(55);
+        dataSet.setHighlightEnabled(true);
+        dataSet.setHighLightColor(Color.parseColor("#FFB74D"));
+        dataSet.setHighlightLineWidth(1.5f);
+        return dataSet;
+    }
+
     private void displayRecommendation(Recommendation rec) {
         // Display the main AI recommendation text (normalize spacing)
         if (rec.getRecommendation() != null && !rec.getRecommendation().isEmpty()) {
@@ -916,15 +955,25 @@ public class ActivityDetailFragment extends Fragment {
 
             shareText.append("\n📊 Metrics:\n");
 
-            for (Map.Entry<String, Object> entry :
-                    currentActivity.getAdditionalMetrics().entrySet()) {
+            currentActivity.getAdditionalMetrics().forEach(new ActivityMetrics.Visitor() {
+                @Override
+                public void onNumber(ActivityMetrics.Key key, double value) {
+                    shareText.append("• ")
+                            .append(key.jsonName)
+                            .append(": ")
+                            .append(key.integral ? String.valueOf(Math.round(value)) : String.valueOf(value))
+                            .append("\n");
+                }
 
-                shareText.append("• ")
-                        .append(entry.getKey())
-                        .append(": ")
-                        .append(entry.getValue())
-                        .append("\n");
-            }
+                @Override
+                public void onText(String name, String value) {
+                    shareText.append("• ")
+                            .append(name)
+                            .append(": ")
+                            .append(value)
+                            .append("\n");
+                }
+            });
         }
 
 
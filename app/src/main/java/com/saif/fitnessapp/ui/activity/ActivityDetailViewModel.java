@@ -4,14 +4,23 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
 import com.saif.fitnessapp.network.dto.ActivityResponse;
 import com.saif.fitnessapp.network.dto.Recommendation;
 import com.saif.fitnessapp.repository.ActivityRepository;
 import com.saif.fitnessapp.repository.RecommendationRepository;
+import com.saif.fitnessapp.ui.activity.utils.MetricsHelper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 
 import javax.inject.Inject;
 
 import dagger.hilt.android.lifecycle.HiltViewModel;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.SerialDisposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 @HiltViewModel
 public class ActivityDetailViewModel extends ViewModel {
@@ -23,6 +32,13 @@ public class ActivityDetailViewModel extends ViewModel {
     private final MutableLiveData<ActivityResponse> activityLiveData = new MutableLiveData<>();
     private final MutableLiveData<String> errorLiveData = new MutableLiveData<>();
     private final MutableLiveData<Boolean> loadingLiveData = new MutableLiveData<>();
+    private final MutableLiveData<List<MetricsHelper.Metric>> metricsLiveData = new MutableLiveData<>();
+
+    // Metrics the latest metricsLiveData value is built from; guarded by this
+    private boolean metricsRequested;
+    private ActivityMetrics metricsSource;
+    private final SerialDisposable metricsWork = new SerialDisposable();
+
 
     @Inject
     public ActivityDetailViewModel(
@@ -34,17 +50,30 @@ public class ActivityDetailViewModel extends ViewModel {
     }
 
     /**
-     * Fetch full activity details including additionalMetrics
+     * Fetch full activity details including additionalMetrics.
+     * If a list already loaded this activity, that copy is emitted synchronously so the
+     * screen can render straight away; the network fetch then revalidates it.
      */
     public LiveData<ActivityResponse> getActivityDetails(String activityId) {
+        if (activityLiveData.getValue() == null) {
+            ActivityResponse cached = activityRepository.getCachedActivity(activityId);
+            if (cached != null) {
+                activityLiveData.setValue(cached);
+                buildMetrics(cached);
+            }
+        }
+
         activityRepository.getActivityById(activityId, new ActivityRepository.ActivityCallback() {
             @Override
             public void onSuccess(ActivityResponse activity) {
                 activityLiveData.postValue(activity);
+                buildMetrics(activity);
             }
 
             @Override
             public void onError(String error) {
+                // Already showing the cached copy — a failed revalidation isn't worth an error screen
+                if (activityLiveData.getValue() != null) return;
                 errorLiveData.postValue("Failed to load activity: " + error);
             }
         });
@@ -78,6 +107,30 @@ public class ActivityDetailViewModel extends ViewModel {
         return recommendationLiveData;
     }
 
+    /**
+     * Display rows for the activity's additionalMetrics, in the order the screen shows them.
+     * Built off the main thread; an empty list means there is nothing to show.
+     */
+    public LiveData<List<MetricsHelper.Metric>> getMetrics() {
+        return metricsLiveData;
+    }
+
+    /**
+     * Formats metrics on the computation scheduler. Skipped when a revalidated copy
+     * carries the same metrics, so the cards aren't rebuilt for nothing.
+     */
+    private void buildMetrics(ActivityResponse activity) {
+        ActivityMetrics source = activity.getAdditionalMetrics();
+        synchronized (this) {
+            if (metricsRequested && Objects.equals(metricsSource, source)) return;
+            metricsRequested = true;
+            metricsSource = source;
+        }
+        metricsWork.set(Single.fromCallable(() -> MetricsHelper.parseMetrics(source))
+                .subscribeOn(Schedulers.computation())
+                .subscribe(metricsLiveData::postValue, error -> metricsLiveData.postValue(Collections.emptyList())));
+    }
+
     public LiveData<String> getError() {
         return errorLiveData;
     }
@@ -85,4 +138,9 @@ public class ActivityDetailViewModel extends ViewModel {
     public LiveData<Boolean> getLoading() {
         return loadingLiveData;
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void onCleared() {
+        metricsWork.dispose();
+    }
+}
@@ -14,19 +14,20 @@ import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.facebook.shimmer.ShimmerFrameLayout;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import com.saif.fitnessapp.R;
+import com.saif.fitnessapp.activity.ActivityCache;
 import com.saif.fitnessapp.activity.ActivityViewModel;
+import com.saif.fitnessapp.activity.AdaptivePagingController;
 import com.saif.fitnessapp.auth.TokenManager;
 import com.saif.fitnessapp.network.dto.ActivityResponse;
 import com.saif.fitnessapp.ui.TitleController;
+import com.saif.fitnessapp.utils.TimeFormats;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Locale;
 
 import androidx.paging.CombinedLoadStates;
 
@@ -43,6 +44,12 @@ public class ActivityFragment extends Fragment {
     @Inject
     TokenManager tokenManager;
 
+    @Inject
+    ActivityCache activityCache;
+
+    @Inject
+    AdaptivePagingController pagingController;
+
     private ActivityViewModel activityViewModel;
     private RecyclerView recyclerView;
     private FloatingActionButton fabRefresh;
@@ -58,9 +65,7 @@ public class ActivityFragment extends Fragment {
     private RecyclerView searchResultsRecycler;
     private LinearLayout searchEmptyState;
     private SearchResultAdapter searchResultAdapter;
-
-    // Full list loaded for search filtering
-    private List<ActivityResponse> allActivities = new ArrayList<>();
+    private ActivitySearchViewModel searchViewModel;
 
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container,
@@ -81,6 +86,7 @@ public class ActivityFragment extends Fragment {
         searchEmptyState    = view.findViewById(R.id.search_empty_state);
 
         activityViewModel = new ViewModelProvider(this).get(ActivityViewModel.class);
+        searchViewModel   = new ViewModelProvider(this).get(ActivitySearchViewModel.class);
 
         setupBrowseRecyclerView();
         setupSearchRecyclerView();
@@ -93,14 +99,12 @@ public class ActivityFragment extends Fragment {
                     .observe(getViewLifecycleOwner(), pagingData ->
                             adapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData));
 
-            // Pre-fetch full list for instant search
+            // Full local history for search — grows as the background sync stores pages
             activityViewModel.getAllActivitiesForSearch(userId)
-                    .observe(getViewLifecycleOwner(), activities -> {
-                        if (activities != null) {
-                            allActivities = activities;
-                        }
-                    });
+                    .observe(getViewLifecycleOwner(), searchViewModel::setActivities);
         }
+
+        searchViewModel.getResults().observe(getViewLifecycleOwner(), this::showSearchResults);
     }
 
     // ─────────────────────────────────────────────────────────────────────────
@@ -111,6 +115,8 @@ public class ActivityFragment extends Fragment {
         adapter = new ActivityAdapter();
         recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
         recyclerView.setAdapter(adapter);
+        // Scroll speed sizes the pages fetched behind the list
+        recyclerView.addOnScrollListener(new ScrollVelocityTracker(pagingController));
 
         adapter.setOnActivityClickListener(this::navigateToActivityDetail);
 
@@ -150,65 +156,39 @@ public class ActivityFragment extends Fragment {
         searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
             @Override
             public boolean onQueryTextSubmit(String query) {
-                performSearch(query);
+                searchViewModel.search(query);
                 return true;
             }
 
             @Override
             public boolean onQueryTextChange(String newText) {
-                if (TextUtils.isEmpty(newText)) {
-                    showBrowseMode();
-                } else {
-                    performSearch(newText);
-                }
+                // Leaving search is instant; results for typed text arrive debounced
+                if (TextUtils.isEmpty(newText.trim())) showBrowseMode();
+                searchViewModel.search(newText);
                 return true;
             }
         });
     }
 
-    private void performSearch(String rawQuery) {
-        String q = rawQuery.toLowerCase(Locale.ROOT).trim();
-        if (TextUtils.isEmpty(q)) {
-            showBrowseMode();
+    private void showSearchResults(ActivitySearchViewModel.SearchResult result) {
+        // Drop results for text that is no longer in the box (e.g. the user cleared it)
+        if (searchView == null || result == null
+                || !result.query.equals(searchView.getQuery().toString())
+                || TextUtils.isEmpty(result.query.trim())) {
             return;
         }
 
-        List<ActivityResponse> results = new ArrayList<>();
-        for (ActivityResponse a : allActivities) {
-            if (matchesQuery(a, q)) {
-                results.add(a);
-            }
-        }
-
         showSearchMode();
         if (searchResultsRecycler == null || searchEmptyState == null) return;
-        if (results.isEmpty()) {
+        if (result.activities.isEmpty()) {
             searchResultsRecycler.setVisibility(View.GONE);
             searchEmptyState.setVisibility(View.VISIBLE);
         } else {
             searchEmptyState.setVisibility(View.GONE);
             searchResultsRecycler.setVisibility(View.VISIBLE);
-            if (searchResultAdapter != null) searchResultAdapter.setItems(results);
-        }
-    }
-
-    /**
-     * Multi-field matching: type, duration, calories, date, distance, notes.
-     */
-    private boolean matchesQuery(ActivityResponse a, String q) {
-        if (a.getActivityType() != null &&
-                a.getActivityType().toLowerCase(Locale.ROOT).replace("_", " ").contains(q)) return true;
-        if (a.getDuration() != null && a.getDuration().toString().contains(q)) return true;
-        if (a.getCaloriesBurned() != null && a.getCaloriesBurned().toString().contains(q)) return true;
-        if (a.getStartTime() != null && a.getStartTime().toLowerCase(Locale.ROOT).contains(q)) return true;
-        if (a.getId() != null && a.getId().toLowerCase(Locale.ROOT).contains(q)) return true;
-        // Additional metrics map — search values
-        if (a.getAdditionalMetrics() != null) {
-            for (Object val : a.getAdditionalMetrics().values()) {
-                if (val != null && val.toString().toLowerCase(Locale.ROOT).contains(q)) return true;
-            }
         }
-        return false;
+        // ListAdapter diffs on a background thread and applies the changes when ready
+        if (searchResultAdapter != null) searchResultAdapter.submitList(result.activities);
     }
 
     private void showBrowseMode() {
@@ -230,6 +210,9 @@ public class ActivityFragment extends Fragment {
     // ─────────────────────────────────────────────────────────────────────────
 
     private void navigateToActivityDetail(ActivityResponse activity) {
+        // Browse rows come from Room, so make sure the detail screen can find this one in memory
+        activityCache.put(activity);
+
         Bundle bundle = new Bundle();
         bundle.putString("activity_id",   activity.getId());
         bundle.putString("activity_type", activity.getActivityType());
@@ -242,16 +225,13 @@ public class ActivityFragment extends Fragment {
     }
 
     // ─────────────────────────────────────────────────────────────────────────
-    // Search result adapter (plain ListAdapter, reuses item_activity layout)
+    // Search result adapter (ListAdapter, reuses item_activity layout)
     // ─────────────────────────────────────────────────────────────────────────
 
-    private class SearchResultAdapter extends RecyclerView.Adapter<SearchResultAdapter.VH> {
-
-        private List<ActivityResponse> items = new ArrayList<>();
+    private class SearchResultAdapter extends ListAdapter<ActivityResponse, SearchResultAdapter.VH> {
 
-        void setItems(List<ActivityResponse> newItems) {
-            items = newItems;
-            notifyDataSetChanged();
+        SearchResultAdapter() {
+            super(ActivityAdapter.DIFF_CALLBACK);
         }
 
         @NonNull
@@ -264,7 +244,7 @@ public class ActivityFragment extends Fragment {
 
         @Override
         public void onBindViewHolder(@NonNull VH holder, int position) {
-            ActivityResponse a = items.get(position);
+            ActivityResponse a = getItem(position);
 
             holder.emoji.setText(ActivityAdapter.getActivityEmoji(a.getActivityType()));
             holder.type .setText(ActivityAdapter.formatActivityName(a.getActivityType()));
@@ -284,20 +264,11 @@ public class ActivityFragment extends Fragment {
             }
 
             // Date
-            if (a.getStartTime() != null && a.getStartTime().length() >= 10) {
-                holder.date.setText(a.getStartTime().substring(0, 10));
-            } else {
-                holder.date.setText("");
-            }
+            holder.date.setText(TimeFormats.formatDate(a.getStartTimeMillis()));
 
             holder.itemView.setOnClickListener(v -> navigateToActivityDetail(a));
         }
 
-        @Override
-        public int getItemCount() {
-            return items.size();
-        }
-
         class VH extends RecyclerView.ViewHolder {
             final TextView emoji, type, duration, calories, date;
             VH(@NonNull View itemView) {
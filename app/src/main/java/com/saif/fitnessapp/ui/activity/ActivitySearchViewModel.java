@@ -0,0 +1,115 @@
+package com.saif.fitnessapp.ui.activity;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.ViewModel;
+
+import com.saif.fitnessapp.BuildConfig;
+import com.saif.fitnessapp.activity.ActivitySearchIndex;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import dagger.hilt.android.lifecycle.HiltViewModel;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+
+/**
+ * Search pipeline for the Activities tab.
+ *
+ * The activity set is indexed on the computation scheduler whenever it changes.
+ * Keystrokes are debounced, and each query runs with switch-map semantics: a new
+ * query (or a new index) cancels the one in flight, so results never arrive out
+ * of order and the main thread only ever receives finished lists.
+ */
+@HiltViewModel
+public class ActivitySearchViewModel extends ViewModel {
+
+    private static final String TAG = "ActivitySearch";
+    private static final long DEBOUNCE_MS = 150;
+    // The corpus re-emits after every synced page; rebuild at most this often
+    private static final long REINDEX_THROTTLE_MS = 1000;
+
+    /** Results for one query — the fragment drops any that don't match what's typed now. */
+    public static class SearchResult {
+        public final String query;
+        public final List<ActivityResponse> activities;
+
+        SearchResult(String query, List<ActivityResponse> activities) {
+            this.query = query;
+            this.activities = activities;
+        }
+    }
+
+    private final PublishSubject<List<ActivityResponse>> corpus = PublishSubject.create();
+    private final PublishSubject<String> queries = PublishSubject.create();
+    private final BehaviorSubject<ActivitySearchIndex> index =
+            BehaviorSubject.createDefault(ActivitySearchIndex.EMPTY);
+    private final MutableLiveData<SearchResult> results = new MutableLiveData<>();
+    private final CompositeDisposable disposables = new CompositeDisposable();
+
+    @Inject
+    public ActivitySearchViewModel() {
+        disposables.add(corpus
+                .throttleLatest(REINDEX_THROTTLE_MS, TimeUnit.MILLISECONDS, Schedulers.computation(), true)
+                .switchMap(list -> Observable.fromCallable(() -> ActivitySearchIndex.build(list))
+                        .subscribeOn(Schedulers.computation()))
+                .subscribe(index::onNext, e -> Log.e(TAG, "Index build failed", e)));
+
+        disposables.add(Observable.combineLatest(
+                        queries.debounce(DEBOUNCE_MS, TimeUnit.MILLISECONDS, Schedulers.computation()),
+                        index,
+                        QueryAndIndex::new)
+                .switchMap(qi -> Observable.fromCallable(qi::run)
+                        .subscribeOn(Schedulers.computation()))
+                .subscribe(results::postValue, e -> Log.e(TAG, "Search failed", e)));
+    }
+
+    /** Replaces the searchable activity set; the index is rebuilt in the background. */
+    public void setActivities(List<ActivityResponse> activities) {
+        if (activities != null) corpus.onNext(activities);
+    }
+
+    public void search(String query) {
+        queries.onNext(query != null ? query : "");
+    }
+
+    public LiveData<SearchResult> getResults() {
+        return results;
+    }
+
+    @Override
+    protected void onCleared() {
+        disposables.dispose();
+        super.onCleared();
+    }
+
+    private static final class QueryAndIndex {
+        final String query;
+        final ActivitySearchIndex index;
+
+        QueryAndIndex(String query, ActivitySearchIndex index) {
+            this.query = query;
+            this.index = index;
+        }
+
+        SearchResult run() {
+            if (!BuildConfig.DEBUG) return new SearchResult(query, index.search(query));
+
+            long start = SystemClock.elapsedRealtimeNanos();
+            List<ActivityResponse> hits = index.search(query);
+            Log.d(TAG, "\"" + query + "\" -> " + hits.size() + "/" + index.size() + " in "
+                    + (SystemClock.elapsedRealtimeNanos() - start) / 1000 + " µs");
+            return new SearchResult(query, hits);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.saif.fitnessapp.ui.activity;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.saif.fitnessapp.activity.AdaptivePagingController;
+
+/**
+ * Feeds the history list's downward scroll speed, in rows per second, to
+ * {@link AdaptivePagingController}. Upward scrolling is ignored: it never needs a
+ * new page.
+ */
+class ScrollVelocityTracker extends RecyclerView.OnScrollListener {
+
+    // Report at most this often, so one sample spans a few frames of a fling
+    private static final long WINDOW_MS = 250;
+    // A longer gap between scroll events is a pause; start a new window
+    private static final long IDLE_MS = 1000;
+
+    private final AdaptivePagingController pagingController;
+
+    private int windowStartPosition = RecyclerView.NO_POSITION;
+    private long windowStartTime;
+
+    ScrollVelocityTracker(AdaptivePagingController pagingController) {
+        this.pagingController = pagingController;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy <= 0 || !(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) return;
+
+        int position = ((LinearLayoutManager) recyclerView.getLayoutManager()).findLastVisibleItemPosition();
+        long now = SystemClock.uptimeMillis();
+        long elapsed = now - windowStartTime;
+
+        if (windowStartPosition == RecyclerView.NO_POSITION || elapsed > IDLE_MS) {
+            windowStartPosition = position;
+            windowStartTime = now;
+        } else if (elapsed >= WINDOW_MS) {
+            pagingController.recordScroll((position - windowStartPosition) * 1000.0 / elapsed);
+            windowStartPosition = position;
+            windowStartTime = now;
+        }
+    }
+}
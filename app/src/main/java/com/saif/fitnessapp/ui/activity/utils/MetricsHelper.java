@@ -1,13 +1,28 @@
 package com.saif.fitnessapp.ui.activity.utils;
 
-import android.util.Log;
+import androidx.annotation.WorkerThread;
 
-import java.util.HashMap;
-import java.util.Map;
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+import com.saif.fitnessapp.network.dto.ActivityMetrics.Key;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
 /**
  * Helper class for parsing and formatting additional metrics
  * SAFE: Will never crash even if backend sends unexpected data
+ *
+ * Labels, units, emoji and colours live in a static table indexed by
+ * {@link Key#ordinal()}, so {@link #parseMetrics} makes one pass over the metrics
+ * that are actually present instead of probing every known key. Registry order
+ * is the display order, so the detail screen lays out the same way every time.
  */
 public class MetricsHelper {
 
@@ -23,10 +38,10 @@ public class MetricsHelper {
 
 
     public static class Metric {
-        public String label;
-        public String value;
-        public String emoji;
-        public String colorHex;   // <-- NEW
+        public final String label;
+        public final String value;
+        public final String emoji;
+        public final String colorHex;
 
         public Metric(String label, String value, String emoji, String colorHex) {
             this.label = label;
@@ -34,145 +49,153 @@ public class MetricsHelper {
             this.emoji = emoji;
             this.colorHex = colorHex;
         }
-    }
-
 
-    public static Map<String, Metric> parseMetrics(Map<String, Object> additionalMetrics) {
-        Map<String, Metric> metrics = new HashMap<>();
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Metric)) return false;
+            Metric m = (Metric) o;
+            return label.equals(m.label) && value.equals(m.value)
+                    && emoji.equals(m.emoji) && colorHex.equals(m.colorHex);
+        }
 
-        if (additionalMetrics == null || additionalMetrics.isEmpty()) {
-            return metrics;
+        @Override
+        public int hashCode() {
+            return Objects.hash(label, value, emoji, colorHex);
         }
+    }
 
-        // -------- COMMON --------
-        addIfExists(metrics, additionalMetrics, "avgHeartRate",
-                "Average Heart Rate", " bpm", "❤️", DANGER);
+    /** How one registry key is shown. Keys without one (e.g. intensityLevel) aren't displayed. */
+    private static final class Descriptor {
+        final String label;
+        final String unit;
+        final String emoji;
+        final String colorHex;
 
-        addIfExists(metrics, additionalMetrics, "intensityScore",
-                "Workout Intensity", "/10", "🔥", ENERGY);
+        Descriptor(String label, String unit, String emoji, String colorHex) {
+            this.label = label;
+            this.unit = unit;
+            this.emoji = emoji;
+            this.colorHex = colorHex;
+        }
+    }
 
-        addIfExists(metrics, additionalMetrics, "confidenceScore",
-                "Session Quality", "%", "⭐", PRIMARY);
+    private static final Descriptor[] DESCRIPTORS = new Descriptor[Key.ALL.length];
+    private static final Descriptor TRAINING_ZONE =
+            new Descriptor("Training Zone", "", "🎯", INFO);
 
-        addIfExists(metrics, additionalMetrics, "trainingZone",
-                "Training Zone", "", "🎯", INFO);
+    static {
+        // -------- COMMON --------
+        describe(Key.AVG_HEART_RATE, "Average Heart Rate", " bpm", "❤️", DANGER);
+        describe(Key.INTENSITY_SCORE, "Workout Intensity", "/10", "🔥", ENERGY);
+        describe(Key.CONFIDENCE_SCORE, "Session Quality", "%", "⭐", PRIMARY);
 
         // -------- RUNNING / WALKING --------
-        addIfExists(metrics, additionalMetrics, "distanceKm",
-                "Total Distance", " km", "📏", INFO);
-
-        addIfExists(metrics, additionalMetrics, "estimatedSteps",
-                "Total Steps", "", "👟", SUCCESS);
-
-        addIfExists(metrics, additionalMetrics, "avgSpeedKmh",
-                "Average Speed", " km/h", "⚡", ENERGY);
-
-        addIfExists(metrics, additionalMetrics, "cadenceSpm",
-                "Cadence", " spm", "🎵", PRIMARY);
-
-        addIfExists(metrics, additionalMetrics, "paceMinPerKm",
-                "Pace", " min/km", "⏱️", WARNING);
+        describe(Key.DISTANCE_KM, "Total Distance", " km", "📏", INFO);
+        describe(Key.ESTIMATED_STEPS, "Total Steps", "", "👟", SUCCESS);
+        describe(Key.AVG_SPEED_KMH, "Average Speed", " km/h", "⚡", ENERGY);
+        describe(Key.CADENCE_SPM, "Cadence", " spm", "🎵", PRIMARY);
+        describe(Key.PACE_MIN_PER_KM, "Pace", " min/km", "⏱️", WARNING);
 
         // -------- CYCLING --------
-        addIfExists(metrics, additionalMetrics, "estimatedPowerWatts",
-                "Average Power", " W", "⚡", DANGER);
-
-        addIfExists(metrics, additionalMetrics, "cadenceRpm",
-                "Pedal Cadence", " rpm", "🚴", PRIMARY);
+        describe(Key.ESTIMATED_POWER_WATTS, "Average Power", " W", "⚡", DANGER);
+        describe(Key.CADENCE_RPM, "Pedal Cadence", " rpm", "🚴", PRIMARY);
 
         // -------- SWIMMING --------
-        addIfExists(metrics, additionalMetrics, "laps",
-                "Total Laps", "", "🏊", INFO);
-
-        addIfExists(metrics, additionalMetrics, "distanceMeters",
-                "Swim Distance", " m", "📏", INFO);
-
-        addIfExists(metrics, additionalMetrics, "avgStrokeRate",
-                "Stroke Rate", " spm", "🌊", PRIMARY);
-
-        addIfExists(metrics, additionalMetrics, "efficiencyScore",
-                "Swim Efficiency", "%", "🏅", SUCCESS);
+        describe(Key.LAPS, "Total Laps", "", "🏊", INFO);
+        describe(Key.DISTANCE_METERS, "Swim Distance", " m", "📏", INFO);
+        describe(Key.AVG_STROKE_RATE, "Stroke Rate", " spm", "🌊", PRIMARY);
+        describe(Key.EFFICIENCY_SCORE, "Swim Efficiency", "%", "🏅", SUCCESS);
 
         // -------- WEIGHT LIFTING --------
-        addIfExists(metrics, additionalMetrics, "sets",
-                "Total Sets", "", "🏋️", PRIMARY);
-
-        addIfExists(metrics, additionalMetrics, "repsPerSet",
-                "Reps per Set", "", "🔁", INFO);
-
-        addIfExists(metrics, additionalMetrics, "estimatedLoadKg",
-                "Average Load", " kg", "🏋️", DANGER);
-
-        addIfExists(metrics, additionalMetrics, "totalVolumeKg",
-                "Total Volume", " kg", "📦", WARNING);
+        describe(Key.SETS, "Total Sets", "", "🏋️", PRIMARY);
+        describe(Key.REPS_PER_SET, "Reps per Set", "", "🔁", INFO);
+        describe(Key.ESTIMATED_LOAD_KG, "Average Load", " kg", "🏋️", DANGER);
+        describe(Key.TOTAL_VOLUME_KG, "Total Volume", " kg", "📦", WARNING);
 
         // -------- BOXING --------
-        addIfExists(metrics, additionalMetrics, "punchesThrown",
-                "Total Punches", "", "🥊", ENERGY);
-
-        addIfExists(metrics, additionalMetrics, "rounds",
-                "Rounds", "", "🥊", PRIMARY);
-
-        addIfExists(metrics, additionalMetrics, "avgIntensity",
-                "Fight Intensity", "/10", "🔥", DANGER);
-
-        addIfExists(metrics, additionalMetrics, "reactionScore",
-                "Reaction Score", "%", "⚡", INFO);
+        describe(Key.PUNCHES_THROWN, "Total Punches", "", "🥊", ENERGY);
+        describe(Key.ROUNDS, "Rounds", "", "🥊", PRIMARY);
+        describe(Key.AVG_INTENSITY, "Fight Intensity", "/10", "🔥", DANGER);
+        describe(Key.REACTION_SCORE, "Reaction Score", "%", "⚡", INFO);
 
         // -------- YOGA / STRETCHING --------
-        addIfExists(metrics, additionalMetrics, "flexibilityScore",
-                "Flexibility", "%", "🧘", CALM);
+        describe(Key.FLEXIBILITY_SCORE, "Flexibility", "%", "🧘", CALM);
+        describe(Key.BREATHING_SCORE, "Breathing Control", "%", "🌬️", INFO);
+        describe(Key.MINDFULNESS_SCORE, "Mindfulness", "%", "🧠", PRIMARY);
+        describe(Key.CALMNESS_LEVEL, "Calmness Level", "/10", "🕊️", CALM);
+    }
 
-        addIfExists(metrics, additionalMetrics, "breathingScore",
-                "Breathing Control", "%", "🌬️", INFO);
+    private static void describe(Key key, String label, String unit, String emoji, String colorHex) {
+        DESCRIPTORS[key.ordinal()] = new Descriptor(label, unit, emoji, colorHex);
+    }
 
-        addIfExists(metrics, additionalMetrics, "mindfulnessScore",
-                "Mindfulness", "%", "🧠", PRIMARY);
+    /**
+     * Display rows for the metrics present in {@code additionalMetrics}: registry
+     * order, with the training zone right after the common metrics. Pure CPU work;
+     * the detail screen runs it on a background scheduler.
+     */
+    @WorkerThread
+    public static List<Metric> parseMetrics(ActivityMetrics additionalMetrics) {
+        if (additionalMetrics == null || additionalMetrics.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-        addIfExists(metrics, additionalMetrics, "calmnessLevel",
-                "Calmness Level", "/10", "🕊️", CALM);
+        List<Metric> metrics = new ArrayList<>(additionalMetrics.numericCount() + 1);
+        int[] commonCount = {0};
+        additionalMetrics.forEach(new ActivityMetrics.Visitor() {
+            @Override
+            public void onNumber(Key key, double value) {
+                Descriptor d = DESCRIPTORS[key.ordinal()];
+                if (d == null) return;
+                metrics.add(new Metric(d.label, formatNumber(value, key.integral) + d.unit,
+                        d.emoji, d.colorHex));
+                if (key.ordinal() <= Key.CONFIDENCE_SCORE.ordinal()) commonCount[0]++;
+            }
+
+            @Override
+            public void onText(String name, String value) {
+                // Unknown extras aren't displayed; trainingZone is placed below
+            }
+        });
 
+        String zone = additionalMetrics.getTrainingZone();
+        if (zone != null) {
+            metrics.add(commonCount[0], new Metric(TRAINING_ZONE.label, zone,
+                    TRAINING_ZONE.emoji, TRAINING_ZONE.colorHex));
+        }
         return metrics;
     }
 
+    // ----- NUMBER FORMATTING -----
 
+    /** DecimalFormat isn't thread-safe, so each thread keeps one for the current locale. */
+    private static final class LocalFormat {
+        final Locale locale;
+        final DecimalFormat format;
 
-    /**
-     * Safe helper method — will not crash if data type is weird
-     */
-    private static void addIfExists(
-            Map<String, Metric> metrics,
-            Map<String, Object> data,
-            String key,
-            String label,
-            String unit,
-            String emoji,
-            String colorHex
-    ) {
-        if (!data.containsKey(key) || data.get(key) == null) return;
-
-        Object value = data.get(key);
-        String formatted = formatNumber(value) + unit;
-        metrics.put(key, new Metric(label, formatted, emoji, colorHex));
+        LocalFormat(Locale locale) {
+            this.locale = locale;
+            // Matches String.format("%.1f") in that locale
+            this.format = new DecimalFormat("0.0", DecimalFormatSymbols.getInstance(locale));
+            this.format.setRoundingMode(RoundingMode.HALF_UP);
+        }
     }
 
+    private static final ThreadLocal<LocalFormat> ONE_DECIMAL = new ThreadLocal<>();
 
-    private static String formatNumber(Object value) {
-        if (value == null) return "0";
-
-        try {
-            if (value instanceof Integer) {
-                return String.valueOf(value);
-            } else if (value instanceof Double) {
-                return String.format("%.1f", (Double) value);
-            } else if (value instanceof Float) {
-                return String.format("%.1f", (Float) value);
-            } else {
-                double parsed = Double.parseDouble(value.toString());
-                return String.format("%.1f", parsed);
-            }
-        } catch (Exception e) {
-            return value.toString();
+    private static String formatNumber(double value, boolean integral) {
+        if (integral) {
+            return Long.toString(Math.round(value));
+        }
+        Locale locale = Locale.getDefault();
+        LocalFormat local = ONE_DECIMAL.get();
+        if (local == null || !local.locale.equals(locale)) {
+            local = new LocalFormat(locale);
+            ONE_DECIMAL.set(local);
         }
+        // BigDecimal.valueOf rounds from the shortest decimal form (5.55, not
+        // 5.5499…), which is what String.format did
+        return local.format.format(BigDecimal.valueOf(value));
     }
 }
@@ -2,6 +2,7 @@ package com.saif.fitnessapp.ui.auth;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.Log;
 import android.view.View;
@@ -23,6 +24,7 @@ import com.saif.fitnessapp.auth.TokenManager;
 import javax.inject.Inject;
 
 import dagger.hilt.android.AndroidEntryPoint;
+import okhttp3.Call;
 
 @AndroidEntryPoint
 public class LoginActivity extends AppCompatActivity {
@@ -43,6 +45,10 @@ public class LoginActivity extends AppCompatActivity {
     private TextView errorMessage;
     private FrameLayout loadingOverlay;
 
+    // In-flight login request — cancelled if the screen is destroyed first
+    private Call loginCall;
+    private long loginStartedAt;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -95,8 +101,9 @@ public class LoginActivity extends AppCompatActivity {
         if (!validateInputs(email, password)) return;
 
         setLoading(true);
+        loginStartedAt = SystemClock.elapsedRealtime();
 
-        authManager.loginWithCredentials(email, password, new AuthManager.AuthCallback() {
+        loginCall = authManager.loginWithCredentials(email, password, new AuthManager.AuthCallback() {
             @Override
             public void onSuccess() {
                 if (rememberMeCheckbox.isChecked()) {
@@ -173,7 +180,19 @@ public class LoginActivity extends AppCompatActivity {
     private void navigateToMain() {
         Intent intent = new Intent(this, MainActivity.class);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        if (loginStartedAt > 0) {
+            intent.putExtra(MainActivity.EXTRA_LOGIN_STARTED_AT, loginStartedAt);
+        }
         startActivity(intent);
         finish();
     }
+
+    @Override
+    protected void onDestroy() {
+        if (loginCall != null) {
+            loginCall.cancel();
+            loginCall = null;
+        }
+        super.onDestroy();
+    }
 }
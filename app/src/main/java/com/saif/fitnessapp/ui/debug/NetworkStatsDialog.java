@@ -0,0 +1,58 @@
+package com.saif.fitnessapp.ui.debug;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.util.Log;
+import android.util.TypedValue;
+import android.widget.HorizontalScrollView;
+import android.widget.ScrollView;
+import android.widget.TextView;
+
+import com.google.android.material.dialog.MaterialAlertDialogBuilder;
+import com.saif.fitnessapp.network.HttpCacheStats;
+import com.saif.fitnessapp.network.NetworkTimingStats;
+
+/**
+ * Debug-build screen with the per-endpoint network timings and HTTP cache counters
+ * for this process. "Log" writes the same text to logcat under the
+ * "NetworkStats" tag, for pulling off a device with adb.
+ */
+public final class NetworkStatsDialog {
+    private static final String TAG = "NetworkStats";
+
+    private NetworkStatsDialog() {}
+
+    public static void show(Context context, NetworkTimingStats timingStats, HttpCacheStats cacheStats) {
+        String text = dump(timingStats, cacheStats);
+
+        TextView body = new TextView(context);
+        body.setTypeface(Typeface.MONOSPACE);
+        body.setTextSize(TypedValue.COMPLEX_UNIT_SP, 11);
+        body.setTextIsSelectable(true);
+        int padding = Math.round(16 * context.getResources().getDisplayMetrics().density);
+        body.setPadding(padding, padding, padding, padding);
+        body.setText(text);
+
+        // Rows are wider than the screen; scroll both ways rather than wrap
+        HorizontalScrollView horizontal = new HorizontalScrollView(context);
+        horizontal.addView(body);
+        ScrollView scroll = new ScrollView(context);
+        scroll.addView(horizontal);
+
+        new MaterialAlertDialogBuilder(context)
+                .setTitle("Network stats")
+                .setView(scroll)
+                .setPositiveButton("Close", null)
+                .setNeutralButton("Log", (d, w) -> {
+                    for (String line : text.split("\n")) Log.i(TAG, line);
+                })
+                .setNegativeButton("Reset timings", (d, w) -> timingStats.reset())
+                .show();
+    }
+
+    private static String dump(NetworkTimingStats timingStats, HttpCacheStats cacheStats) {
+        String cache = cacheStats.dump();
+        return "Timings (ms)\n" + timingStats.dump()
+                + "\nHTTP cache\n" + (cache.isEmpty() ? "No requests recorded yet\n" : cache);
+    }
+}
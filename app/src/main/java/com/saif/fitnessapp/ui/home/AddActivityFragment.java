@@ -2,7 +2,6 @@ package com.saif.fitnessapp.ui.home;
 
 import static java.lang.Math.round;
 
-import android.os.Build;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -23,6 +22,7 @@ import androidx.navigation.Navigation;
 import com.saif.fitnessapp.R;
 import com.saif.fitnessapp.activity.ActivityViewModel;
 import com.saif.fitnessapp.auth.TokenManager;
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
 import com.saif.fitnessapp.network.dto.ActivityRequest;
 import com.saif.fitnessapp.ui.activity.utils.FitnessMetricCalculator;
 
@@ -30,13 +30,8 @@ import dagger.hilt.android.AndroidEntryPoint;
 
 import javax.inject.Inject;
 
-import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Locale;
-import java.util.Map;
 import java.util.Random;
 
 @AndroidEntryPoint
@@ -119,18 +114,9 @@ public class AddActivityFragment extends Fragment {
         loadingOverlay.startAnimation(fadeIn);
         submitButton.setEnabled(false);
 
-        String startTime;
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            startTime = LocalDateTime.now()
-                    .format(DateTimeFormatter.ISO_DATE_TIME);
-        } else {
-            startTime = new SimpleDateFormat(
-                    "yyyy-MM-dd'T'HH:mm:ss.SSS",
-                    Locale.US
-            ).format(new Date());
-
-        }
-        Map<String, Object> additionalMetrics =
+        // java.time is available on every API level via core library desugaring
+        String startTime = LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME);
+        ActivityMetrics additionalMetrics =
                 generateAdditionalMetrics(activityType, duration, calories);
 
         ActivityRequest request = new ActivityRequest(
@@ -168,12 +154,12 @@ public class AddActivityFragment extends Fragment {
                 });
     }
 
-    private Map<String, Object> generateAdditionalMetrics(
+    private ActivityMetrics generateAdditionalMetrics(
             String activityType,
             int duration,
             int calories
     ) {
-        Map<String, Object> metrics = new HashMap<>();
+        ActivityMetrics metrics = new ActivityMetrics();
         Random random = new Random();
 
         switch (activityType) {
@@ -184,11 +170,11 @@ public class AddActivityFragment extends Fragment {
                 double avgSpeed = FitnessMetricCalculator.round((distanceKm / duration) * 60, 2);
                 int steps = (int) (distanceKm * 1300); // Avg 1300 steps per km
 
-                metrics.put("distanceKm", distanceKm);
-                metrics.put("avgSpeedKmh", avgSpeed);
-                metrics.put("estimatedSteps", steps);
-                metrics.put("paceMinPerKm", FitnessMetricCalculator.round(paceMinPerKm, 2));
-                metrics.put("cadenceSpm", FitnessMetricCalculator.randomIntInRange(150, 180));
+                metrics.set(ActivityMetrics.Key.DISTANCE_KM, distanceKm);
+                metrics.set(ActivityMetrics.Key.AVG_SPEED_KMH, avgSpeed);
+                metrics.set(ActivityMetrics.Key.ESTIMATED_STEPS, steps);
+                metrics.set(ActivityMetrics.Key.PACE_MIN_PER_KM, FitnessMetricCalculator.round(paceMinPerKm, 2));
+                metrics.set(ActivityMetrics.Key.CADENCE_SPM, FitnessMetricCalculator.randomIntInRange(150, 180));
                 break;
 
             case "WALKING":
@@ -196,10 +182,10 @@ public class AddActivityFragment extends Fragment {
                 double walkDistance = FitnessMetricCalculator.round(duration / paceWalk, 2);
                 int walkSteps = (int) (walkDistance * 1200); // avg 1200 steps/km
 
-                metrics.put("distanceKm", walkDistance);
-                metrics.put("estimatedSteps", walkSteps);
-                metrics.put("paceMinPerKm", FitnessMetricCalculator.round(paceWalk, 2));
-                metrics.put("intensityLevel", FitnessMetricCalculator.randomIntInRange(3, 6));
+                metrics.set(ActivityMetrics.Key.DISTANCE_KM, walkDistance);
+                metrics.set(ActivityMetrics.Key.ESTIMATED_STEPS, walkSteps);
+                metrics.set(ActivityMetrics.Key.PACE_MIN_PER_KM, FitnessMetricCalculator.round(paceWalk, 2));
+                metrics.set(ActivityMetrics.Key.INTENSITY_LEVEL, FitnessMetricCalculator.randomIntInRange(3, 6));
                 break;
 
             case "CYCLING":
@@ -207,10 +193,10 @@ public class AddActivityFragment extends Fragment {
                 double rideDistance = FitnessMetricCalculator.round((avgSpeedKmh * duration) / 60, 2);
                 int avgPower = FitnessMetricCalculator.randomIntInRange(120, 240);
 
-                metrics.put("distanceKm", rideDistance);
-                metrics.put("avgSpeedKmh", avgSpeedKmh);
-                metrics.put("estimatedPowerWatts", avgPower);
-                metrics.put("cadenceRpm", FitnessMetricCalculator.randomIntInRange(70, 95));
+                metrics.set(ActivityMetrics.Key.DISTANCE_KM, rideDistance);
+                metrics.set(ActivityMetrics.Key.AVG_SPEED_KMH, avgSpeedKmh);
+                metrics.set(ActivityMetrics.Key.ESTIMATED_POWER_WATTS, avgPower);
+                metrics.set(ActivityMetrics.Key.CADENCE_RPM, FitnessMetricCalculator.randomIntInRange(70, 95));
                 break;
 
             case "SWIMMING":
@@ -218,10 +204,10 @@ public class AddActivityFragment extends Fragment {
                 int strokeRate = FitnessMetricCalculator.randomIntInRange(30, 50);
                 int distanceMeters = laps * 25;
 
-                metrics.put("laps", laps);
-                metrics.put("avgStrokeRate", strokeRate);
-                metrics.put("distanceMeters", distanceMeters);
-                metrics.put("efficiencyScore", FitnessMetricCalculator.randomIntInRange(60, 85));
+                metrics.set(ActivityMetrics.Key.LAPS, laps);
+                metrics.set(ActivityMetrics.Key.AVG_STROKE_RATE, strokeRate);
+                metrics.set(ActivityMetrics.Key.DISTANCE_METERS, distanceMeters);
+                metrics.set(ActivityMetrics.Key.EFFICIENCY_SCORE, FitnessMetricCalculator.randomIntInRange(60, 85));
                 break;
 
             case "WEIGHT_LIFTING":
@@ -229,10 +215,10 @@ public class AddActivityFragment extends Fragment {
                 int repsPerSet = FitnessMetricCalculator.randomIntInRange(8, 12);
                 int loadKg = FitnessMetricCalculator.randomIntInRange(40, 80);
 
-                metrics.put("sets", sets);
-                metrics.put("repsPerSet", repsPerSet);
-                metrics.put("estimatedLoadKg", loadKg);
-                metrics.put("totalVolumeKg", sets * repsPerSet * loadKg);
+                metrics.set(ActivityMetrics.Key.SETS, sets);
+                metrics.set(ActivityMetrics.Key.REPS_PER_SET, repsPerSet);
+                metrics.set(ActivityMetrics.Key.ESTIMATED_LOAD_KG, loadKg);
+                metrics.set(ActivityMetrics.Key.TOTAL_VOLUME_KG, sets * repsPerSet * loadKg);
                 break;
 
             case "CARDIO":
@@ -240,10 +226,10 @@ public class AddActivityFragment extends Fragment {
                 int intensity = FitnessMetricCalculator.randomIntInRange(6, 9);
                 int vo2 = FitnessMetricCalculator.randomIntInRange(35, 50);
 
-                metrics.put("avgHeartRate", avgHr);
-                metrics.put("intensityScore", intensity);
-                metrics.put("estimatedVo2Score", vo2);
-                metrics.put("trainingZone",
+                metrics.set(ActivityMetrics.Key.AVG_HEART_RATE, avgHr);
+                metrics.set(ActivityMetrics.Key.INTENSITY_SCORE, intensity);
+                metrics.set(ActivityMetrics.Key.ESTIMATED_VO2_SCORE, vo2);
+                metrics.setTrainingZone(
                         avgHr > 150 ? "High" : avgHr > 130 ? "Moderate" : "Low"
                 );
                 break;
@@ -252,23 +238,23 @@ public class AddActivityFragment extends Fragment {
                 int punches = duration * FitnessMetricCalculator.randomIntInRange(12, 18);
                 int rounds = Math.max(1, duration / 3);
 
-                metrics.put("punchesThrown", punches);
-                metrics.put("rounds", rounds);
-                metrics.put("avgIntensity", FitnessMetricCalculator.randomIntInRange(7, 9));
-                metrics.put("reactionScore", FitnessMetricCalculator.randomIntInRange(60, 85));
+                metrics.set(ActivityMetrics.Key.PUNCHES_THROWN, punches);
+                metrics.set(ActivityMetrics.Key.ROUNDS, rounds);
+                metrics.set(ActivityMetrics.Key.AVG_INTENSITY, FitnessMetricCalculator.randomIntInRange(7, 9));
+                metrics.set(ActivityMetrics.Key.REACTION_SCORE, FitnessMetricCalculator.randomIntInRange(60, 85));
                 break;
 
             case "YOGA":
             case "STRETCHING":
-                metrics.put("flexibilityScore", FitnessMetricCalculator.randomIntInRange(60, 85));
-                metrics.put("breathingScore", FitnessMetricCalculator.randomIntInRange(70, 90));
-                metrics.put("mindfulnessScore", FitnessMetricCalculator.randomIntInRange(65, 90));
-                metrics.put("calmnessLevel", FitnessMetricCalculator.randomIntInRange(6, 9));
+                metrics.set(ActivityMetrics.Key.FLEXIBILITY_SCORE, FitnessMetricCalculator.randomIntInRange(60, 85));
+                metrics.set(ActivityMetrics.Key.BREATHING_SCORE, FitnessMetricCalculator.randomIntInRange(70, 90));
+                metrics.set(ActivityMetrics.Key.MINDFULNESS_SCORE, FitnessMetricCalculator.randomIntInRange(65, 90));
+                metrics.set(ActivityMetrics.Key.CALMNESS_LEVEL, FitnessMetricCalculator.randomIntInRange(6, 9));
                 break;
 
 
             default:
-                metrics.put("confidenceScore", 70 + random.nextInt(20));
+                metrics.set(ActivityMetrics.Key.CONFIDENCE_SCORE, 70 + random.nextInt(20));
                 break;
         }
 
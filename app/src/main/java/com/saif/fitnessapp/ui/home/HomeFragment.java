@@ -13,25 +13,28 @@ import android.widget.TextView;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.facebook.shimmer.ShimmerFrameLayout;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.card.MaterialCardView;
 import com.saif.fitnessapp.R;
+import com.saif.fitnessapp.activity.ActivityRollup;
 import com.saif.fitnessapp.activity.ActivityViewModel;
 import com.saif.fitnessapp.auth.TokenManager;
 import com.saif.fitnessapp.network.dto.ActivityResponse;
 import com.saif.fitnessapp.ui.TitleController;
 import com.saif.fitnessapp.user.UserViewModel;
 import com.saif.fitnessapp.utils.ThemeManager;
+import com.saif.fitnessapp.utils.TimeFormats;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
@@ -59,7 +62,11 @@ public class HomeFragment extends Fragment {
     private TextView statDurationCount;
     private View addActivityButton;
     private TextView viewAllActivities;
-    private LinearLayout recentActivitiesContainer;
+    private RecyclerView recentActivitiesList;
+    // Kept for the fragment's lifetime, not the view's: coming back from the back
+    // stack re-attaches the same adapter (rows already submitted) and view holders
+    private RecentActivityAdapter recentActivitiesAdapter;
+    private final RecyclerView.RecycledViewPool recentActivitiesPool = new RecyclerView.RecycledViewPool();
     private MaterialCardView emptyActivitiesCard;
 
     // Shimmer + content containers
@@ -73,6 +80,9 @@ public class HomeFragment extends Fragment {
     private final Handler shimmerTimeoutHandler = new Handler(Looper.getMainLooper());
     private Runnable shimmerTimeoutRunnable;
 
+    private static final DateTimeFormatter TODAY_FORMAT =
+            DateTimeFormatter.ofPattern("EEE, dd MMM", Locale.getDefault());
+
     private static final String[] MOTIVATIONAL_QUOTES = {
             "Every workout is progress. Keep pushing!",
             "The only bad workout is the one that didn't happen.",
@@ -108,7 +118,14 @@ public class HomeFragment extends Fragment {
         statDurationCount = view.findViewById(R.id.stat_duration_count);
         addActivityButton = view.findViewById(R.id.add_activity_button);
         viewAllActivities = view.findViewById(R.id.view_all_activities);
-        recentActivitiesContainer = view.findViewById(R.id.recent_activities_container);
+        recentActivitiesList = view.findViewById(R.id.recent_activities_list);
+        if (recentActivitiesAdapter == null) {
+            recentActivitiesAdapter = new RecentActivityAdapter(this::openActivityDetail);
+        }
+        recentActivitiesList.setLayoutManager(new LinearLayoutManager(requireContext()));
+        recentActivitiesList.setNestedScrollingEnabled(false);
+        recentActivitiesList.setRecycledViewPool(recentActivitiesPool);
+        recentActivitiesList.setAdapter(recentActivitiesAdapter);
         emptyActivitiesCard = view.findViewById(R.id.empty_activities_card);
 
         // ── Theme toggle button (moon / sun icon) ──
@@ -140,7 +157,7 @@ public class HomeFragment extends Fragment {
                 activitiesLoaded = true;
                 stopShimmer();
                 if (emptyActivitiesCard != null) emptyActivitiesCard.setVisibility(View.VISIBLE);
-                if (recentActivitiesContainer != null) recentActivitiesContainer.setVisibility(View.GONE);
+                if (recentActivitiesList != null) recentActivitiesList.setVisibility(View.GONE);
             }
         };
         shimmerTimeoutHandler.postDelayed(shimmerTimeoutRunnable, 20_000);
@@ -162,6 +179,7 @@ public class HomeFragment extends Fragment {
         if (userId != null) {
             loadUserProfile(userId);
             loadRecentActivities(userId);
+            observeStats(userId);
         }
 
         // Button actions
@@ -191,8 +209,7 @@ public class HomeFragment extends Fragment {
     }
 
     private void setTodayDate() {
-        SimpleDateFormat sdf = new SimpleDateFormat("EEE, dd MMM", Locale.getDefault());
-        dateText.setText(sdf.format(new Date()));
+        dateText.setText(TODAY_FORMAT.format(LocalDate.now()));
     }
 
     private void setMotivationalQuote() {
@@ -242,13 +259,12 @@ public class HomeFragment extends Fragment {
                 stopShimmer();
             }
             if (activities != null && !activities.isEmpty()) {
-                displayStats(activities);
                 displayRecentActivities(activities);
                 emptyActivitiesCard.setVisibility(View.GONE);
-                recentActivitiesContainer.setVisibility(View.VISIBLE);
+                recentActivitiesList.setVisibility(View.VISIBLE);
             } else {
                 emptyActivitiesCard.setVisibility(View.VISIBLE);
-                recentActivitiesContainer.setVisibility(View.GONE);
+                recentActivitiesList.setVisibility(View.GONE);
             }
         });
     }
@@ -260,22 +276,19 @@ public class HomeFragment extends Fragment {
         homeContentSection.setVisibility(View.VISIBLE);
     }
 
-    private void displayStats(List<ActivityResponse> activities) {
-        int totalWorkouts = activities.size();
-        int totalCalories = 0;
-        int totalDuration = 0;
-
-        for (ActivityResponse a : activities) {
-            if (a.getCaloriesBurned() != null) totalCalories += a.getCaloriesBurned();
-            if (a.getDuration() != null) totalDuration += a.getDuration();
-        }
+    /** Lifetime totals come from the persisted rollup, so they update as soon as a row is written. */
+    private void observeStats(String userId) {
+        activityViewModel.getLifetimeStats(userId).observe(getViewLifecycleOwner(), rollup ->
+                displayStats(rollup != null ? rollup : ActivityRollup.empty(userId)));
+    }
 
-        statWorkoutsCount.setText(String.valueOf(totalWorkouts));
-        statCaloriesCount.setText(formatNumber(totalCalories));
-        statDurationCount.setText(String.valueOf(totalDuration));
+    private void displayStats(ActivityRollup totals) {
+        statWorkoutsCount.setText(String.valueOf(totals.count));
+        statCaloriesCount.setText(formatNumber(totals.calories));
+        statDurationCount.setText(String.valueOf(totals.duration));
     }
 
-    private String formatNumber(int number) {
+    private String formatNumber(long number) {
         if (number >= 1000) {
             return String.format(Locale.US, "%.1fk", number / 1000.0);
         }
@@ -283,100 +296,22 @@ public class HomeFragment extends Fragment {
     }
 
     private void displayRecentActivities(List<ActivityResponse> activities) {
-        recentActivitiesContainer.removeAllViews();
-
-        // Sort newest first by startTime
+        // Sort newest first by startTime (already decoded to millis)
         List<ActivityResponse> sorted = new ArrayList<>(activities);
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
-        Collections.sort(sorted, (a, b) -> {
-            try {
-                Date da = sdf.parse(a.getStartTime() != null ? a.getStartTime() : "");
-                Date db = sdf.parse(b.getStartTime() != null ? b.getStartTime() : "");
-                if (da != null && db != null) return db.compareTo(da);
-            } catch (ParseException ignored) {}
-            return 0;
-        });
-
-        int max = Math.min(sorted.size(), 4);
-        for (int i = 0; i < max; i++) {
-            View itemView = LayoutInflater.from(requireContext())
-                    .inflate(R.layout.item_recent_activity, recentActivitiesContainer, false);
-
-            ActivityResponse activity = sorted.get(i);
-
-            TextView emoji = itemView.findViewById(R.id.recent_activity_emoji);
-            TextView name = itemView.findViewById(R.id.recent_activity_name);
-            TextView time = itemView.findViewById(R.id.recent_activity_time);
-            TextView duration = itemView.findViewById(R.id.recent_activity_duration);
-            TextView calories = itemView.findViewById(R.id.recent_activity_calories);
-
-            emoji.setText(getActivityEmoji(activity.getActivityType()));
-            name.setText(formatActivityType(activity.getActivityType()));
-            time.setText(formatTimeAgo(activity.getStartTime()));
-            duration.setText((activity.getDuration() != null ? activity.getDuration() : 0) + " min");
-            calories.setText((activity.getCaloriesBurned() != null ? activity.getCaloriesBurned() : 0) + " kcal");
-
-            // Clickable — navigate to ActivityDetailFragment
-            final ActivityResponse act = activity;
-            itemView.setOnClickListener(v -> {
-                Bundle bundle = new Bundle();
-                bundle.putString("activity_id", act.getId());
-                bundle.putString("activity_type", act.getActivityType());
-                bundle.putInt("duration", act.getDuration() != null ? act.getDuration() : 0);
-                bundle.putInt("calories", act.getCaloriesBurned() != null ? act.getCaloriesBurned() : 0);
-                bundle.putString("start_time", act.getStartTime());
-                Navigation.findNavController(v)
-                        .navigate(R.id.action_home_to_activityDetail, bundle);
-            });
-
-            recentActivitiesContainer.addView(itemView);
-        }
-    }
-
-    private String getActivityEmoji(String type) {
-        if (type == null) return "\uD83C\uDFC3";
-        return switch (type.toUpperCase()) {
-            case "RUNNING" -> "\uD83C\uDFC3";
-            case "SWIMMING" -> "\uD83C\uDFCA";
-            case "WALKING" -> "\uD83D\uDEB6";
-            case "CYCLING" -> "\uD83D\uDEB4";
-            case "YOGA" -> "\uD83E\uDDD8";
-            case "WEIGHT_LIFTING" -> "\uD83C\uDFCB\uFE0F";
-            case "BOXING" -> "\uD83E\uDD4A";
-            case "CARDIO" -> "\u2764\uFE0F";
-            case "STRETCHING" -> "\uD83E\uDD38";
-            default -> "\uD83C\uDFC3";
-        };
-    }
-
-    private String formatActivityType(String type) {
-        if (type == null) return "Activity";
-        String formatted = type.replace("_", " ");
-        return formatted.substring(0, 1).toUpperCase() + formatted.substring(1).toLowerCase();
+        Collections.sort(sorted, (a, b) -> Long.compare(b.getStartTimeMillis(), a.getStartTimeMillis()));
+        // Diffed off the main thread; unchanged rows are neither rebound nor re-laid out
+        recentActivitiesAdapter.submitList(new ArrayList<>(sorted.subList(0, Math.min(sorted.size(), 4))));
     }
 
-    private String formatTimeAgo(String isoTime) {
-        if (isoTime == null) return "";
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
-            Date date = sdf.parse(isoTime);
-            if (date == null) return "";
-
-            long diff = System.currentTimeMillis() - date.getTime();
-            long minutes = diff / (60 * 1000);
-            long hours = diff / (60 * 60 * 1000);
-            long days = diff / (24 * 60 * 60 * 1000);
-
-            if (minutes < 1) return "Just now";
-            if (minutes < 60) return minutes + "m ago";
-            if (hours < 24) return hours + "h ago";
-            if (days < 7) return days + "d ago";
-
-            SimpleDateFormat output = new SimpleDateFormat("dd MMM", Locale.US);
-            return output.format(date);
-        } catch (Exception e) {
-            return "";
-        }
+    private void openActivityDetail(ActivityResponse act) {
+        Bundle bundle = new Bundle();
+        bundle.putString("activity_id", act.getId());
+        bundle.putString("activity_type", act.getActivityType());
+        bundle.putInt("duration", act.getDuration() != null ? act.getDuration() : 0);
+        bundle.putInt("calories", act.getCaloriesBurned() != null ? act.getCaloriesBurned() : 0);
+        bundle.putString("start_time", act.getStartTime());
+        Navigation.findNavController(requireView())
+                .navigate(R.id.action_home_to_activityDetail, bundle);
     }
 
     @Override
@@ -390,7 +325,10 @@ public class HomeFragment extends Fragment {
         shimmerHome = null;
         statsRow = null;
         homeContentSection = null;
-        recentActivitiesContainer = null;
+        // Detach so the retained adapter doesn't keep the old RecyclerView alive;
+        // its rows go back to the pool for the next view
+        recentActivitiesList.setAdapter(null);
+        recentActivitiesList = null;
         emptyActivitiesCard = null;
         super.onDestroyView();
     }
@@ -405,15 +343,14 @@ public class HomeFragment extends Fragment {
         String userId = tokenManager.getUserId();
         if (userId != null && activitiesLoaded) {
             activityViewModel.getRecentActivities(userId).observe(getViewLifecycleOwner(), activities -> {
-                if (emptyActivitiesCard == null || recentActivitiesContainer == null) return;
+                if (emptyActivitiesCard == null || recentActivitiesList == null) return;
                 if (activities != null && !activities.isEmpty()) {
-                    displayStats(activities);
                     displayRecentActivities(activities);
                     emptyActivitiesCard.setVisibility(View.GONE);
-                    recentActivitiesContainer.setVisibility(View.VISIBLE);
+                    recentActivitiesList.setVisibility(View.VISIBLE);
                 } else {
                     emptyActivitiesCard.setVisibility(View.VISIBLE);
-                    recentActivitiesContainer.setVisibility(View.GONE);
+                    recentActivitiesList.setVisibility(View.GONE);
                 }
             });
         }
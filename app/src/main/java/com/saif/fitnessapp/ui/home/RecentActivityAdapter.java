@@ -0,0 +1,110 @@
+package com.saif.fitnessapp.ui.home;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.saif.fitnessapp.R;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+import com.saif.fitnessapp.ui.activity.ActivityAdapter;
+import com.saif.fitnessapp.utils.TimeFormats;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Home's "Recent Activities" rows.
+ *
+ * ListAdapter diffs each submitted list on a background thread, so re-submitting
+ * the same activities (e.g. the refresh in onResume) binds nothing. Stable ids let
+ * RecyclerView keep a row's view when the list is reordered or an item is added.
+ */
+public class RecentActivityAdapter extends ListAdapter<ActivityResponse, RecentActivityAdapter.ViewHolder> {
+
+    public interface OnActivityClickListener {
+        void onActivityClick(ActivityResponse activity);
+    }
+
+    private final OnActivityClickListener clickListener;
+    // Backend ids are strings; hand out a long per id for as long as the adapter lives
+    private final Map<String, Long> stableIds = new HashMap<>();
+
+    public RecentActivityAdapter(OnActivityClickListener clickListener) {
+        super(ActivityAdapter.DIFF_CALLBACK);
+        this.clickListener = clickListener;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        String id = getItem(position).getId();
+        if (id == null) return RecyclerView.NO_ID;
+        Long stable = stableIds.get(id);
+        if (stable == null) {
+            stable = (long) stableIds.size();
+            stableIds.put(id, stable);
+        }
+        return stable;
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_recent_activity, parent, false);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        ActivityResponse activity = getItem(position);
+
+        holder.emoji.setText(getActivityEmoji(activity.getActivityType()));
+        holder.name.setText(formatActivityType(activity.getActivityType()));
+        holder.time.setText(TimeFormats.relativeLabel(activity.getStartTimeMillis()));
+        holder.duration.setText((activity.getDuration() != null ? activity.getDuration() : 0) + " min");
+        holder.calories.setText((activity.getCaloriesBurned() != null ? activity.getCaloriesBurned() : 0) + " kcal");
+
+        holder.itemView.setOnClickListener(v -> clickListener.onActivityClick(activity));
+    }
+
+    private static String getActivityEmoji(String type) {
+        if (type == null) return "\uD83C\uDFC3";
+        return switch (type.toUpperCase()) {
+            case "RUNNING" -> "\uD83C\uDFC3";
+            case "SWIMMING" -> "\uD83C\uDFCA";
+            case "WALKING" -> "\uD83D\uDEB6";
+            case "CYCLING" -> "\uD83D\uDEB4";
+            case "YOGA" -> "\uD83E\uDDD8";
+            case "WEIGHT_LIFTING" -> "\uD83C\uDFCB\uFE0F";
+            case "BOXING" -> "\uD83E\uDD4A";
+            case "CARDIO" -> "\u2764\uFE0F";
+            case "STRETCHING" -> "\uD83E\uDD38";
+            default -> "\uD83C\uDFC3";
+        };
+    }
+
+    private static String formatActivityType(String type) {
+        if (type == null) return "Activity";
+        String formatted = type.replace("_", " ");
+        return formatted.substring(0, 1).toUpperCase() + formatted.substring(1).toLowerCase();
+    }
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        final TextView emoji, name, time, duration, calories;
+
+        ViewHolder(@NonNull View itemView) {
+            super(itemView);
+            emoji = itemView.findViewById(R.id.recent_activity_emoji);
+            name = itemView.findViewById(R.id.recent_activity_name);
+            time = itemView.findViewById(R.id.recent_activity_time);
+            duration = itemView.findViewById(R.id.recent_activity_duration);
+            calories = itemView.findViewById(R.id.recent_activity_calories);
+        }
+    }
+}
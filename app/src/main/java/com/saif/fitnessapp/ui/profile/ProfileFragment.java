@@ -7,6 +7,7 @@ import android.os.CountDownTimer;
 import android.graphics.drawable.GradientDrawable;
 import android.os.Bundle;
 import android.text.TextUtils;
+import android.util.Log;
 import android.util.Patterns;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -28,31 +29,38 @@ import com.google.android.material.bottomsheet.BottomSheetDialog;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
+import com.saif.fitnessapp.BuildConfig;
 import com.saif.fitnessapp.R;
+import com.saif.fitnessapp.activity.ActivityRollup;
 import com.saif.fitnessapp.activity.ActivityViewModel;
+import com.saif.fitnessapp.activity.HistorySyncWorker;
 import com.saif.fitnessapp.auth.AuthManager;
 import com.saif.fitnessapp.auth.TokenManager;
-import com.saif.fitnessapp.network.dto.ActivityResponse;
+import com.saif.fitnessapp.network.HttpCacheStats;
+import com.saif.fitnessapp.network.NetworkTimingStats;
 import com.saif.fitnessapp.network.dto.ChangePasswordRequest;
 import com.saif.fitnessapp.network.dto.UpdateProfileRequest;
 import com.saif.fitnessapp.network.dto.UserResponse;
+import com.saif.fitnessapp.startup.DashboardPrefetcher;
 import com.saif.fitnessapp.ui.TitleController;
 import com.saif.fitnessapp.ui.auth.LoginActivity;
+import com.saif.fitnessapp.ui.debug.NetworkStatsDialog;
 import com.saif.fitnessapp.user.UserRepository;
 import com.saif.fitnessapp.user.UserViewModel;
+import com.saif.fitnessapp.utils.TimeFormats;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.List;
-import java.util.Locale;
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
 import dagger.hilt.android.AndroidEntryPoint;
 
 import javax.inject.Inject;
 
+import okhttp3.Cache;
+
 @AndroidEntryPoint
 public class ProfileFragment extends Fragment {
+    private static final String TAG = "ProfileFragment";
 
     @Inject
     TokenManager tokenManager;
@@ -60,6 +68,18 @@ public class ProfileFragment extends Fragment {
     @Inject
     AuthManager authManager;
 
+    @Inject
+    NetworkTimingStats networkTimingStats;
+
+    @Inject
+    HttpCacheStats httpCacheStats;
+
+    @Inject
+    DashboardPrefetcher dashboardPrefetcher;
+
+    @Inject
+    Cache httpCache;
+
     private UserViewModel userViewModel;
     private ActivityViewModel activityViewModel;
 
@@ -128,6 +148,14 @@ public class ProfileFragment extends Fragment {
         if (rowEdit != null) rowEdit.setOnClickListener(v -> showEditProfileSheet());
         if (rowPwd  != null) rowPwd.setOnClickListener(v  -> showChangePasswordSheet());
 
+        // Debug builds: long-press the avatar for per-endpoint network stats
+        if (BuildConfig.DEBUG) {
+            avatarInitials.setOnLongClickListener(v -> {
+                NetworkStatsDialog.show(requireContext(), networkTimingStats, httpCacheStats);
+                return true;
+            });
+        }
+
         String userId = tokenManager.getUserId();
         if (userId != null) {
             loadUserProfile(userId);
@@ -164,58 +192,38 @@ public class ProfileFragment extends Fragment {
                 // Info section
                 if (infoFullName != null) infoFullName.setText(fullName);
                 if (infoEmail != null) infoEmail.setText(user.getEmail());
-                if (infoMemberSince != null) infoMemberSince.setText(formatDateTime(user.getCreatedAt()));
+                String memberSince = formatMemberSince(user);
+                if (infoMemberSince != null) infoMemberSince.setText(memberSince);
 
                 // Member days
-                long days = calculateMemberDays(user.getCreatedAt());
+                long days = calculateMemberDays(user);
                 if (memberDaysCount != null) memberDaysCount.setText(String.valueOf(days));
 
                 // Hidden field for compatibility
                 if (createdAtText != null) {
-                    createdAtText.setText("Member since: " + formatDateTime(user.getCreatedAt()));
+                    createdAtText.setText("Member since: " + memberSince);
                 }
             }
         });
     }
 
     private void loadActivityStats(String userId) {
-        activityViewModel.getRecentActivities(userId).observe(getViewLifecycleOwner(), activities -> {
-            if (activities != null && totalActivitiesCount != null) {
-                totalActivitiesCount.setText(String.valueOf(activities.size()));
-
-                int totalCalories = 0;
-                for (ActivityResponse a : activities) {
-                    if (a.getCaloriesBurned() != null) totalCalories += a.getCaloriesBurned();
-                }
-                if (totalCaloriesCount != null) {
-                    totalCaloriesCount.setText(String.valueOf(totalCalories));
-                }
+        activityViewModel.getLifetimeStats(userId).observe(getViewLifecycleOwner(), rollup -> {
+            if (totalActivitiesCount == null) return;
+            ActivityRollup totals = rollup != null ? rollup : ActivityRollup.empty(userId);
+            totalActivitiesCount.setText(String.valueOf(totals.count));
+            if (totalCaloriesCount != null) {
+                totalCaloriesCount.setText(String.valueOf(totals.calories));
             }
         });
     }
 
-    private long calculateMemberDays(String isoTime) {
-        if (isoTime == null) return 0;
-        try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS", Locale.US);
-            Date date = sdf.parse(isoTime);
-            if (date != null) {
-                long diff = System.currentTimeMillis() - date.getTime();
-                return Math.max(1, TimeUnit.MILLISECONDS.toDays(diff));
-            }
-        } catch (Exception e) {
-            try {
-                SimpleDateFormat sdf2 = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
-                Date date2 = sdf2.parse(isoTime);
-                if (date2 != null) {
-                    long diff = System.currentTimeMillis() - date2.getTime();
-                    return Math.max(1, TimeUnit.MILLISECONDS.toDays(diff));
-                }
-            } catch (Exception e2) {
-                // ignore
-            }
-        }
-        return 1;
+    private long calculateMemberDays(UserResponse user) {
+        if (user.getCreatedAt() == null) return 0;
+        long createdAt = user.getCreatedAtMillis();
+        if (createdAt == TimeFormats.UNKNOWN) return 1;
+        long diff = System.currentTimeMillis() - createdAt;
+        return Math.max(1, TimeUnit.MILLISECONDS.toDays(diff));
     }
 
     // =========================================================
@@ -816,37 +824,25 @@ public class ProfileFragment extends Fragment {
     private void logout() {
         tokenManager.clearTokens();
         authManager.logout();
+        // Unclaimed loads belong to this session; the next sign-in fetches its own
+        dashboardPrefetcher.clear();
+        HistorySyncWorker.cancel(requireContext());
+        // Cached profile and activity responses are this user's; deleting them is disk I/O
+        new Thread(() -> {
+            try {
+                httpCache.evictAll();
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to clear the HTTP cache: " + e.getMessage());
+            }
+        }, "http-cache-evict").start();
         startActivity(new Intent(requireContext(), LoginActivity.class));
         requireActivity().finish();
     }
 
-    public String formatDateTime(String isoTime) {
-        if (isoTime == null) return "";
-        try {
-            SimpleDateFormat input = new SimpleDateFormat(
-                    "yyyy-MM-dd'T'HH:mm:ss.SSS",
-                    Locale.US
-            );
-            SimpleDateFormat output = new SimpleDateFormat(
-                    "dd MMM yyyy",
-                    Locale.US
-            );
-            return output.format(input.parse(isoTime));
-        } catch (Exception e) {
-            try {
-                SimpleDateFormat input2 = new SimpleDateFormat(
-                        "yyyy-MM-dd'T'HH:mm:ss",
-                        Locale.US
-                );
-                SimpleDateFormat output2 = new SimpleDateFormat(
-                        "dd MMM yyyy",
-                        Locale.US
-                );
-                return output2.format(input2.parse(isoTime));
-            } catch (Exception e2) {
-                return isoTime;
-            }
-        }
+    private String formatMemberSince(UserResponse user) {
+        if (user.getCreatedAt() == null) return "";
+        long createdAt = user.getCreatedAtMillis();
+        return createdAt != TimeFormats.UNKNOWN ? TimeFormats.formatDate(createdAt) : user.getCreatedAt();
     }
 
     @Override
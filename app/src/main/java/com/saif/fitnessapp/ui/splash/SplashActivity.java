@@ -4,6 +4,7 @@ import android.content.Intent;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 import android.view.View;
 import android.view.animation.DecelerateInterpolator;
@@ -13,10 +14,15 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.saif.fitnessapp.MainActivity;
 import com.saif.fitnessapp.R;
-import com.saif.fitnessapp.auth.AuthManager;
 import com.saif.fitnessapp.auth.TokenManager;
+import com.saif.fitnessapp.auth.TokenRefreshCoordinator;
+import com.saif.fitnessapp.auth.TokenSnapshot;
+import com.saif.fitnessapp.startup.DashboardPrefetcher;
+import com.saif.fitnessapp.startup.SplashTimings;
 import com.saif.fitnessapp.ui.auth.LoginActivity;
+import com.saif.fitnessapp.utils.StartupTrace;
 
+import dagger.Lazy;
 import dagger.hilt.android.AndroidEntryPoint;
 
 import javax.inject.Inject;
@@ -24,23 +30,59 @@ import javax.inject.Inject;
 @AndroidEntryPoint
 public class SplashActivity extends AppCompatActivity {
     private static final String TAG = "SplashActivity";
-    private static final int SPLASH_DELAY_MS = 2200;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final SplashGate<Class<?>> gate = new SplashGate<>(this::leave);
+    private long shownAt;
 
     @Inject
     TokenManager tokenManager;
 
+    // Lazy: building it builds AuthManager (AppAuth service, endpoints), which only
+    // the expired-token path needs
+    @Inject
+    Lazy<TokenRefreshCoordinator> refreshCoordinator;
+
     @Inject
-    AuthManager authManager;
+    DashboardPrefetcher prefetcher;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_splash);
+        StartupTrace.trackFirstFrame(this);
 
         animateSplash();
 
-        new Handler(Looper.getMainLooper()).postDelayed(
-                this::checkAuthenticationStatus, SPLASH_DELAY_MS);
+        // Auth runs alongside the animation; leave when both are done (see SplashGate)
+        shownAt = SystemClock.elapsedRealtime();
+        handler.postDelayed(gate::onMinTimeElapsed, SplashGate.MIN_SPLASH_MS);
+        handler.postDelayed(this::onAuthWaitExceeded, SplashGate.MAX_AUTH_WAIT_MS);
+
+        tokenManager.whenReady().whenComplete((ignored, error) -> runOnUiThread(() -> {
+            if (isDestroyed()) return;
+            if (error != null) {
+                Log.e(TAG, "Token storage unavailable", error);
+                decide(LoginActivity.class, SplashTimings.LOGIN);
+                return;
+            }
+            // Home's data can start loading while the splash animates
+            prefetchIfTokenValid();
+            checkAuthenticationStatus();
+        }));
+    }
+
+    @Override
+    protected void onDestroy() {
+        handler.removeCallbacksAndMessages(null);
+        super.onDestroy();
+    }
+
+    private void prefetchIfTokenValid() {
+        TokenSnapshot tokens = tokenManager.getTokens();
+        if (tokens.hasValidAccessToken(System.currentTimeMillis())) {
+            prefetcher.prefetch(tokens.userId);
+        }
     }
 
     private void animateSplash() {
@@ -95,6 +137,8 @@ public class SplashActivity extends AppCompatActivity {
      * - If user has refresh token → They're logged in
      * - If access token expired → Refresh it automatically
      * - If refresh fails → Redirect to login
+     * Runs as soon as the token store is open; the result is applied once the
+     * minimum splash time is up.
      */
     private void checkAuthenticationStatus() {
         Log.d(TAG, "Checking authentication status...");
@@ -102,7 +146,7 @@ public class SplashActivity extends AppCompatActivity {
         if (!tokenManager.isLoggedIn()) {
             // No refresh token, user needs to login
             Log.d(TAG, "User not logged in (no refresh token)");
-            navigateToLogin();
+            decide(LoginActivity.class, SplashTimings.LOGIN);
             return;
         }
 
@@ -110,7 +154,7 @@ public class SplashActivity extends AppCompatActivity {
         if (tokenManager.hasValidAccessToken()) {
             // Access token is still valid, go directly to main
             Log.d(TAG, "User logged in with valid access token");
-            navigateToMain();
+            decide(MainActivity.class, SplashTimings.VALID_TOKEN);
             return;
         }
 
@@ -125,42 +169,57 @@ public class SplashActivity extends AppCompatActivity {
      * This happens automatically and transparently to the user
      */
     private void refreshTokenAndNavigate() {
-        authManager.refreshAccessToken(new AuthManager.TokenRefreshCallback() {
-            @Override
-            public void onRefreshSuccess() {
+        // Shares the refresh with any API request that is already refreshing
+        refreshCoordinator.get().refresh().thenAccept(accessToken -> {
+            if (accessToken != null) {
                 Log.d(TAG, "Token refresh successful, navigating to main");
-                runOnUiThread(() -> navigateToMain());
+                prefetcher.prefetch(tokenManager.getUserId());
+                runOnUiThread(() -> decide(MainActivity.class, SplashTimings.REFRESHED));
+                return;
             }
-
-            @Override
-            public void onRefreshFailed(String error) {
-                Log.e(TAG, "Token refresh failed: " + error);
-                // If our tokens were NOT cleared it means the failure was a network
-                // error (e.g. Keycloak on Render is cold-starting). The user is still
-                // logically authenticated — let them into the app. API calls will
-                // succeed once the server wakes up.
-                if (tokenManager.isLoggedIn()) {
-                    Log.w(TAG, "Network error during refresh but tokens intact — navigating to main");
-                    runOnUiThread(() -> navigateToMain());
-                } else {
-                    Log.d(TAG, "Refresh token invalid/expired — user must re-login");
-                    runOnUiThread(() -> navigateToLogin());
-                }
+            Log.e(TAG, "Token refresh failed");
+            // If our tokens were NOT cleared it means the failure was a network
+            // error (e.g. Keycloak on Render is cold-starting). The user is still
+            // logically authenticated — let them into the app. API calls will
+            // succeed once the server wakes up.
+            if (tokenManager.isLoggedIn()) {
+                Log.w(TAG, "Network error during refresh but tokens intact — navigating to main");
+                runOnUiThread(() -> decide(MainActivity.class, SplashTimings.REFRESH_FAILED));
+            } else {
+                Log.d(TAG, "Refresh token invalid/expired — user must re-login");
+                runOnUiThread(() -> decide(LoginActivity.class, SplashTimings.LOGIN));
             }
         });
     }
 
-    private void navigateToMain() {
-        Log.d(TAG, "Navigating to MainActivity");
-        Intent intent = new Intent(this, MainActivity.class);
-        intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
-        startActivity(intent);
-        finish();
+    /**
+     * Refresh still running after {@link SplashGate#MAX_AUTH_WAIT_MS}. A user who has
+     * a refresh token is let in, as on a network failure: requests wait on the same
+     * refresh, and a rejected refresh token sends them to login from there.
+     */
+    private void onAuthWaitExceeded() {
+        if (gate.isDecided() || !tokenManager.isReady()) return;
+        if (tokenManager.isLoggedIn()) {
+            Log.w(TAG, "Token refresh still running after " + SplashGate.MAX_AUTH_WAIT_MS + " ms — navigating to main");
+            decide(MainActivity.class, SplashTimings.REFRESH_TIMEOUT);
+        }
+    }
+
+    /** Records where to go; the first decision wins. Main thread only. */
+    private void decide(Class<?> target, String reason) {
+        gate.decide(target, reason);
     }
 
-    private void navigateToLogin() {
-        Log.d(TAG, "Navigating to LoginActivity");
-        Intent intent = new Intent(this, LoginActivity.class);
+    private void leave(Class<?> destination, String outcome) {
+        if (isFinishing()) return;
+        handler.removeCallbacksAndMessages(null);
+
+        long splashMillis = SystemClock.elapsedRealtime() - shownAt;
+        SplashTimings.record(this, splashMillis, outcome);
+        StartupTrace.mark("splash_exit");
+
+        Log.d(TAG, "Navigating to " + destination.getSimpleName());
+        Intent intent = new Intent(this, destination);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
         startActivity(intent);
         finish();
@@ -0,0 +1,53 @@
+package com.saif.fitnessapp.ui.splash;
+
+/**
+ * When the splash leaves: once the minimum display time is up and auth has picked
+ * a destination, whichever comes last. The first destination wins, and the splash
+ * leaves at most once. Main thread only.
+ */
+final class SplashGate<T> {
+
+    // The entrance animation finishes at 1.2 s; never cut it short
+    static final int MIN_SPLASH_MS = 1200;
+    // A cold Keycloak can take far longer than this to refresh. Past it, a logged-in
+    // user goes to Main anyway and the refresh completes in the background.
+    static final int MAX_AUTH_WAIT_MS = 4000;
+
+    interface Exit<T> {
+        void leave(T destination, String outcome);
+    }
+
+    private final Exit<T> exit;
+    private boolean minTimeElapsed = false;
+    // Where to go once the minimum time is up; null while auth is still resolving
+    private T destination;
+    private String outcome;
+    private boolean left = false;
+
+    SplashGate(Exit<T> exit) {
+        this.exit = exit;
+    }
+
+    void onMinTimeElapsed() {
+        minTimeElapsed = true;
+        maybeLeave();
+    }
+
+    /** Records where to go; the first decision wins. */
+    void decide(T target, String reason) {
+        if (destination != null) return;
+        destination = target;
+        outcome = reason;
+        maybeLeave();
+    }
+
+    boolean isDecided() {
+        return destination != null;
+    }
+
+    private void maybeLeave() {
+        if (left || !minTimeElapsed || destination == null) return;
+        left = true;
+        exit.leave(destination, outcome);
+    }
+}
@@ -6,6 +6,7 @@ import androidx.lifecycle.ViewModel;
 import com.saif.fitnessapp.network.dto.ChangePasswordRequest;
 import com.saif.fitnessapp.network.dto.UpdateProfileRequest;
 import com.saif.fitnessapp.network.dto.UserResponse;
+import com.saif.fitnessapp.startup.DashboardPrefetcher;
 
 import dagger.hilt.android.lifecycle.HiltViewModel;
 
@@ -14,14 +15,18 @@ import javax.inject.Inject;
 @HiltViewModel
 public class UserViewModel extends ViewModel {
     private final UserRepository userRepository;
+    private final DashboardPrefetcher prefetcher;
 
     @Inject
-    public UserViewModel(UserRepository userRepository) {
+    public UserViewModel(UserRepository userRepository, DashboardPrefetcher prefetcher) {
         this.userRepository = userRepository;
+        this.prefetcher = prefetcher;
     }
 
+    // Attaches to the splash screen's prefetch when there is one
     public LiveData<UserResponse> getUserProfile(String userId) {
-        return userRepository.fetchUser(userId);
+        LiveData<UserResponse> prefetched = prefetcher.claimUser(userId);
+        return prefetched != null ? prefetched : userRepository.fetchUser(userId);
     }
 
     public LiveData<Boolean> validateUser(String userId) {
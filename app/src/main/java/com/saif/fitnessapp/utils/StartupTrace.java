@@ -0,0 +1,62 @@
+package com.saif.fitnessapp.utils;
+
+import android.app.Activity;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/**
+ * Cold-start milestones, logged as milliseconds since the process was forked.
+ *
+ * Each {@link #mark} writes one line under the "StartupTrace" tag, e.g.
+ *   application_created +212 ms
+ *   tokens_ready +268 ms
+ *   first_frame +431 ms
+ *
+ * Compare first_frame across builds (alongside `adb shell am start -W`) to see what
+ * a startup change bought.
+ *
+ * Usage:
+ *   StartupTrace.mark("application_created")
+ *   StartupTrace.trackFirstFrame(activity)   ← from the launcher Activity's onCreate
+ */
+public final class StartupTrace {
+
+    private static final String TAG = "StartupTrace";
+
+    private static volatile boolean firstFrameSeen = false;
+
+    private StartupTrace() {}
+
+    /** Milliseconds since process start. */
+    public static long sinceProcessStart() {
+        return SystemClock.uptimeMillis() - Process.getStartUptimeMillis();
+    }
+
+    public static void mark(String milestone) {
+        Log.i(TAG, milestone + " +" + sinceProcessStart() + " ms"
+                + " [" + Thread.currentThread().getName() + "]");
+    }
+
+    /**
+     * Marks "first_frame" when {@code activity}'s window first draws. Only the first
+     * activity to draw in the process counts.
+     */
+    public static void trackFirstFrame(Activity activity) {
+        if (firstFrameSeen) return;
+        View decor = activity.getWindow().getDecorView();
+        decor.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+            @Override
+            public void onDraw() {
+                if (firstFrameSeen) return;
+                firstFrameSeen = true;
+                mark("first_frame");
+                // Listeners can't be removed from inside onDraw
+                ViewTreeObserver.OnDrawListener self = this;
+                decor.post(() -> decor.getViewTreeObserver().removeOnDrawListener(self));
+            }
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.saif.fitnessapp.utils;
+
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timestamp parsing and display, shared by every screen.
+ *
+ * DTOs decode their ISO strings once via {@link #parseEpochMillis} and keep the
+ * result; lists sort and format from those millis. The formatters are
+ * {@link DateTimeFormatter}s, which are immutable and thread-safe, so one
+ * instance serves all callers (java.time on API &lt; 26 comes from core library
+ * desugaring).
+ *
+ * Usage:
+ *   TimeFormats.parseEpochMillis("2025-03-01T08:15:00.123+05:30")
+ *   TimeFormats.formatDateTime(activity.getStartTimeMillis())
+ *   TimeFormats.relativeLabel(activity.getStartTimeMillis())
+ */
+public final class TimeFormats {
+
+    /** Returned for missing or unparseable timestamps; sorts before everything else. */
+    public static final long UNKNOWN = Long.MIN_VALUE;
+
+    private static final DateTimeFormatter DATE_TIME =
+            DateTimeFormatter.ofPattern("dd MMM yyyy, hh:mm a", Locale.US);
+    private static final DateTimeFormatter DATE =
+            DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.US);
+    private static final DateTimeFormatter DAY_MONTH =
+            DateTimeFormatter.ofPattern("dd MMM", Locale.US);
+
+    // Relative labels depend only on the elapsed-time bucket ("5m", "3h", "2d")
+    // or, past a week, the calendar day — so a few hundred entries cover a session
+    private static final LruCache<Long, String> RELATIVE_LABELS = new LruCache<>(256);
+
+    private TimeFormats() {}
+
+    // ─── Parsing ─────────────────────────────────────────────────────────────
+
+    /**
+     * Epoch millis for an ISO-8601 date-time. Accepts any fractional-second
+     * precision, an offset or 'Z', or no offset at all (read as device-local time,
+     * which is what the add-activity screen sends).
+     */
+    public static long parseEpochMillis(@Nullable String iso) {
+        if (iso == null || iso.isEmpty()) return UNKNOWN;
+        try {
+            TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parse(iso);
+            if (parsed.isSupported(ChronoField.OFFSET_SECONDS)) {
+                return ZonedDateTime.from(parsed).toInstant().toEpochMilli();
+            }
+            return LocalDateTime.from(parsed)
+                    .atZone(ZoneId.systemDefault())
+                    .toInstant()
+                    .toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return UNKNOWN;
+        }
+    }
+
+    // ─── Formatting ──────────────────────────────────────────────────────────
+
+    /** "01 Mar 2025, 08:15 AM", or "" when unknown. */
+    public static String formatDateTime(long epochMillis) {
+        return format(DATE_TIME, epochMillis);
+    }
+
+    /** "01 Mar 2025", or "" when unknown. */
+    public static String formatDate(long epochMillis) {
+        return format(DATE, epochMillis);
+    }
+
+    /** "Just now", "5m ago", "3h ago", "2d ago", then "01 Mar". */
+    public static String relativeLabel(long epochMillis) {
+        return relativeLabel(epochMillis, System.currentTimeMillis());
+    }
+
+    public static String relativeLabel(long epochMillis, long nowMillis) {
+        if (epochMillis == UNKNOWN) return "";
+        long diff = nowMillis - epochMillis;
+        long minutes = TimeUnit.MILLISECONDS.toMinutes(diff);
+        long hours = TimeUnit.MILLISECONDS.toHours(diff);
+        long days = TimeUnit.MILLISECONDS.toDays(diff);
+
+        if (minutes < 1) return "Just now";
+
+        // Key: unit tag in the top bits, amount (or epoch day) below
+        long key;
+        if (minutes < 60) key = (1L << 60) | minutes;
+        else if (hours < 24) key = (2L << 60) | hours;
+        else if (days < 7) key = (3L << 60) | days;
+        else key = (4L << 60) | toLocal(epochMillis).toLocalDate().toEpochDay();
+
+        String label = RELATIVE_LABELS.get(key);
+        if (label == null) {
+            if (minutes < 60) label = minutes + "m ago";
+            else if (hours < 24) label = hours + "h ago";
+            else if (days < 7) label = days + "d ago";
+            else label = DAY_MONTH.format(toLocal(epochMillis));
+            RELATIVE_LABELS.put(key, label);
+        }
+        return label;
+    }
+
+    private static String format(DateTimeFormatter formatter, long epochMillis) {
+        return epochMillis == UNKNOWN ? "" : formatter.format(toLocal(epochMillis));
+    }
+
+    private static ZonedDateTime toLocal(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,191 @@
+package com.saif.fitnessapp.activity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.saif.fitnessapp.network.ApiService;
+import com.saif.fitnessapp.network.NetworkModule;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Walks the activity history the way the list's appends and the history sync do,
+ * against a local stand-in for GET /api/activities, while activities are tracked
+ * between pages.
+ */
+public class ActivityPageFetcherTest {
+
+    private static final String USER = "user";
+    private static final int HISTORY = 500;
+    private static final int PAGE_SIZE = 20;
+
+    private MockWebServer server;
+    private StandInHistory history;
+    private OkHttpClient client;
+    private ActivityPageFetcher fetcher;
+
+    @Before
+    public void setUp() throws IOException {
+        history = new StandInHistory();
+        for (int i = 0; i < HISTORY; i++) history.add(activity("a" + i, i));
+
+        server = new MockWebServer();
+        server.setDispatcher(history);
+        server.start();
+        client = new OkHttpClient();
+        ApiService apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(new NetworkModule().provideGson()))
+                .build()
+                .create(ApiService.class);
+        fetcher = new ActivityPageFetcher(apiService);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        client.dispatcher().executorService().shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    public void walkSeesEveryRowOnceWhileActivitiesAreTracked() throws IOException {
+        Set<String> before = history.ids();
+
+        List<String> walked = walk(page -> {
+            // Two new workouts at the top and one back-dated into the part already read
+            history.add(activity("new-" + page + "-1", HISTORY + 2 * page));
+            history.add(activity("new-" + page + "-2", HISTORY + 2 * page + 1));
+            history.add(activity("old-" + page, HISTORY - PAGE_SIZE * page + 1));
+        });
+
+        Set<String> unique = new HashSet<>(walked);
+        assertEquals("no row seen twice", walked.size(), unique.size());
+        assertTrue("no row skipped", unique.containsAll(before));
+        for (String id : unique) assertTrue(id, before.contains(id));
+        // The cursor alone places every page, so deep pages cost the server what the first does
+        for (RecordedRequest request : history.cursorRequests) {
+            assertEquals("page with a cursor", "0", request.getRequestUrl().queryParameter("page"));
+        }
+        assertTrue(history.cursorRequests.size() >= HISTORY / PAGE_SIZE - 1);
+    }
+
+    @Test
+    public void serverIgnoringTheCursorIsPagedByIndex() throws IOException {
+        history.ignoresCursor = true;
+
+        List<String> walked = walk(page -> {});
+
+        assertEquals(HISTORY, walked.size());
+        assertEquals(HISTORY, new HashSet<>(walked).size());
+        // One probe with the cursor, then page indexes only
+        assertEquals(1, history.cursorRequests.size());
+    }
+
+    private interface BetweenPages {
+        void run(int page);
+    }
+
+    /** Cursor after the last row of each page, as the mediator and sync worker do. */
+    private List<String> walk(BetweenPages betweenPages) throws IOException {
+        List<String> walked = new ArrayList<>();
+        ActivityCursor cursor = null;
+        for (int page = 0; ; page++) {
+            List<ActivityResponse> rows = fetcher.fetch(USER, cursor, page, PAGE_SIZE);
+            for (ActivityResponse row : rows) walked.add(row.getId());
+            if (rows.size() < PAGE_SIZE) return walked;
+            cursor = ActivityCursor.after(rows.get(rows.size() - 1));
+            betweenPages.run(page + 1);
+        }
+    }
+
+    /** Activity starting {@code minute} minutes into 2025-03-01, device-local. */
+    private static ActivityResponse activity(String id, int minute) {
+        String startTime = String.format(Locale.US, "2025-03-01T%02d:%02d:00", minute / 60, minute % 60);
+        return new ActivityResponse(id, USER, "RUNNING", 30, 250, startTime, null, null, null);
+    }
+
+    /**
+     * GET /api/activities over an in-memory history, newest first by (startTime, id).
+     * With a cursor it returns the rows after it; page then counts from the
+     * cursor, so a client that still sends its page index with a cursor skips rows.
+     */
+    private static final class StandInHistory extends Dispatcher {
+        private static final Comparator<ActivityResponse> NEWEST_FIRST =
+                Comparator.comparingLong(ActivityResponse::getStartTimeMillis)
+                        .thenComparing(ActivityResponse::getId)
+                        .reversed();
+
+        final List<RecordedRequest> cursorRequests = new ArrayList<>();
+        boolean ignoresCursor;
+
+        private final List<ActivityResponse> rows = new ArrayList<>();
+        private final Gson gson = new NetworkModule().provideGson();
+
+        synchronized void add(ActivityResponse activity) {
+            rows.add(activity);
+            rows.sort(NEWEST_FIRST);
+        }
+
+        synchronized Set<String> ids() {
+            Set<String> ids = new HashSet<>();
+            for (ActivityResponse row : rows) ids.add(row.getId());
+            return ids;
+        }
+
+        @NonNull
+        @Override
+        public synchronized MockResponse dispatch(@NonNull RecordedRequest request) {
+            HttpUrl url = request.getRequestUrl();
+            if (!url.encodedPath().equals("/api/activities")) return new MockResponse().setResponseCode(404);
+            int page = Integer.parseInt(url.queryParameter("page"));
+            int size = Integer.parseInt(url.queryParameter("size"));
+            String beforeStartTime = ignoresCursor ? null : url.queryParameter("beforeStartTime");
+            String beforeId = url.queryParameter("beforeId");
+            if (url.queryParameter("beforeStartTime") != null) cursorRequests.add(request);
+
+            // Keyset: binary search to the first row after the cursor
+            int from = 0;
+            if (beforeStartTime != null) {
+                ActivityResponse cursor = new ActivityResponse(beforeId, USER, null, null, null,
+                        beforeStartTime, null, null, null);
+                int lo = 0, hi = rows.size();
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (NEWEST_FIRST.compare(rows.get(mid), cursor) <= 0) lo = mid + 1; else hi = mid;
+                }
+                from = lo;
+            }
+            from = Math.min(rows.size(), from + page * size);
+            int to = Math.min(rows.size(), from + size);
+
+            JsonArray body = new JsonArray();
+            for (ActivityResponse row : rows.subList(from, to)) body.add(gson.toJsonTree(row));
+            return new MockResponse().setBody(body.toString());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.saif.fitnessapp.activity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.saif.fitnessapp.utils.TimeFormats;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.TimeZone;
+
+public class ActivityRollupTest {
+
+    private TimeZone originalZone;
+
+    @Before
+    public void setUp() {
+        originalZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(originalZone);
+    }
+
+    @Test
+    public void bucketsFollowTheDeviceLocalDayNotTheWrittenDate() {
+        // Sunday 23:30 UTC is already Monday 05:00 in India
+        long millis = TimeFormats.parseEpochMillis("2025-03-02T23:30:00Z");
+
+        assertEquals("2025-03-03", ActivityRollup.dayBucket(millis));
+        assertEquals("2025-03-03", ActivityRollup.weekBucket(millis));
+    }
+
+    @Test
+    public void weekIsKeyedByItsMonday() {
+        long sunday = TimeFormats.parseEpochMillis("2025-03-02T10:00:00");
+
+        assertEquals("2025-03-02", ActivityRollup.dayBucket(sunday));
+        assertEquals("2025-02-24", ActivityRollup.weekBucket(sunday));
+    }
+
+    @Test
+    public void unknownStartTimeCountsOnlyTowardsLifetime() {
+        assertNull(ActivityRollup.dayBucket(TimeFormats.UNKNOWN));
+        assertEquals(1, ActivityRollup.bucketsFor(TimeFormats.UNKNOWN).size());
+    }
+}
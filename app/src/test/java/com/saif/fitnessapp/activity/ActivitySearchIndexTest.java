@@ -0,0 +1,129 @@
+package com.saif.fitnessapp.activity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * The index has to find exactly what ActivityFragment's old per-keystroke scan
+ * found; {@link #matchesQuery} is that scan, as it was.
+ */
+public class ActivitySearchIndexTest {
+
+    private static final String[] TYPES = {
+            "RUNNING", "WALKING", "CYCLING", "SWIMMING", "WEIGHT_LIFTING",
+            "BOXING", "YOGA", "STRETCHING", "CARDIO"
+    };
+
+    @Test
+    public void findsWhatTheOldScanFound() {
+        List<ActivityResponse> activities = activities(1_000, 11);
+        ActivitySearchIndex index = ActivitySearchIndex.build(activities);
+
+        List<String> queries = new ArrayList<>(List.of(
+                "r", "ru", "run", "Running", "  cycling ", "weight lifting", "WEIGHT", "ing",
+                "3", "45", "120", "2025-03", "t07:", "zone", "zone 2", "nothing like this"));
+        // Fragments of ids and metric values, as typed in the middle of a word
+        Random random = new Random(5);
+        for (int i = 0; i < 200; i++) {
+            String id = activities.get(random.nextInt(activities.size())).getId();
+            int from = random.nextInt(id.length() - 4);
+            queries.add(id.substring(from, from + 1 + random.nextInt(4)));
+        }
+
+        for (String query : queries) {
+            assertEquals(query, linearScan(activities, query), index.search(query));
+        }
+        assertTrue(index.search("run").size() > 50);
+    }
+
+    @Test
+    public void matchesNeverSpanTwoFields() {
+        ActivityResponse a = activity("a1", "YOGA", 30, 90, "2025-03-02T07:00:00Z", null);
+        ActivitySearchIndex index = ActivitySearchIndex.build(List.of(a));
+
+        assertEquals(1, index.search("yoga").size());
+        assertTrue(index.search("yoga30").isEmpty());
+        assertTrue(index.search("ga 30").isEmpty());
+    }
+
+    @Test
+    public void emptyQueryMatchesNothing() {
+        ActivitySearchIndex index = ActivitySearchIndex.build(activities(10, 1));
+
+        assertTrue(index.search("").isEmpty());
+        assertTrue(index.search("   ").isEmpty());
+        assertTrue(index.search(null).isEmpty());
+    }
+
+    private static List<ActivityResponse> linearScan(List<ActivityResponse> activities, String query) {
+        String q = query.toLowerCase(Locale.ROOT).trim();
+        List<ActivityResponse> results = new ArrayList<>();
+        if (q.isEmpty()) return results;
+        for (ActivityResponse a : activities) {
+            if (matchesQuery(a, q)) results.add(a);
+        }
+        return results;
+    }
+
+    private static boolean matchesQuery(ActivityResponse a, String q) {
+        if (a.getActivityType() != null &&
+                a.getActivityType().toLowerCase(Locale.ROOT).replace("_", " ").contains(q)) return true;
+        if (a.getDuration() != null && a.getDuration().toString().contains(q)) return true;
+        if (a.getCaloriesBurned() != null && a.getCaloriesBurned().toString().contains(q)) return true;
+        if (a.getStartTime() != null && a.getStartTime().toLowerCase(Locale.ROOT).contains(q)) return true;
+        if (a.getId() != null && a.getId().toLowerCase(Locale.ROOT).contains(q)) return true;
+        if (a.getAdditionalMetrics() != null) {
+            boolean[] found = {false};
+            a.getAdditionalMetrics().forEach(new ActivityMetrics.Visitor() {
+                @Override
+                public void onNumber(ActivityMetrics.Key key, double value) {
+                    String text = key.integral ? Long.toString(Math.round(value)) : Double.toString(value);
+                    if (!found[0] && text.contains(q)) found[0] = true;
+                }
+
+                @Override
+                public void onText(String name, String value) {
+                    if (!found[0] && value.toLowerCase(Locale.ROOT).contains(q)) found[0] = true;
+                }
+            });
+            return found[0];
+        }
+        return false;
+    }
+
+    private static List<ActivityResponse> activities(int count, long seed) {
+        Random random = new Random(seed);
+        List<ActivityResponse> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String type = TYPES[random.nextInt(TYPES.length)];
+            int duration = 10 + random.nextInt(110);
+            ActivityMetrics metrics = new ActivityMetrics()
+                    .set(ActivityMetrics.Key.AVG_HEART_RATE, 100 + random.nextInt(70))
+                    .setTrainingZone("Zone " + (1 + random.nextInt(5)));
+            list.add(activity(
+                    String.format(Locale.ROOT, "%024x", random.nextLong() & Long.MAX_VALUE),
+                    type, duration, duration * (5 + random.nextInt(8)),
+                    String.format(Locale.ROOT, "2025-%02d-%02dT%02d:%02d:00Z",
+                            1 + random.nextInt(12), 1 + random.nextInt(28),
+                            random.nextInt(24), random.nextInt(60)),
+                    metrics));
+        }
+        return list;
+    }
+
+    private static ActivityResponse activity(String id, String type, int duration, int calories,
+                                              String startTime, ActivityMetrics metrics) {
+        return new ActivityResponse(id, "user", type, duration, calories, startTime, metrics,
+                startTime, startTime);
+    }
+}
@@ -0,0 +1,148 @@
+package com.saif.fitnessapp.activity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.paging.PagingConfig;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+/**
+ * Scrolls the activity history against a simulated backend with a fixed round
+ * trip, on a virtual clock. The user flings for two seconds and pauses for one,
+ * and loads are triggered the way Paging does: when the rows left below the
+ * viewport drop to the prefetch distance and no append is in flight.
+ *
+ * The baseline is a controller that never sees a scroll sample, which is the old
+ * fixed config (page 10, prefetch 10).
+ */
+public class AdaptivePagingControllerTest {
+
+    private static final int HISTORY = 400;
+    private static final int STEP_MS = 10;
+    private static final int FLING_MS = 2_000;
+    private static final int PAUSE_MS = 1_000;
+    // ScrollVelocityTracker's sampling window
+    private static final int SAMPLE_MS = 250;
+    // Screen visits; each creates a Pager from what the controller learned before
+    private static final int VISITS = 3;
+
+    @Test
+    public void noMeasurementsMatchTheOldFixedConfig() {
+        PagingConfig config = new AdaptivePagingController().pagingConfig();
+
+        assertEquals(10, config.pageSize);
+        assertEquals(10, config.prefetchDistance);
+    }
+
+    @Test
+    public void flingOverASlowLinkNeedsFewerRequestsAndStalls() {
+        Run fixed = scroll(new AdaptivePagingController(), false, 600, 20);
+        Run adaptive = scroll(new AdaptivePagingController(), true, 600, 20);
+        report("600 ms RTT, 20 rows/s", fixed, adaptive);
+
+        assertTrue(adaptive.requests < fixed.requests);
+        assertTrue(adaptive.stalls < fixed.stalls);
+        assertTrue(adaptive.stalledMs < fixed.stalledMs);
+    }
+
+    @Test
+    public void fastFlingOverAVerySlowLinkNeedsFewerRequestsAndStalls() {
+        Run fixed = scroll(new AdaptivePagingController(), false, 1_500, 40);
+        Run adaptive = scroll(new AdaptivePagingController(), true, 1_500, 40);
+        report("1.5 s RTT, 40 rows/s", fixed, adaptive);
+
+        assertTrue(adaptive.requests < fixed.requests);
+        assertTrue(adaptive.stalls < fixed.stalls);
+        assertTrue(adaptive.stalledMs < fixed.stalledMs);
+    }
+
+    @Test
+    public void slowScrollingOnAFastLinkPagesAsBefore() {
+        AdaptivePagingController controller = new AdaptivePagingController();
+        Run fixed = scroll(new AdaptivePagingController(), false, 100, 3);
+        Run adaptive = scroll(controller, true, 100, 3);
+        report("100 ms RTT, 3 rows/s", fixed, adaptive);
+
+        assertEquals(fixed.requests, adaptive.requests);
+        assertEquals(0, adaptive.stalledMs);
+        assertEquals(10, controller.pagingConfig().pageSize);
+        assertEquals(10, controller.pagingConfig().prefetchDistance);
+    }
+
+    /**
+     * What the user saw on the last visit, after the controller had learned. A stall
+     * is a fling reaching the end of the loaded rows while an append is in flight.
+     */
+    private static final class Run {
+        int requests;
+        int stalls;
+        long stalledMs;
+    }
+
+    /**
+     * {@link #VISITS} walks through the whole history at {@code rowsPerSecond} while
+     * flinging, each request taking {@code rttMs}. Scroll samples reach the
+     * controller only when {@code reportScroll} is set.
+     */
+    private static Run scroll(AdaptivePagingController controller, boolean reportScroll,
+                              long rttMs, double rowsPerSecond) {
+        Run run = null;
+        for (int visit = 0; visit < VISITS; visit++) {
+            run = new Run();
+            // Fixed for the Pager's lifetime, as in ActivityRepository
+            int prefetch = controller.pagingConfig().prefetchDistance;
+
+            double position = 0;
+            double sampleStart = 0;
+            int stored = 0;
+            int inFlightRows = 0;
+            long inFlightUntil = -1;
+            boolean stalled = false;
+
+            for (long now = 0; position < HISTORY; now += STEP_MS) {
+                if (inFlightUntil >= 0 && now >= inFlightUntil) {
+                    stored = Math.min(HISTORY, stored + inFlightRows);
+                    controller.recordLoad(rttMs);
+                    inFlightUntil = -1;
+                }
+                if (inFlightUntil < 0 && stored < HISTORY && stored - position <= prefetch) {
+                    // The mediator's request size for the rows already stored
+                    int multiple = controller.fetchMultiple(stored / AdaptivePagingController.BASE_PAGE_SIZE);
+                    inFlightRows = AdaptivePagingController.BASE_PAGE_SIZE * multiple;
+                    inFlightUntil = now + rttMs;
+                    run.requests++;
+                }
+
+                boolean flinging = now % (FLING_MS + PAUSE_MS) < FLING_MS;
+                if (flinging) {
+                    double wanted = position + rowsPerSecond * STEP_MS / 1000;
+                    // Waiting on the first page is the refresh, not an append gap
+                    boolean blocked = wanted > stored && stored > 0 && stored < HISTORY;
+                    if (blocked) {
+                        if (!stalled) run.stalls++;
+                        run.stalledMs += STEP_MS;
+                    }
+                    stalled = blocked;
+                    position = Math.min(wanted, stored);
+                }
+
+                if (reportScroll && now % SAMPLE_MS == 0) {
+                    controller.recordScroll((position - sampleStart) * 1000.0 / SAMPLE_MS);
+                    sampleStart = position;
+                }
+            }
+        }
+        return run;
+    }
+
+    private static void report(String scenario, Run fixed, Run adaptive) {
+        System.out.printf(Locale.US,
+                "adaptive paging, %s, %d rows: fixed %d requests, %d stalls (%d ms); "
+                        + "adaptive %d requests, %d stalls (%d ms)%n",
+                scenario, HISTORY, fixed.requests, fixed.stalls, fixed.stalledMs,
+                adaptive.requests, adaptive.stalls, adaptive.stalledMs);
+    }
+}
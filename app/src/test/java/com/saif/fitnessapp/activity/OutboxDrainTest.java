@@ -0,0 +1,368 @@
+package com.saif.fitnessapp.activity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.saif.fitnessapp.network.ApiService;
+import com.saif.fitnessapp.network.NetworkModule;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+import com.saif.fitnessapp.utils.TimeFormats;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Drains the outbox against a local stand-in for the activity service that
+ * delays, fails and drops responses, and ignores the Idempotency-Key like a
+ * backend that predates it. Every queued workout has to end up saved exactly once.
+ */
+public class OutboxDrainTest {
+
+    private static final int ENTRIES = 200;
+    // Runs allowed before giving up; each failed run is one WorkManager retry
+    private static final int MAX_RUNS = 2_000;
+
+    private MockWebServer server;
+    private StandInActivityService service;
+    private OkHttpClient client;
+    private ApiService apiService;
+    private InMemoryStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        service = new StandInActivityService();
+        server = new MockWebServer();
+        server.setDispatcher(service);
+        server.start();
+
+        // As NetworkModule.provideOutboxApiService: no silent resend of a dropped POST
+        client = new OkHttpClient.Builder()
+                .retryOnConnectionFailure(false)
+                .readTimeout(5, TimeUnit.SECONDS)
+                .build();
+        Gson gson = new NetworkModule().provideGson();
+        apiService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build()
+                .create(ApiService.class);
+        store = new InMemoryStore();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+        server.shutdown();
+    }
+
+    @Test
+    public void droppedAndDelayedUploadsAreSavedExactlyOnce() {
+        service.failureRate = 0.15;
+        service.dropRate = 0.15;
+        for (int i = 0; i < ENTRIES; i++) store.add(entry(i));
+
+        long startedAt = System.nanoTime();
+        int runs = drainUntilDone();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertEquals(ENTRIES, store.committed.size());
+        assertTrue(store.pending.isEmpty());
+        assertTrue(store.rejected.isEmpty());
+        assertEquals("one server row per workout", ENTRIES, service.saved.size());
+        Set<String> serverIds = new HashSet<>();
+        for (ActivityResponse row : store.committed.values()) serverIds.add(row.getId());
+        assertEquals("each workout committed to its own server row", ENTRIES, serverIds.size());
+        assertTrue("some responses were lost", service.dropped > 0);
+        for (String key : service.idempotencyKeys) {
+            assertTrue(key, key.startsWith(OutboxEntry.LOCAL_ID_PREFIX));
+        }
+
+        List<Long> latencies = new ArrayList<>(store.commitLatencyMs);
+        Collections.sort(latencies);
+        System.out.printf(Locale.US,
+                "outbox drain: %d workouts in %d ms (%.0f/s) over %d runs; %d POSTs "
+                        + "(%d failed, %d dropped), %d lookups; submit-to-commit p50 %d ms, "
+                        + "p95 %d ms, max %d ms%n",
+                ENTRIES, elapsedMs, ENTRIES * 1000.0 / Math.max(1, elapsedMs), runs,
+                service.posts, service.failed, service.dropped, service.lookups,
+                percentile(latencies, 0.50), percentile(latencies, 0.95),
+                latencies.get(latencies.size() - 1));
+    }
+
+    @Test
+    public void refusedWorkoutIsKeptWithTheReason() {
+        store.add(entry(0));
+        OutboxEntry refused = entry(1);
+        refused.duration = -5;
+        store.add(refused);
+        store.add(entry(2));
+
+        assertEquals(OutboxDrain.Outcome.DRAINED, new OutboxDrain(apiService, store).run(() -> false));
+
+        assertEquals(2, store.committed.size());
+        assertEquals(1, store.rejected.size());
+        assertTrue(refused.rejected);
+        assertEquals("HTTP 400: {\"message\":\"duration must be positive\"}", refused.lastError);
+        assertFalse("placeholder left in the list", store.placeholders.contains(refused.localId));
+        // Not sent again by a later run
+        int posts = service.posts;
+        assertEquals(OutboxDrain.Outcome.DRAINED, new OutboxDrain(apiService, store).run(() -> false));
+        assertEquals(posts, service.posts);
+    }
+
+    @Test
+    public void refusedWorkoutsArePurgedOnceOld() {
+        OutboxEntry old = entry(0);
+        old.queuedAt -= OutboxDrain.REJECTED_RETENTION_MS + 1;
+        OutboxEntry recent = entry(1);
+        for (OutboxEntry entry : List.of(old, recent)) {
+            entry.duration = -5;
+            store.add(entry);
+        }
+
+        new OutboxDrain(apiService, store).run(() -> false);
+        assertEquals(2, store.rejected.size());
+        new OutboxDrain(apiService, store).run(() -> false);
+
+        assertEquals(Set.of(recent.localId), store.rejected.keySet());
+    }
+
+    @Test
+    public void retryIsNotCommittedToAnotherWorkoutAtTheSameStart() {
+        // Same start, type and duration, but a different workout already on the server
+        OutboxEntry other = entry(0);
+        other.caloriesBurned = 400;
+        service.save(other);
+        OutboxEntry retried = entry(0);
+        retried.localId = OutboxEntry.LOCAL_ID_PREFIX + "retried";
+        retried.attempts = 1;
+        store.add(retried);
+
+        assertEquals(OutboxDrain.Outcome.DRAINED, new OutboxDrain(apiService, store).run(() -> false));
+
+        assertEquals(1, service.lookups);
+        assertEquals(1, service.posts);
+        assertEquals(2, service.saved.size());
+        ActivityResponse committed = store.committed.get(retried.localId);
+        assertNotEquals(service.saved.get(0).getId(), committed.getId());
+        assertEquals(Integer.valueOf(250), committed.getCaloriesBurned());
+        // The cursor carries an offset, so the server can't read it in its own zone
+        DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(service.lastBeforeStartTime);
+    }
+
+    @Test
+    public void authFailureStopsTheRunAndKeepsTheQueue() {
+        service.authFailure = true;
+        for (int i = 0; i < 3; i++) store.add(entry(i));
+
+        assertEquals(OutboxDrain.Outcome.SIGNED_OUT, new OutboxDrain(apiService, store).run(() -> false));
+
+        assertEquals(1, service.posts);
+        assertEquals(3, store.pending.size());
+        assertTrue(store.rejected.isEmpty());
+        assertEquals("HTTP 401", store.pending.get(entry(0).localId).lastError);
+    }
+
+    /** Calls run() the way WorkManager would after each retry, minus the backoff. */
+    private int drainUntilDone() {
+        for (int run = 1; run <= MAX_RUNS; run++) {
+            OutboxDrain.Outcome outcome = new OutboxDrain(apiService, store).run(() -> false);
+            if (outcome == OutboxDrain.Outcome.DRAINED) return run;
+            assertEquals(OutboxDrain.Outcome.RETRY, outcome);
+        }
+        throw new AssertionError("outbox not drained after " + MAX_RUNS + " runs");
+    }
+
+    private static OutboxEntry entry(int i) {
+        // Distinct minutes, device-local like the add-activity screen sends
+        String startTime = String.format(Locale.US, "2025-03-%02dT%02d:%02d:00",
+                1 + i / (24 * 60), (i / 60) % 24, i % 60);
+        return new OutboxEntry(OutboxEntry.LOCAL_ID_PREFIX + i, "user", "RUNNING", 30, 250,
+                startTime, null, System.currentTimeMillis());
+    }
+
+    private static long percentile(List<Long> sorted, double quantile) {
+        return sorted.get(Math.max(0, (int) Math.ceil(quantile * sorted.size()) - 1));
+    }
+
+    /** The Room side of the worker, in maps. */
+    private static final class InMemoryStore implements OutboxDrain.Store {
+        final Map<String, OutboxEntry> pending = new LinkedHashMap<>();
+        final Map<String, OutboxEntry> rejected = new LinkedHashMap<>();
+        final Map<String, ActivityResponse> committed = new LinkedHashMap<>();
+        final Set<String> placeholders = new HashSet<>();
+        final List<Long> commitLatencyMs = new ArrayList<>();
+
+        void add(OutboxEntry entry) {
+            pending.put(entry.localId, entry);
+            placeholders.add(entry.localId);
+        }
+
+        @Override
+        public List<OutboxEntry> pending(int limit) {
+            List<OutboxEntry> batch = new ArrayList<>();
+            for (OutboxEntry entry : pending.values()) {
+                if (batch.size() == limit) break;
+                batch.add(entry);
+            }
+            return batch;
+        }
+
+        @Override
+        public void commit(OutboxEntry entry, @Nullable ActivityResponse saved) {
+            assertTrue("committed twice: " + entry.localId, committed.put(entry.localId, saved) == null);
+            pending.remove(entry.localId);
+            placeholders.remove(entry.localId);
+            commitLatencyMs.add(System.currentTimeMillis() - entry.queuedAt);
+        }
+
+        @Override
+        public void markFailed(OutboxEntry entry, String error) {
+            entry.attempts++;
+            entry.lastError = error;
+        }
+
+        @Override
+        public void reject(OutboxEntry entry, String error) {
+            entry.attempts++;
+            entry.rejected = true;
+            entry.lastError = error;
+            rejected.put(entry.localId, pending.remove(entry.localId));
+            placeholders.remove(entry.localId);
+        }
+
+        @Override
+        public void purgeRejected(long queuedBefore) {
+            rejected.values().removeIf(entry -> entry.queuedAt < queuedBefore);
+        }
+    }
+
+    /**
+     * Saves POSTed activities, and lists them newest first with the
+     * beforeStartTime cursor. Fails some uploads before saving (503) and loses the
+     * response of others after saving (connection closed).
+     */
+    private static final class StandInActivityService extends Dispatcher {
+        final List<ActivityResponse> saved = new ArrayList<>();
+        final List<String> idempotencyKeys = new ArrayList<>();
+        double failureRate;
+        double dropRate;
+        boolean authFailure;
+        int posts, failed, dropped, lookups;
+        String lastBeforeStartTime;
+
+        private final Random random = new Random(42);
+        private final Gson gson = new NetworkModule().provideGson();
+
+        @NonNull
+        @Override
+        public synchronized MockResponse dispatch(@NonNull RecordedRequest request) {
+            HttpUrl url = request.getRequestUrl();
+            if ("POST".equals(request.getMethod()) && url.encodedPath().equals("/api/activities/track")) {
+                return track(request);
+            }
+            if ("GET".equals(request.getMethod()) && url.encodedPath().equals("/api/activities")) {
+                lookups++;
+                return list(url);
+            }
+            return new MockResponse().setResponseCode(404);
+        }
+
+        private MockResponse track(RecordedRequest request) {
+            posts++;
+            idempotencyKeys.add(request.getHeader("Idempotency-Key"));
+            if (authFailure) return new MockResponse().setResponseCode(401);
+
+            JsonObject body = JsonParser.parseString(request.getBody().readUtf8()).getAsJsonObject();
+            if (body.get("duration").getAsInt() <= 0) {
+                return new MockResponse().setResponseCode(400)
+                        .setBody("{\"message\":\"duration must be positive\"}");
+            }
+            double roll = random.nextDouble();
+            if (roll < failureRate) {
+                failed++;
+                return new MockResponse().setResponseCode(503);
+            }
+
+            ActivityResponse row = save(body);
+
+            MockResponse response = new MockResponse()
+                    .setBody(gson.toJson(row))
+                    .setHeadersDelay(random.nextInt(20), TimeUnit.MILLISECONDS);
+            if (roll < failureRate + dropRate) {
+                dropped++;
+                response.setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+            }
+            return response;
+        }
+
+        /** Saves a workout as if it had been uploaded earlier. */
+        synchronized void save(OutboxEntry entry) {
+            save(gson.toJsonTree(entry.toRequest()).getAsJsonObject());
+        }
+
+        private ActivityResponse save(JsonObject body) {
+            body.addProperty("id", String.format(Locale.US, "srv-%05d", saved.size()));
+            ActivityResponse row = gson.fromJson(body, ActivityResponse.class);
+            saved.add(row);
+            return row;
+        }
+
+        private MockResponse list(HttpUrl url) {
+            String userId = url.queryParameter("userId");
+            String before = url.queryParameter("beforeStartTime");
+            lastBeforeStartTime = before;
+            long beforeMillis = before == null ? Long.MAX_VALUE : TimeFormats.parseEpochMillis(before);
+            int size = Integer.parseInt(url.queryParameter("size"));
+
+            List<ActivityResponse> rows = new ArrayList<>();
+            for (ActivityResponse row : saved) {
+                if (row.getUserId().equals(userId) && row.getStartTimeMillis() < beforeMillis) rows.add(row);
+            }
+            rows.sort(Comparator.comparingLong(ActivityResponse::getStartTimeMillis)
+                    .thenComparing(ActivityResponse::getId).reversed());
+
+            JsonArray page = new JsonArray();
+            for (ActivityResponse row : rows.subList(0, Math.min(size, rows.size()))) {
+                page.add(gson.toJsonTree(row));
+            }
+            return new MockResponse().setBody(page.toString());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.saif.fitnessapp.auth;
+
+import static org.junit.Assert.assertEquals;
+
+import androidx.annotation.NonNull;
+
+import com.saif.fitnessapp.network.NetworkModule;
+import com.saif.fitnessapp.network.NetworkTimingStats;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.HttpsURLConnection;
+
+import okhttp3.FormBody;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+
+/**
+ * The signup path into Home, over TLS against local stand-ins for the API and
+ * Keycloak: verify the signup OTP (API host), log in (Keycloak), load the profile
+ * (API host). The two are separate origins in every config, so the login itself
+ * can't reuse anything; what AuthManager's move to the shared client changes is
+ * whether Home finds the API connection the OTP call left behind.
+ *
+ * The baseline sends the auth calls the way AuthManager used to: a new Thread and
+ * an HttpURLConnection each, outside OkHttp's pool.
+ */
+public class AuthClientConnectionReuseTest {
+
+    private static final int ROUNDS = 20;
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private static HandshakeCertificates serverCertificates;
+    private static HandshakeCertificates clientCertificates;
+
+    @BeforeClass
+    public static void createCertificates() {
+        HeldCertificate localhost = new HeldCertificate.Builder()
+                .addSubjectAlternativeName("localhost")
+                .build();
+        serverCertificates = new HandshakeCertificates.Builder()
+                .heldCertificate(localhost)
+                .build();
+        clientCertificates = new HandshakeCertificates.Builder()
+                .addTrustedCertificate(localhost.certificate())
+                .build();
+    }
+
+    @Test
+    public void homeReusesTheConnectionOfAnEarlierAuthCall() throws Exception {
+        long[] oldMs = new long[ROUNDS];
+        long[] newMs = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            Run old = signUpIntoHome(false);
+            Run pooled = signUpIntoHome(true);
+            assertEquals(2, old.apiConnections);
+            assertEquals(1, pooled.apiConnections);
+            oldMs[round] = old.loginToHomeMs;
+            newMs[round] = pooled.loginToHomeMs;
+        }
+
+        Arrays.sort(oldMs);
+        Arrays.sort(newMs);
+        System.out.printf(Locale.US,
+                "signup login-to-home over local TLS, %d rounds: HttpURLConnection p50 %d ms, "
+                        + "max %d ms, 2 API connections; shared client p50 %d ms, max %d ms, "
+                        + "1 API connection%n",
+                ROUNDS, oldMs[ROUNDS / 2], oldMs[ROUNDS - 1], newMs[ROUNDS / 2], newMs[ROUNDS - 1]);
+    }
+
+    private static final class Run {
+        int apiConnections;
+        long loginToHomeMs;
+    }
+
+    /** One signup into Home against fresh servers, so nothing pooled carries over. */
+    private Run signUpIntoHome(boolean sharedClient) throws Exception {
+        AtomicInteger apiConnections = new AtomicInteger();
+        try (MockWebServer api = newServer(apiConnections);
+             MockWebServer keycloak = newServer(new AtomicInteger())) {
+            OkHttpClient base = new NetworkModule()
+                    .provideBaseOkHttpClient(new NetworkTimingStats())
+                    .newBuilder()
+                    .sslSocketFactory(clientCertificates.sslSocketFactory(),
+                            clientCertificates.trustManager())
+                    .build();
+            OkHttpClient apiClient = base.newBuilder().build();
+            OkHttpClient authClient = AuthManager.authClient(base);
+
+            String otp = "{\"email\":\"a@b.c\",\"otp\":\"123456\"}";
+            String otpUrl = api.url("/api/auth/signup/verify-otp").toString();
+            String tokenUrl = keycloak.url("/realms/fitness-app/protocol/openid-connect/token").toString();
+
+            if (sharedClient) {
+                execute(authClient, new Request.Builder().url(otpUrl)
+                        .post(RequestBody.create(otp, JSON)).build());
+            } else {
+                postOnNewThread(otpUrl, "application/json", otp);
+            }
+
+            long start = System.nanoTime();
+            if (sharedClient) {
+                execute(authClient, new Request.Builder().url(tokenUrl)
+                        .post(new FormBody.Builder().add("grant_type", "password").build()).build());
+            } else {
+                postOnNewThread(tokenUrl, "application/x-www-form-urlencoded", "grant_type=password");
+            }
+            execute(apiClient, new Request.Builder().url(api.url("/api/users/user")).build());
+
+            Run run = new Run();
+            run.loginToHomeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            run.apiConnections = apiConnections.get();
+
+            base.connectionPool().evictAll();
+            return run;
+        }
+    }
+
+    private static MockWebServer newServer(AtomicInteger connections) throws IOException {
+        MockWebServer server = new MockWebServer();
+        server.useHttps(serverCertificates.sslSocketFactory(), false);
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                if (request.getSequenceNumber() == 0) connections.incrementAndGet();
+                return new MockResponse().setBody("{\"access_token\":\"at\",\"expires_in\":3600}");
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static void execute(OkHttpClient client, Request request) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            response.body().string();
+        }
+    }
+
+    /** What AuthManager.callApi and loginWithCredentials did before the shared client. */
+    private static void postOnNewThread(String url, String contentType, String body) throws Exception {
+        Exception[] failure = new Exception[1];
+        Thread thread = new Thread(() -> {
+            try {
+                HttpsURLConnection conn = (HttpsURLConnection) new URL(url).openConnection();
+                conn.setSSLSocketFactory(clientCertificates.sslSocketFactory());
+                conn.setRequestMethod("POST");
+                conn.setRequestProperty("Content-Type", contentType);
+                conn.setDoOutput(true);
+                try (OutputStream os = conn.getOutputStream()) {
+                    os.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+                int code = conn.getResponseCode();
+                try (InputStream is = code == HttpURLConnection.HTTP_OK
+                        ? conn.getInputStream() : conn.getErrorStream()) {
+                    is.readAllBytes();
+                }
+            } catch (Exception e) {
+                failure[0] = e;
+            }
+        });
+        thread.start();
+        thread.join();
+        if (failure[0] != null) throw failure[0];
+    }
+}
@@ -0,0 +1,34 @@
+package com.saif.fitnessapp.auth;
+
+/** TokenManager without the encrypted store; every getter reads getTokens(). */
+final class InMemoryTokenManager extends TokenManager {
+    private volatile TokenSnapshot tokens;
+
+    InMemoryTokenManager(TokenSnapshot initial) {
+        super(null);
+        tokens = initial;
+    }
+
+    @Override
+    public TokenSnapshot getTokens() {
+        return tokens;
+    }
+
+    @Override
+    public void saveTokens(String accessToken, String refreshToken, String idToken,
+                           long expiresIn, String tokenType, String userId) {
+        tokens = new TokenSnapshot(accessToken, refreshToken, idToken,
+                System.currentTimeMillis() + expiresIn * 1000, tokenType, userId);
+    }
+
+    @Override
+    public void clearTokens() {
+        tokens = TokenSnapshot.EMPTY;
+    }
+
+    void expireAccessToken() {
+        TokenSnapshot t = tokens;
+        tokens = new TokenSnapshot(t.accessToken, t.refreshToken, t.idToken, 0L,
+                t.tokenType, t.userId);
+    }
+}
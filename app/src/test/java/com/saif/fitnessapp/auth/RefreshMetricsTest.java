@@ -0,0 +1,210 @@
+package com.saif.fitnessapp.auth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.saif.fitnessapp.network.AuthInterceptor;
+import com.saif.fitnessapp.network.TokenAuthenticator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.FormBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * What RefreshMetrics records for API requests going through AuthInterceptor and
+ * TokenAuthenticator, against a local token endpoint that answers as slowly as a
+ * waking Keycloak and an API that only accepts the newest access token.
+ */
+public class RefreshMetricsTest {
+
+    private static final long KEYCLOAK_DELAY_MS = 1_000;
+
+    private MockWebServer server;
+    private OkHttpClient tokenClient;
+    private OkHttpClient apiClient;
+
+    private InMemoryTokenManager tokenManager;
+    private RefreshMetrics metrics;
+    private TokenRefreshCoordinator coordinator;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new StandInServer());
+        server.start();
+        tokenClient = new OkHttpClient();
+
+        tokenManager = new InMemoryTokenManager(TokenSnapshot.EMPTY);
+        tokenManager.saveTokens("at-0", "rt-0", null, 3600, "Bearer", "user");
+        metrics = new RefreshMetrics();
+        coordinator = new TokenRefreshCoordinator(tokenManager, this::refreshAgainstServer, metrics);
+        apiClient = new OkHttpClient.Builder()
+                .addInterceptor(new AuthInterceptor(tokenManager, coordinator))
+                .authenticator(new TokenAuthenticator(coordinator))
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        tokenClient.dispatcher().executorService().shutdown();
+        apiClient.dispatcher().executorService().shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    public void requestAfterExpiryWaitsForKeycloakAndIsCounted() throws IOException {
+        tokenManager.expireAccessToken();
+
+        long waitedMs = timedRequest();
+
+        assertTrue(waitedMs >= KEYCLOAK_DELAY_MS);
+        assertEquals(1, metrics.getRequestPathCount());
+        assertEquals(0, metrics.getProactiveCount());
+        System.out.printf(Locale.US,
+                "first request after expiry, no background refresh: %d ms, requestPath=%d%n",
+                waitedMs, metrics.getRequestPathCount());
+    }
+
+    @Test
+    public void refreshingWhenTheSchedulerIsDueKeepsRequestsOffTheRefresh() throws IOException {
+        // A token one second past the scheduler's due time, still outside the buffer
+        long lifetimeMs = TokenSnapshot.REFRESH_BUFFER_MS + 60_000 - 1_000;
+        tokenManager.saveTokens("at-0", "rt-0", null, lifetimeMs / 1000, "Bearer", "user");
+        TokenSnapshot tokens = tokenManager.getTokens();
+        assertTrue(TokenRefreshScheduler.refreshDueAt(tokens) <= System.currentTimeMillis());
+
+        // What the scheduler does once due
+        String refreshed = coordinator.refreshReplacing(tokens.accessToken).join();
+        long waitedMs = timedRequest();
+
+        assertEquals("at-1", refreshed);
+        assertTrue(waitedMs < KEYCLOAK_DELAY_MS);
+        assertEquals(0, metrics.getRequestPathCount());
+        System.out.printf(Locale.US,
+                "first request after a background refresh: %d ms, requestPath=%d%n",
+                waitedMs, metrics.getRequestPathCount());
+    }
+
+    @Test
+    public void rejectedTokenIsCountedOnce() throws IOException {
+        // Valid locally, but the server has already moved on to at-1
+        server.setDispatcher(new StandInServer(1));
+        tokenManager.saveTokens("at-0", "rt-1", null, 3600, "Bearer", "user");
+
+        timedRequest();
+        timedRequest();
+
+        assertEquals(1, metrics.getRequestPathCount());
+    }
+
+    @Test
+    public void requestsWithoutALoginAreNotCounted() throws IOException {
+        tokenManager.clearTokens();
+
+        timedRequest();
+
+        assertEquals(0, metrics.getRequestPathCount());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void leadTimeIsAveragedAndMayBeNegative() {
+        metrics.recordProactive(6 * 60_000);
+        metrics.recordProactive(-30_000);
+
+        assertEquals(2, metrics.getProactiveCount());
+        assertEquals(165_000, metrics.getAverageLeadTimeMs());
+        assertEquals("proactive=2 (avg lead 165 s, min -30 s) requestPath=0", metrics.summary());
+    }
+
+    /** One authenticated GET; returns how long it took in ms. */
+    private long timedRequest() throws IOException {
+        long start = System.nanoTime();
+        try (Response response = apiClient.newCall(
+                new Request.Builder().url(server.url("/api/activities")).build()).execute()) {
+            response.body().string();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /** Stand-in for AuthManager.refreshAccessToken. */
+    private void refreshAgainstServer(AuthManager.TokenRefreshCallback callback) {
+        if (tokenManager.getRefreshToken() == null) {
+            callback.onRefreshFailed("No refresh token available");
+            return;
+        }
+        Request request = new Request.Builder()
+                .url(server.url("/token"))
+                .post(new FormBody.Builder()
+                        .add("grant_type", "refresh_token")
+                        .add("refresh_token", tokenManager.getRefreshToken())
+                        .build())
+                .build();
+        tokenClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
+                try (ResponseBody body = response.body()) {
+                    JsonObject json = JsonParser.parseString(body.string()).getAsJsonObject();
+                    tokenManager.saveTokens(
+                            json.get("access_token").getAsString(),
+                            json.get("refresh_token").getAsString(),
+                            null, json.get("expires_in").getAsLong(), "Bearer", "user");
+                    callback.onRefreshSuccess();
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                callback.onRefreshFailed(e.getMessage());
+            }
+        });
+    }
+
+    /** Slow token endpoint that rotates tokens; the API accepts only the newest access token. */
+    private static class StandInServer extends Dispatcher {
+        private int generation;
+
+        StandInServer() {
+            this(0);
+        }
+
+        StandInServer(int generation) {
+            this.generation = generation;
+        }
+
+        @NonNull
+        @Override
+        public synchronized MockResponse dispatch(@NonNull RecordedRequest request) {
+            if ("/token".equals(request.getPath())) {
+                generation++;
+                return new MockResponse()
+                        .setHeadersDelay(KEYCLOAK_DELAY_MS, TimeUnit.MILLISECONDS)
+                        .setBody("{\"access_token\":\"at-" + generation + "\","
+                                + "\"refresh_token\":\"rt-" + generation + "\","
+                                + "\"expires_in\":3600}");
+            }
+            boolean current = ("Bearer at-" + generation).equals(request.getHeader("Authorization"));
+            return new MockResponse().setResponseCode(current ? 200 : 401).setBody("[]");
+        }
+    }
+}
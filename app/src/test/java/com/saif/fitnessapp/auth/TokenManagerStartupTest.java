@@ -0,0 +1,210 @@
+package com.saif.fitnessapp.auth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.content.SharedPreferences;
+
+import androidx.annotation.Nullable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Once initialize() has been called the encrypted store opens on the startup
+ * thread, and everything that needs it waits for that one open. A fixed delay
+ * stands in for the Keystore round trip and Tink keyset decrypt.
+ */
+public class TokenManagerStartupTest {
+
+    private static final long OPEN_MS = 300;
+
+    private ExecutorService startup;
+
+    @Before
+    public void setUp() {
+        // As AppStartup's executor
+        startup = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "app-startup"));
+    }
+
+    @After
+    public void tearDown() {
+        startup.shutdownNow();
+    }
+
+    @Test
+    public void initializeReturnsBeforeTheStoreIsOpen() throws Exception {
+        SlowStore background = new SlowStore(false);
+        long start = System.nanoTime();
+        background.initialize(startup);
+        long initializeMs = elapsedMs(start);
+
+        assertFalse(background.isReady());
+        background.whenReady().get(5, TimeUnit.SECONDS);
+        assertTrue(background.isReady());
+        assertEquals("app-startup", background.openedOn);
+
+        // Before this change the first injection opened the store on the main thread
+        SlowStore inline = new SlowStore(false);
+        start = System.nanoTime();
+        inline.getTokens();
+        long inlineMs = elapsedMs(start);
+
+        System.out.printf(Locale.US,
+                "token store open of %d ms: caller blocked %d ms with initialize(), %d ms inline%n",
+                OPEN_MS, initializeMs, inlineMs);
+        assertTrue(initializeMs < OPEN_MS / 2);
+        assertTrue(inlineMs >= OPEN_MS);
+    }
+
+    @Test
+    public void accessorsWaitForTheStartupOpen() {
+        SlowStore store = new SlowStore(false);
+        store.initialize(startup);
+
+        TokenSnapshot tokens = store.getTokens();
+
+        assertEquals("at", tokens.accessToken);
+        assertTrue(store.isLoggedIn());
+        assertEquals(1, store.opens.get());
+        assertEquals("app-startup", store.openedOn);
+    }
+
+    @Test
+    public void withoutInitializeTheFirstAccessorOpensTheStore() {
+        SlowStore store = new SlowStore(false);
+
+        assertEquals("rt", store.getRefreshToken());
+        store.initialize(startup);
+        store.getTokens();
+
+        assertEquals(1, store.opens.get());
+        assertEquals(Thread.currentThread().getName(), store.openedOn);
+    }
+
+    @Test
+    public void aFailedOpenReachesEveryWaiter() throws Exception {
+        SlowStore store = new SlowStore(true);
+        store.initialize(startup);
+
+        try {
+            store.whenReady().get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException expected) {
+            // SplashActivity sends the user to login
+        }
+        assertFalse(store.isReady());
+        try {
+            store.getTokens();
+            fail();
+        } catch (RuntimeException expected) {
+            assertEquals("Failed to initialize EncryptedSharedPreferences", expected.getMessage());
+        }
+        assertEquals(1, store.opens.get());
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /** TokenManager whose store takes {@link #OPEN_MS} to open and holds one login. */
+    private static final class SlowStore extends TokenManager {
+        final AtomicInteger opens = new AtomicInteger();
+        volatile String openedOn;
+        private final boolean fails;
+
+        SlowStore(boolean fails) {
+            super(null);
+            this.fails = fails;
+        }
+
+        @Override
+        SharedPreferences openStore() throws Exception {
+            opens.incrementAndGet();
+            openedOn = Thread.currentThread().getName();
+            Thread.sleep(OPEN_MS);
+            if (fails) throw new IllegalStateException("Keystore unavailable");
+
+            InMemoryPreferences prefs = new InMemoryPreferences();
+            prefs.values.put("access_token", "at");
+            prefs.values.put("refresh_token", "rt");
+            prefs.values.put("expires_in", System.currentTimeMillis() + 3_600_000L);
+            prefs.values.put("user_id", "user");
+            return prefs;
+        }
+    }
+
+    /** Just enough SharedPreferences for TokenManager. */
+    private static final class InMemoryPreferences implements SharedPreferences {
+        final Map<String, Object> values = new HashMap<>();
+
+        @Override
+        public Map<String, ?> getAll() {
+            return new HashMap<>(values);
+        }
+
+        @Nullable
+        @Override
+        public String getString(String key, @Nullable String defValue) {
+            return values.containsKey(key) ? (String) values.get(key) : defValue;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Nullable
+        @Override
+        public Set<String> getStringSet(String key, @Nullable Set<String> defValues) {
+            return values.containsKey(key) ? (Set<String>) values.get(key) : defValues;
+        }
+
+        @Override
+        public int getInt(String key, int defValue) {
+            return values.containsKey(key) ? (Integer) values.get(key) : defValue;
+        }
+
+        @Override
+        public long getLong(String key, long defValue) {
+            return values.containsKey(key) ? (Long) values.get(key) : defValue;
+        }
+
+        @Override
+        public float getFloat(String key, float defValue) {
+            return values.containsKey(key) ? (Float) values.get(key) : defValue;
+        }
+
+        @Override
+        public boolean getBoolean(String key, boolean defValue) {
+            return values.containsKey(key) ? (Boolean) values.get(key) : defValue;
+        }
+
+        @Override
+        public boolean contains(String key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public Editor edit() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+        }
+
+        @Override
+        public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+        }
+    }
+}
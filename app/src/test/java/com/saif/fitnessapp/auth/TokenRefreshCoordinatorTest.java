@@ -0,0 +1,255 @@
+package com.saif.fitnessapp.auth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.FormBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Many requests needing a refresh at once, against a local token endpoint that
+ * rotates refresh tokens the way Keycloak does: each refresh token works once, and
+ * reusing one is an invalid_grant that logs the user out.
+ */
+public class TokenRefreshCoordinatorTest {
+
+    private static final int THREADS = 32;
+    // Slow enough that every thread piles up behind the first refresh
+    private static final long TOKEN_ENDPOINT_DELAY_MS = 200;
+    // Thread wake-up and scheduling; the old poll loop slept in 500 ms steps
+    private static final long WAKE_UP_SLACK_MS = 100;
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private ExecutorService pool;
+    private final AtomicInteger invalidGrants = new AtomicInteger();
+    private volatile long lastRefreshMs;
+
+    private InMemoryTokenManager tokenManager;
+    private TokenRefreshCoordinator coordinator;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new RotatingTokenEndpoint());
+        server.start();
+        client = new OkHttpClient();
+        pool = Executors.newFixedThreadPool(THREADS);
+
+        tokenManager = new InMemoryTokenManager(
+                new TokenSnapshot("at-0", "rt-0", null, 0L, "Bearer", "user"));
+        coordinator = new TokenRefreshCoordinator(tokenManager, this::refreshAgainstServer,
+                new RefreshMetrics());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        pool.shutdownNow();
+        client.dispatcher().executorService().shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrentRequestsShareOneRefresh() throws Exception {
+        List<String> tokens = runConcurrently(coordinator::awaitRefresh);
+
+        for (String token : tokens) assertEquals("at-1", token);
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, invalidGrants.get());
+    }
+
+    @Test
+    public void callerArrivingAfterAGenerationFinishedReusesItsToken() {
+        assertEquals("at-1", coordinator.awaitRefresh());
+
+        // A thread that saw the expired token before that refresh completed gets
+        // here only now; it must not spend the already-rotated refresh token
+        assertEquals("at-1", coordinator.awaitRefresh());
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, invalidGrants.get());
+        assertTrue(tokenManager.isLoggedIn());
+    }
+
+    @Test
+    public void rejectedTokenIsReplacedOnce() throws Exception {
+        tokenManager.saveTokens("at-0", "rt-0", null, 3600, "Bearer", "user");
+
+        List<String> tokens = runConcurrently(() -> coordinator.awaitRefreshAfterRejection("at-0"));
+
+        for (String token : tokens) assertEquals("at-1", token);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void everyExpiryStartsExactlyOneGeneration() throws Exception {
+        int generations = 5;
+        for (int g = 1; g <= generations; g++) {
+            tokenManager.expireAccessToken();
+            List<String> tokens = runConcurrently(coordinator::awaitRefresh);
+            for (String token : tokens) assertEquals("at-" + g, token);
+        }
+
+        assertEquals(generations, server.getRequestCount());
+        assertEquals(0, invalidGrants.get());
+        assertTrue(tokenManager.isLoggedIn());
+    }
+
+    @Test
+    public void waitersWakeAsSoonAsTheRefreshCompletes() throws Exception {
+        long[] waitedMs = timeConcurrently(coordinator::awaitRefresh);
+
+        long p50 = waitedMs[waitedMs.length / 2];
+        long max = waitedMs[waitedMs.length - 1];
+        System.out.printf(Locale.US,
+                "token refresh, %d callers: refresh round trip %d ms; wait p50 %d ms, max %d ms%n",
+                THREADS, lastRefreshMs, p50, max);
+
+        assertEquals(1, server.getRequestCount());
+        assertTrue(max <= lastRefreshMs + WAKE_UP_SLACK_MS);
+    }
+
+    private interface TokenCall {
+        String get();
+    }
+
+    /** Releases THREADS callers at once and collects what each got back. */
+    private List<String> runConcurrently(TokenCall call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return call.get();
+            }));
+        }
+        start.countDown();
+
+        List<String> results = new ArrayList<>();
+        for (Future<String> f : futures) results.add(f.get(30, TimeUnit.SECONDS));
+        return results;
+    }
+
+    /** Like {@link #runConcurrently}, but returns how long each caller waited, sorted, in ms. */
+    private long[] timeConcurrently(TokenCall call) throws Exception {
+        long[] waitedMs = new long[THREADS];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int caller = i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                long begin = System.nanoTime();
+                call.get();
+                waitedMs[caller] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+                return null;
+            }));
+        }
+        start.countDown();
+
+        for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+        Arrays.sort(waitedMs);
+        return waitedMs;
+    }
+
+    /** Stand-in for AuthManager.refreshAccessToken: the same grant, saved the same way. */
+    private void refreshAgainstServer(AuthManager.TokenRefreshCallback callback) {
+        Request request = new Request.Builder()
+                .url(server.url("/token"))
+                .post(new FormBody.Builder()
+                        .add("grant_type", "refresh_token")
+                        .add("refresh_token", tokenManager.getRefreshToken())
+                        .build())
+                .build();
+        long sent = System.nanoTime();
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
+                try (ResponseBody body = response.body()) {
+                    lastRefreshMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+                    JsonObject json = JsonParser.parseString(body.string()).getAsJsonObject();
+                    if (response.code() == 200) {
+                        tokenManager.saveTokens(
+                                json.get("access_token").getAsString(),
+                                json.get("refresh_token").getAsString(),
+                                null, json.get("expires_in").getAsLong(), "Bearer", "user");
+                        callback.onRefreshSuccess();
+                    } else {
+                        tokenManager.clearTokens();
+                        callback.onRefreshFailed(json.get("error").getAsString());
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                callback.onRefreshFailed(e.getMessage());
+            }
+        });
+    }
+
+    /** Accepts only the newest refresh token, and rotates it on use. */
+    private class RotatingTokenEndpoint extends Dispatcher {
+        private int generation = 0;
+
+        @NonNull
+        @Override
+        public synchronized MockResponse dispatch(@NonNull RecordedRequest request) {
+            String presented = formValue(request.getBody().readUtf8(), "refresh_token");
+            if (!("rt-" + generation).equals(presented)) {
+                invalidGrants.incrementAndGet();
+                return new MockResponse()
+                        .setResponseCode(400)
+                        .setBody("{\"error\":\"invalid_grant\"}");
+            }
+            generation++;
+            return new MockResponse()
+                    .setHeadersDelay(TOKEN_ENDPOINT_DELAY_MS, TimeUnit.MILLISECONDS)
+                    .setBody("{\"access_token\":\"at-" + generation + "\","
+                            + "\"refresh_token\":\"rt-" + generation + "\","
+                            + "\"expires_in\":3600}");
+        }
+
+        private String formValue(String form, String name) {
+            for (String pair : form.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                    return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.saif.fitnessapp.network;
+
+import static org.junit.Assert.assertEquals;
+
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class ActivityMetricsTypeAdapterTest {
+
+    private final ActivityMetricsTypeAdapter adapter = new ActivityMetricsTypeAdapter();
+
+    @Test
+    public void fractionalValueOfIntegralKeyIsWrittenUnchanged() throws IOException {
+        ActivityMetrics metrics = adapter.fromJson("{\"estimatedLoadKg\":62.5}");
+
+        assertEquals("{\"estimatedLoadKg\":62.5}", adapter.toJson(metrics));
+    }
+
+    @Test
+    public void wholeValuesAreWrittenWithoutDecimals() throws IOException {
+        ActivityMetrics metrics = adapter.fromJson("{\"distanceKm\":5.25,\"estimatedSteps\":6200.0}");
+
+        assertEquals("{\"distanceKm\":5.25,\"estimatedSteps\":6200}", adapter.toJson(metrics));
+    }
+}
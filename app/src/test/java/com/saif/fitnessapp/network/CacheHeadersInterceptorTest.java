@@ -0,0 +1,180 @@
+package com.saif.fitnessapp.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+import com.saif.fitnessapp.network.dto.UserResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * The cache chain from NetworkModule.provideOkHttpClient (minus auth and logging)
+ * against a local server that sends Spring Security's default no-store headers.
+ */
+public class CacheHeadersInterceptorTest {
+
+    private static final String USER = "{\"id\":\"u1\",\"email\":\"a@b.c\"}";
+
+    @Rule
+    public TemporaryFolder cacheDir = new TemporaryFolder();
+
+    private MockWebServer server;
+    private Cache cache;
+    private OkHttpClient client;
+    private HttpCacheStats stats;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        cache = new Cache(cacheDir.getRoot(), 10L * 1024 * 1024);
+        stats = new HttpCacheStats();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (client != null) client.dispatcher().executorService().shutdown();
+        cache.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void staleCopyIsServedWhenTheBackendFails() throws IOException {
+        ApiService api = apiService(true);
+        server.enqueue(noStore(USER));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        assertEquals("u1", api.getUser("u1").execute().body().getId());
+        Response<UserResponse> fallback = api.getUser("u1").execute();
+
+        assertTrue(fallback.isSuccessful());
+        assertEquals("u1", fallback.body().getId());
+        assertTrue(stats.dump(), stats.dump().contains("api/users/{userId}  hit=0 304=0 miss=1 stale=1"));
+    }
+
+    @Test
+    public void withoutTheRewriteNothingIsStored() throws IOException {
+        ApiService api = apiService(false);
+        server.enqueue(noStore(USER));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        api.getUser("u1").execute();
+
+        assertEquals(503, api.getUser("u1").execute().code());
+        assertEquals(0, cache.writeSuccessCount());
+    }
+
+    @Test
+    public void onlineReadsStillGoToTheServer() throws IOException {
+        ApiService api = apiService(true);
+        server.enqueue(noStore(USER));
+        server.enqueue(noStore("{\"id\":\"u1\",\"email\":\"new@b.c\"}"));
+
+        api.getUser("u1").execute();
+
+        assertEquals("new@b.c", api.getUser("u1").execute().body().getEmail());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void anETagTurnsRepeatReadsInto304s() throws IOException, InterruptedException {
+        ApiService api = apiService(true);
+        String page = activitiesPage(50);
+        server.enqueue(noStore(page).setHeader("ETag", "\"v1\""));
+        server.enqueue(noStore("").setResponseCode(304).setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        api.getActivities(0, 50, "u1").execute();
+        Response<List<ActivityResponse>> revalidated = api.getActivities(0, 50, "u1").execute();
+        Response<List<ActivityResponse>> fallback = api.getActivities(0, 50, "u1").execute();
+
+        server.takeRequest();
+        assertEquals("\"v1\"", server.takeRequest().getHeader("If-None-Match"));
+        assertEquals(50, revalidated.body().size());
+        assertEquals(50, fallback.body().size());
+        // The 304's no-store must not have made the stored copy unusable
+        assertTrue(stats.dump(), stats.dump().contains("api/activities  hit=0 304=1 miss=1 stale=1"));
+        System.out.printf(Locale.US,
+                "no-store activity page of %d bytes: 304 revalidation and 503 fallback served "
+                        + "from cache; cache: %s", page.length(), stats.dump());
+    }
+
+    @Test
+    public void endpointsOutsideTheListAreLeftAlone() throws IOException {
+        ApiService api = apiService(true);
+        server.enqueue(noStore("true"));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        api.validateUser("u1").execute();
+
+        assertEquals(503, api.validateUser("u1").execute().code());
+        assertEquals(0, cache.writeSuccessCount());
+    }
+
+    @Test
+    public void cacheableServerHeadersAreKept() throws IOException {
+        ApiService api = apiService(true);
+        server.enqueue(new MockResponse().setBody(USER).setHeader("Cache-Control", "max-age=60"));
+
+        api.getUser("u1").execute();
+        Response<UserResponse> cached = api.getUser("u1").execute();
+
+        assertEquals("u1", cached.body().getId());
+        assertNull(cached.raw().networkResponse());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    private ApiService apiService(boolean rewriteHeaders) {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .cache(cache)
+                .addInterceptor(new CachePolicyInterceptor(stats));
+        if (rewriteHeaders) builder.addNetworkInterceptor(new CacheHeadersInterceptor());
+        client = builder.build();
+        return new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(new NetworkModule().provideGson()))
+                .build()
+                .create(ApiService.class);
+    }
+
+    /** What the backend sends by default, via Spring Security's header writers. */
+    private static MockResponse noStore(String body) {
+        return new MockResponse()
+                .setBody(body)
+                .setHeader("Cache-Control", "no-cache, no-store, max-age=0, must-revalidate")
+                .setHeader("Pragma", "no-cache")
+                .setHeader("Expires", "0");
+    }
+
+    private static String activitiesPage(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) json.append(',');
+            json.append(String.format(Locale.US,
+                    "{\"id\":\"srv-%05d\",\"userId\":\"u1\",\"activityType\":\"RUNNING\","
+                            + "\"duration\":30,\"caloriesBurned\":250,"
+                            + "\"startTime\":\"2025-03-01T%02d:%02d:00Z\"}",
+                    i, i / 60, i % 60));
+        }
+        return json.append(']').toString();
+    }
+}
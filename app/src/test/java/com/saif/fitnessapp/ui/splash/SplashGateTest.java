@@ -0,0 +1,123 @@
+package com.saif.fitnessapp.ui.splash;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * SplashActivity's exit rule on a virtual clock: the minimum-time and auth-timeout
+ * callbacks it posts, plus the auth check finishing after a given time.
+ *
+ * The old splash waited SPLASH_DELAY_MS (2.2 s) before it even started the auth
+ * check, so it left after 2.2 s plus however long auth took.
+ */
+public class SplashGateTest {
+
+    private static final long OLD_SPLASH_DELAY_MS = 2200;
+
+    private final List<String> exits = new ArrayList<>();
+    private final SplashGate<String> gate = new SplashGate<>((destination, outcome) ->
+            exits.add(destination + "/" + outcome));
+
+    @Test
+    public void fastAuthWaitsForTheMinimumTime() {
+        gate.decide("main", "valid_token");
+        assertTrue(exits.isEmpty());
+
+        gate.onMinTimeElapsed();
+
+        assertEquals(List.of("main/valid_token"), exits);
+    }
+
+    @Test
+    public void slowAuthIsFollowedAtOnce() {
+        gate.onMinTimeElapsed();
+        assertTrue(exits.isEmpty());
+
+        gate.decide("main", "refreshed");
+
+        assertEquals(List.of("main/refreshed"), exits);
+    }
+
+    @Test
+    public void aRefreshFinishingAfterTheTimeoutIsIgnored() {
+        gate.onMinTimeElapsed();
+        gate.decide("main", "refresh_timeout");
+        gate.decide("login", "login");
+
+        assertEquals(List.of("main/refresh_timeout"), exits);
+    }
+
+    @Test
+    public void leavesOnlyOnce() {
+        gate.decide("main", "valid_token");
+        gate.onMinTimeElapsed();
+        gate.onMinTimeElapsed();
+
+        assertEquals(1, exits.size());
+    }
+
+    @Test
+    public void splashTimeByAuthTime() {
+        // Valid token (store open only), a warm refresh, a slow one, a waking Keycloak
+        long[] authMs = {50, 400, 1_500, 3_000, 10_000};
+        StringBuilder report = new StringBuilder("splash time by auth time:");
+        for (long auth : authMs) {
+            long splash = splashMillis(auth);
+            long old = OLD_SPLASH_DELAY_MS + auth;
+            report.append(String.format(Locale.US, " %d ms -> %d ms (was %d);", auth, splash, old));
+
+            assertTrue(splash >= SplashGate.MIN_SPLASH_MS);
+            assertTrue(splash <= SplashGate.MAX_AUTH_WAIT_MS);
+            assertTrue(splash < old);
+        }
+        System.out.println(report);
+    }
+
+    @Test
+    public void noDecisionBeforeTheTimeoutKeepsTheSplash() {
+        assertNull(leaveTime(SplashGate.MAX_AUTH_WAIT_MS + 1, false));
+    }
+
+    /** When a logged-in user whose auth check takes {@code authMs} leaves the splash. */
+    private static long splashMillis(long authMs) {
+        return leaveTime(authMs, true);
+    }
+
+    /**
+     * Runs the splash's timeline in time order and returns when it left, or null.
+     * {@code loggedIn} decides whether the timeout lets the user in, as
+     * SplashActivity.onAuthWaitExceeded does.
+     */
+    private static Long leaveTime(long authMs, boolean loggedIn) {
+        long[] now = {0};
+        Long[] leftAt = {null};
+        SplashGate<String> gate = new SplashGate<>((destination, outcome) -> leftAt[0] = now[0]);
+
+        long[] times = {SplashGate.MIN_SPLASH_MS, SplashGate.MAX_AUTH_WAIT_MS, authMs};
+        Runnable[] events = {
+                gate::onMinTimeElapsed,
+                () -> {
+                    if (!gate.isDecided() && loggedIn) gate.decide("main", "refresh_timeout");
+                },
+                () -> {
+                    if (loggedIn) gate.decide("main", "refreshed");
+                }
+        };
+        // Stable order: on a tie, the callback posted first runs first
+        Integer[] order = {0, 1, 2};
+        Arrays.sort(order, (a, b) -> Long.compare(times[a], times[b]));
+        for (int i : order) {
+            now[0] = times[i];
+            events[i].run();
+        }
+        return leftAt[0];
+    }
+}
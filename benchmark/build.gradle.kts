@@ -0,0 +1,77 @@
+// JVM microbenchmarks for the app's CPU hot paths (parsing, search, sorting,
+// metrics formatting). Plain Java, no device needed:
+//
+//   ./gradlew :benchmark:jmh
+//
+// Results (throughput + gc profiler allocation rates) land in
+// benchmark/build/results/jmh/results.json.
+
+plugins {
+    `java-library`
+    id("me.champeau.jmh")
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+// The Android-free parts of :app, compiled straight from its sources so the
+// benchmarks always measure the shipping code. The two android.util classes
+// they touch come from small JVM stand-ins in src/shims.
+val appSources = rootProject.file("app/src/main/java")
+
+sourceSets {
+    create("appCode") {
+        java {
+            setSrcDirs(listOf(appSources, file("src/shims/java")))
+            include(
+                "android/util/**",
+                "com/saif/fitnessapp/activity/ActivitySearchIndex.java",
+                "com/saif/fitnessapp/auth/JwtClaims.java",
+                "com/saif/fitnessapp/auth/JwtUtils.java",
+                "com/saif/fitnessapp/auth/TokenSnapshot.java",
+                "com/saif/fitnessapp/network/ActivityMetricsTypeAdapter.java",
+                "com/saif/fitnessapp/network/ActivityResponseTypeAdapter.java",
+                "com/saif/fitnessapp/network/dto/ActivityMetrics.java",
+                "com/saif/fitnessapp/network/dto/ActivityResponse.java",
+                "com/saif/fitnessapp/network/dto/Recommendation.java",
+                "com/saif/fitnessapp/ui/activity/utils/MetricsHelper.java",
+                "com/saif/fitnessapp/utils/TimeFormats.java"
+            )
+        }
+    }
+}
+
+val appCodeImplementation by configurations.getting
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    appCodeImplementation("com.google.code.gson:gson:2.10.1")
+    appCodeImplementation("androidx.annotation:annotation:1.7.1")
+    // ActivityResponse carries Room's @ColumnInfo/@Ignore
+    appCodeImplementation("androidx.room:room-common:2.6.1")
+
+    jmhImplementation(sourceSets["appCode"].output)
+    jmhImplementation("com.google.code.gson:gson:2.10.1")
+    jmhImplementation("androidx.annotation:annotation:1.7.1")
+    jmhImplementation("androidx.room:room-common:2.6.1")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    timeOnIteration.set("1s")
+    warmup.set("1s")
+    benchmarkMode.set(listOf("thrpt"))
+    timeUnit.set("ms")
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    // e.g. ./gradlew :benchmark:jmh -Pjmh.includes=Gson
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
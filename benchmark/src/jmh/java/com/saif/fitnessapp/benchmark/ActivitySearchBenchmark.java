@@ -0,0 +1,88 @@
+package com.saif.fitnessapp.benchmark;
+
+import com.saif.fitnessapp.activity.ActivitySearchIndex;
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Activities-tab search: the old per-keystroke linear scan (ActivityFragment's
+ * former matchesQuery, reproduced below) against the trigram index that
+ * replaced it, plus what building that index costs. One search is the work behind
+ * each debounced keystroke in ActivitySearchViewModel, so its score is the
+ * per-keystroke latency; 50,000 is a heavy user's multi-year history.
+ */
+@State(Scope.Benchmark)
+public class ActivitySearchBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int historySize;
+
+    // Short (scan path), typical and rare queries
+    @Param({"ru", "cycling", "3f1c9a52"})
+    public String query;
+
+    private List<ActivityResponse> activities;
+    private ActivitySearchIndex index;
+
+    @Setup
+    public void setUp() {
+        activities = Fixtures.activities(historySize, 11);
+        index = ActivitySearchIndex.build(activities);
+    }
+
+    @Benchmark
+    public List<ActivityResponse> linearScan() {
+        String q = query.toLowerCase(Locale.ROOT).trim();
+        List<ActivityResponse> results = new ArrayList<>();
+        for (ActivityResponse a : activities) {
+            if (matchesQuery(a, q)) results.add(a);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<ActivityResponse> indexedSearch() {
+        return index.search(query);
+    }
+
+    @Benchmark
+    public ActivitySearchIndex buildIndex() {
+        return ActivitySearchIndex.build(activities);
+    }
+
+    private static boolean matchesQuery(ActivityResponse a, String q) {
+        if (a.getActivityType() != null &&
+                a.getActivityType().toLowerCase(Locale.ROOT).replace("_", " ").contains(q)) return true;
+        if (a.getDuration() != null && a.getDuration().toString().contains(q)) return true;
+        if (a.getCaloriesBurned() != null && a.getCaloriesBurned().toString().contains(q)) return true;
+        if (a.getStartTime() != null && a.getStartTime().toLowerCase(Locale.ROOT).contains(q)) return true;
+        if (a.getId() != null && a.getId().toLowerCase(Locale.ROOT).contains(q)) return true;
+        if (a.getAdditionalMetrics() != null) {
+            boolean[] found = {false};
+            a.getAdditionalMetrics().forEach(new ActivityMetrics.Visitor() {
+                @Override
+                public void onNumber(ActivityMetrics.Key key, double value) {
+                    String text = key.integral ? Long.toString(Math.round(value)) : Double.toString(value);
+                    if (!found[0] && text.contains(q)) found[0] = true;
+                }
+
+                @Override
+                public void onText(String name, String value) {
+                    if (!found[0] && value.toLowerCase(Locale.ROOT).contains(q)) found[0] = true;
+                }
+            });
+            return found[0];
+        }
+        return false;
+    }
+}
@@ -0,0 +1,180 @@
+package com.saif.fitnessapp.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.saif.fitnessapp.network.ActivityMetricsTypeAdapter;
+import com.saif.fitnessapp.network.ActivityResponseTypeAdapter;
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Deterministic inputs shaped like real backend payloads. Everything is seeded,
+ * so runs are comparable across machines and commits.
+ */
+final class Fixtures {
+
+    static final String[] TYPES = {
+            "RUNNING", "WALKING", "CYCLING", "SWIMMING", "WEIGHT_LIFTING",
+            "BOXING", "YOGA", "STRETCHING", "CARDIO"
+    };
+
+    private Fixtures() {}
+
+    /** Same Gson configuration as NetworkModule.provideGson(). */
+    static Gson appGson() {
+        return new GsonBuilder()
+                .registerTypeAdapter(ActivityResponse.class, new ActivityResponseTypeAdapter())
+                .registerTypeAdapter(ActivityMetrics.class, new ActivityMetricsTypeAdapter())
+                .create();
+    }
+
+    /** A page of activities as the backend serializes it. */
+    static String activitiesJson(int count, long seed) {
+        Random random = new Random(seed);
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            String type = TYPES[random.nextInt(TYPES.length)];
+            int duration = 10 + random.nextInt(110);
+            JsonObject o = new JsonObject();
+            o.addProperty("id", String.format(Locale.ROOT, "%024x", random.nextLong() & Long.MAX_VALUE));
+            o.addProperty("userId", "3f1c9a52-7d4e-4b8a-9c61-2e5f0d7b8a13");
+            o.addProperty("activityType", type);
+            o.addProperty("duration", duration);
+            o.addProperty("caloriesBurned", duration * (5 + random.nextInt(8)));
+            o.addProperty("startTime", isoTime(random, i));
+            o.add("additionalMetrics", metricsJson(type, duration, random));
+            o.addProperty("createdAt", isoTime(random, i));
+            o.addProperty("updatedAt", isoTime(random, i));
+            array.add(o);
+        }
+        return array.toString();
+    }
+
+    static List<ActivityResponse> activities(int count, long seed) {
+        ActivityResponse[] parsed = appGson().fromJson(activitiesJson(count, seed), ActivityResponse[].class);
+        List<ActivityResponse> list = new ArrayList<>(parsed.length);
+        for (ActivityResponse a : parsed) list.add(a);
+        return list;
+    }
+
+    static String recommendationsJson(int count, long seed) {
+        Random random = new Random(seed);
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            JsonObject o = new JsonObject();
+            o.addProperty("id", "rec-" + i);
+            o.addProperty("userId", "3f1c9a52-7d4e-4b8a-9c61-2e5f0d7b8a13");
+            o.addProperty("activityId", "act-" + random.nextInt(100_000));
+            o.addProperty("activityType", TYPES[random.nextInt(TYPES.length)]);
+            o.addProperty("recommendation", "Solid session overall. Your pacing held steady through the "
+                    + "middle block and recovery between sets was appropriate for the load.");
+            o.add("improvements", sentences(random, "Improve"));
+            o.add("suggestions", sentences(random, "Try"));
+            o.add("safety", sentences(random, "Remember"));
+            o.addProperty("createdAt", isoTime(random, i));
+            array.add(o);
+        }
+        return array.toString();
+    }
+
+    /** An unsigned JWT with a realistic Keycloak-sized payload. */
+    static String idToken() {
+        String header = "{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"aW5kZXgta2V5LWlk\"}";
+        String payload = "{\"exp\":1767225600,\"iat\":1767222000,\"auth_time\":1767221990,"
+                + "\"jti\":\"6c1f0b0e-4d7a-4b7e-9f1e-0c2d3b4a5f60\","
+                + "\"iss\":\"http://10.0.2.2:8181/realms/fitness-app\",\"aud\":\"oauth2-pkce-client\","
+                + "\"sub\":\"3f1c9a52-7d4e-4b8a-9c61-2e5f0d7b8a13\",\"typ\":\"ID\","
+                + "\"azp\":\"oauth2-pkce-client\",\"session_state\":\"a1b2c3d4\",\"at_hash\":\"x1y2z3\","
+                + "\"email_verified\":true,\"name\":\"Test User\",\"preferred_username\":\"test\","
+                + "\"given_name\":\"Test\",\"family_name\":\"User\",\"email\":\"test@example.com\"}";
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(new byte[256]);
+    }
+
+    /**
+     * Start times in the shapes the app actually sees: plain local times, the
+     * add-activity screen's nanosecond LocalDateTime, and offset/UTC values.
+     */
+    private static String isoTime(Random random, int i) {
+        int day = 1 + random.nextInt(28);
+        int hour = random.nextInt(24);
+        int minute = random.nextInt(60);
+        String base = String.format(Locale.ROOT, "2025-%02d-%02dT%02d:%02d:%02d",
+                1 + random.nextInt(12), day, hour, minute, random.nextInt(60));
+        switch (i % 4) {
+            case 0:  return base;
+            case 1:  return base + "." + String.format(Locale.ROOT, "%09d", random.nextInt(1_000_000_000));
+            case 2:  return base + ".123+05:30";
+            default: return base + "Z";
+        }
+    }
+
+    private static JsonObject metricsJson(String type, int duration, Random random) {
+        JsonObject m = new JsonObject();
+        m.addProperty("avgHeartRate", 100 + random.nextInt(70));
+        m.addProperty("intensityScore", 1 + random.nextInt(10));
+        m.addProperty("confidenceScore", 60 + random.nextInt(40));
+        m.addProperty("trainingZone", random.nextBoolean() ? "Aerobic" : "Fat Burn");
+        switch (type) {
+            case "RUNNING":
+            case "WALKING":
+                m.addProperty("distanceKm", Math.round(duration * 0.15 * 100) / 100.0);
+                m.addProperty("estimatedSteps", duration * 150);
+                m.addProperty("avgSpeedKmh", 6 + random.nextInt(80) / 10.0);
+                m.addProperty("cadenceSpm", 150 + random.nextInt(30));
+                m.addProperty("paceMinPerKm", 4 + random.nextInt(40) / 10.0);
+                break;
+            case "CYCLING":
+                m.addProperty("distanceKm", Math.round(duration * 0.4 * 100) / 100.0);
+                m.addProperty("estimatedPowerWatts", 120 + random.nextInt(150));
+                m.addProperty("cadenceRpm", 70 + random.nextInt(30));
+                break;
+            case "SWIMMING":
+                m.addProperty("laps", duration / 2);
+                m.addProperty("distanceMeters", duration * 25);
+                m.addProperty("avgStrokeRate", 25 + random.nextInt(15));
+                m.addProperty("efficiencyScore", 50 + random.nextInt(50));
+                break;
+            case "WEIGHT_LIFTING":
+                m.addProperty("sets", 3 + random.nextInt(3));
+                m.addProperty("repsPerSet", 8 + random.nextInt(5));
+                m.addProperty("estimatedLoadKg", 40 + random.nextInt(60));
+                m.addProperty("totalVolumeKg", 1500 + random.nextInt(3000));
+                break;
+            case "BOXING":
+                m.addProperty("punchesThrown", 300 + random.nextInt(700));
+                m.addProperty("rounds", 3 + random.nextInt(9));
+                m.addProperty("avgIntensity", 5 + random.nextInt(5));
+                m.addProperty("reactionScore", 50 + random.nextInt(50));
+                break;
+            default:
+                m.addProperty("flexibilityScore", 50 + random.nextInt(50));
+                m.addProperty("breathingScore", 50 + random.nextInt(50));
+                m.addProperty("mindfulnessScore", 50 + random.nextInt(50));
+                m.addProperty("calmnessLevel", 1 + random.nextInt(10));
+                break;
+        }
+        return m;
+    }
+
+    private static JsonArray sentences(Random random, String verb) {
+        JsonArray array = new JsonArray();
+        int n = 2 + random.nextInt(3);
+        for (int i = 0; i < n; i++) {
+            array.add(verb + " your form on set " + (i + 1) + " by keeping a neutral spine and "
+                    + "controlling the eccentric phase.");
+        }
+        return array;
+    }
+}
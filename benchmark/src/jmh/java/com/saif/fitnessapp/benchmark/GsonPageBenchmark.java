@@ -0,0 +1,63 @@
+package com.saif.fitnessapp.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+import com.saif.fitnessapp.network.dto.Recommendation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Deserializing one page of /api/activities and /api/recommendations, at the
+ * page sizes of a small mediator page (10), the history sync (50), a large
+ * mediator page (100) and a full-history export (10,000).
+ *
+ * The baseline is the DTO as it shipped before the streaming adapter
+ * ({@link LegacyActivityResponse}) on a default Gson. Run with the gc profiler
+ * ({@code -prof gc}) to compare allocation per page as well as time.
+ */
+@State(Scope.Benchmark)
+public class GsonPageBenchmark {
+
+    private static final Type ACTIVITY_LIST = new TypeToken<List<ActivityResponse>>() {}.getType();
+    private static final Type LEGACY_ACTIVITY_LIST = new TypeToken<List<LegacyActivityResponse>>() {}.getType();
+    private static final Type RECOMMENDATION_LIST = new TypeToken<List<Recommendation>>() {}.getType();
+
+    @Param({"10", "50", "100", "10000"})
+    public int pageSize;
+
+    private Gson appGson;
+    private Gson defaultGson;
+    private String activitiesJson;
+    private String recommendationsJson;
+
+    @Setup
+    public void setUp() {
+        appGson = Fixtures.appGson();
+        defaultGson = new Gson();
+        activitiesJson = Fixtures.activitiesJson(pageSize, 42);
+        recommendationsJson = Fixtures.recommendationsJson(pageSize, 42);
+    }
+
+    @Benchmark
+    public List<ActivityResponse> activitiesStreamingAdapter() {
+        return appGson.fromJson(activitiesJson, ACTIVITY_LIST);
+    }
+
+    @Benchmark
+    public List<LegacyActivityResponse> activitiesReflective() {
+        return defaultGson.fromJson(activitiesJson, LEGACY_ACTIVITY_LIST);
+    }
+
+    @Benchmark
+    public List<Recommendation> recommendations() {
+        return appGson.fromJson(recommendationsJson, RECOMMENDATION_LIST);
+    }
+}
@@ -0,0 +1,40 @@
+package com.saif.fitnessapp.benchmark;
+
+import com.saif.fitnessapp.auth.JwtClaims;
+import com.saif.fitnessapp.auth.JwtUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reading claims out of a token, done after every login and token refresh.
+ * extractSub/claims hit the per-token cache; decodeClaims is the one-off decode
+ * each new token pays once.
+ */
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private String idToken;
+
+    @Setup
+    public void setUp() {
+        idToken = Fixtures.idToken();
+    }
+
+    @Benchmark
+    public String extractSub() {
+        return JwtUtils.extractSub(idToken);
+    }
+
+    @Benchmark
+    public JwtClaims claims() {
+        return JwtUtils.claims(idToken);
+    }
+
+    @Benchmark
+    public JwtClaims decodeClaims() {
+        return JwtUtils.decode(idToken);
+    }
+}
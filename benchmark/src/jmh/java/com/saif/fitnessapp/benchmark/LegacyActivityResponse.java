@@ -0,0 +1,42 @@
+package com.saif.fitnessapp.benchmark;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Map;
+
+/**
+ * ActivityResponse as it was before the streaming adapter: bound by Gson's
+ * reflective adapter, additionalMetrics as a Map of boxed values, timestamps as
+ * strings. Kept here only as the baseline for {@link GsonPageBenchmark}.
+ */
+final class LegacyActivityResponse {
+    @SerializedName("id")
+    private String id;
+
+    @SerializedName("userId")
+    private String userId;
+
+    @SerializedName("activityType")
+    private String activityType;
+
+    @SerializedName("duration")
+    private Integer duration;
+
+    @SerializedName("caloriesBurned")
+    private Integer caloriesBurned;
+
+    @SerializedName("startTime")
+    private String startTime;
+
+    @SerializedName("additionalMetrics")
+    private Map<String, Object> additionalMetrics;
+
+    @SerializedName("createdAt")
+    private String createdAt;
+
+    @SerializedName("updatedAt")
+    private String updatedAt;
+
+    String getId() { return id; }
+    Map<String, Object> getAdditionalMetrics() { return additionalMetrics; }
+}
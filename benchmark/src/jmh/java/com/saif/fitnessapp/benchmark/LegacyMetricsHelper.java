@@ -0,0 +1,171 @@
+package com.saif.fitnessapp.benchmark;
+
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+import com.saif.fitnessapp.network.dto.ActivityMetrics.Key;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MetricsHelper as it was before the descriptor table: 26 keyed lookups per
+ * activity, String.format for decimals, results in a HashMap. Kept here only
+ * as the baseline for {@link MetricsHelperBenchmark}.
+ */
+final class LegacyMetricsHelper {
+
+    // ----- UI COLOR PALETTE -----
+    private static final String PRIMARY = "#4F46E5";   // Indigo
+    private static final String SUCCESS = "#16A34A";   // Green
+    private static final String WARNING = "#F59E0B";   // Amber
+    private static final String DANGER  = "#EF4444";   // Red
+    private static final String INFO    = "#0EA5E9";   // Sky Blue
+    private static final String NEUTRAL = "#6B7280";   // Gray
+    private static final String CALM    = "#22C55E";   // Calm Green
+    private static final String ENERGY  = "#F97316";   // Orange
+
+
+    static class Metric {
+        public String label;
+        public String value;
+        public String emoji;
+        public String colorHex;
+
+        public Metric(String label, String value, String emoji, String colorHex) {
+            this.label = label;
+            this.value = value;
+            this.emoji = emoji;
+            this.colorHex = colorHex;
+        }
+    }
+
+
+    static Map<String, Metric> parseMetrics(ActivityMetrics additionalMetrics) {
+        Map<String, Metric> metrics = new HashMap<>();
+
+        if (additionalMetrics == null || additionalMetrics.isEmpty()) {
+            return metrics;
+        }
+
+        // -------- COMMON --------
+        addIfExists(metrics, additionalMetrics, Key.AVG_HEART_RATE,
+                "Average Heart Rate", " bpm", "❤️", DANGER);
+
+        addIfExists(metrics, additionalMetrics, Key.INTENSITY_SCORE,
+                "Workout Intensity", "/10", "🔥", ENERGY);
+
+        addIfExists(metrics, additionalMetrics, Key.CONFIDENCE_SCORE,
+                "Session Quality", "%", "⭐", PRIMARY);
+
+        String zone = additionalMetrics.getTrainingZone();
+        if (zone != null) {
+            metrics.put(ActivityMetrics.TRAINING_ZONE,
+                    new Metric("Training Zone", zone, "🎯", INFO));
+        }
+
+        // -------- RUNNING / WALKING --------
+        addIfExists(metrics, additionalMetrics, Key.DISTANCE_KM,
+                "Total Distance", " km", "📏", INFO);
+
+        addIfExists(metrics, additionalMetrics, Key.ESTIMATED_STEPS,
+                "Total Steps", "", "👟", SUCCESS);
+
+        addIfExists(metrics, additionalMetrics, Key.AVG_SPEED_KMH,
+                "Average Speed", " km/h", "⚡", ENERGY);
+
+        addIfExists(metrics, additionalMetrics, Key.CADENCE_SPM,
+                "Cadence", " spm", "🎵", PRIMARY);
+
+        addIfExists(metrics, additionalMetrics, Key.PACE_MIN_PER_KM,
+                "Pace", " min/km", "⏱️", WARNING);
+
+        // -------- CYCLING --------
+        addIfExists(metrics, additionalMetrics, Key.ESTIMATED_POWER_WATTS,
+                "Average Power", " W", "⚡", DANGER);
+
+        addIfExists(metrics, additionalMetrics, Key.CADENCE_RPM,
+                "Pedal Cadence", " rpm", "🚴", PRIMARY);
+
+        // -------- SWIMMING --------
+        addIfExists(metrics, additionalMetrics, Key.LAPS,
+                "Total Laps", "", "🏊", INFO);
+
+        addIfExists(metrics, additionalMetrics, Key.DISTANCE_METERS,
+                "Swim Distance", " m", "📏", INFO);
+
+        addIfExists(metrics, additionalMetrics, Key.AVG_STROKE_RATE,
+                "Stroke Rate", " spm", "🌊", PRIMARY);
+
+        addIfExists(metrics, additionalMetrics, Key.EFFICIENCY_SCORE,
+                "Swim Efficiency", "%", "🏅", SUCCESS);
+
+        // -------- WEIGHT LIFTING --------
+        addIfExists(metrics, additionalMetrics, Key.SETS,
+                "Total Sets", "", "🏋️", PRIMARY);
+
+        addIfExists(metrics, additionalMetrics, Key.REPS_PER_SET,
+                "Reps per Set", "", "🔁", INFO);
+
+        addIfExists(metrics, additionalMetrics, Key.ESTIMATED_LOAD_KG,
+                "Average Load", " kg", "🏋️", DANGER);
+
+        addIfExists(metrics, additionalMetrics, Key.TOTAL_VOLUME_KG,
+                "Total Volume", " kg", "📦", WARNING);
+
+        // -------- BOXING --------
+        addIfExists(metrics, additionalMetrics, Key.PUNCHES_THROWN,
+                "Total Punches", "", "🥊", ENERGY);
+
+        addIfExists(metrics, additionalMetrics, Key.ROUNDS,
+                "Rounds", "", "🥊", PRIMARY);
+
+        addIfExists(metrics, additionalMetrics, Key.AVG_INTENSITY,
+                "Fight Intensity", "/10", "🔥", DANGER);
+
+        addIfExists(metrics, additionalMetrics, Key.REACTION_SCORE,
+                "Reaction Score", "%", "⚡", INFO);
+
+        // -------- YOGA / STRETCHING --------
+        addIfExists(metrics, additionalMetrics, Key.FLEXIBILITY_SCORE,
+                "Flexibility", "%", "🧘", CALM);
+
+        addIfExists(metrics, additionalMetrics, Key.BREATHING_SCORE,
+                "Breathing Control", "%", "🌬️", INFO);
+
+        addIfExists(metrics, additionalMetrics, Key.MINDFULNESS_SCORE,
+                "Mindfulness", "%", "🧠", PRIMARY);
+
+        addIfExists(metrics, additionalMetrics, Key.CALMNESS_LEVEL,
+                "Calmness Level", "/10", "🕊️", CALM);
+
+        return metrics;
+    }
+
+
+
+    /**
+     * Typed lookup — values are already primitives, so there is nothing to
+     * instanceof-check or re-parse here.
+     */
+    private static void addIfExists(
+            Map<String, Metric> metrics,
+            ActivityMetrics data,
+            Key key,
+            String label,
+            String unit,
+            String emoji,
+            String colorHex
+    ) {
+        if (!data.has(key)) return;
+
+        String formatted = formatNumber(data.get(key), key.integral) + unit;
+        metrics.put(key.jsonName, new Metric(label, formatted, emoji, colorHex));
+    }
+
+
+    private static String formatNumber(double value, boolean integral) {
+        if (integral) {
+            return String.valueOf(Math.round(value));
+        }
+        return String.format("%.1f", value);
+    }
+}
@@ -0,0 +1,46 @@
+package com.saif.fitnessapp.benchmark;
+
+import com.saif.fitnessapp.network.dto.ActivityMetrics;
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+import com.saif.fitnessapp.ui.activity.utils.MetricsHelper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+
+/** Turning one activity's metrics into display rows, as the detail screen does. */
+@State(Scope.Benchmark)
+public class MetricsHelperBenchmark {
+
+    private ActivityMetrics[] metrics;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // One of each activity type's metric shape, cycled so no single branch dominates
+        List<ActivityResponse> activities = Fixtures.activities(64, 7);
+        metrics = new ActivityMetrics[activities.size()];
+        for (int i = 0; i < metrics.length; i++) {
+            metrics[i] = activities.get(i).getAdditionalMetrics();
+        }
+    }
+
+    @Benchmark
+    public void parseMetrics(Blackhole bh) {
+        ActivityMetrics m = metrics[next];
+        next = (next + 1) % metrics.length;
+        bh.consume(MetricsHelper.parseMetrics(m));
+    }
+
+    /** Baseline: per-key probing, String.format and a HashMap (see LegacyMetricsHelper). */
+    @Benchmark
+    public void legacyParseMetrics(Blackhole bh) {
+        ActivityMetrics m = metrics[next];
+        next = (next + 1) % metrics.length;
+        bh.consume(LegacyMetricsHelper.parseMetrics(m));
+    }
+}
@@ -0,0 +1,82 @@
+package com.saif.fitnessapp.benchmark;
+
+import com.saif.fitnessapp.network.dto.ActivityResponse;
+import com.saif.fitnessapp.utils.TimeFormats;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Newest-first sorting by startTime. Covers the old Home comparator (a
+ * SimpleDateFormat parse per comparison), the raw ISO string comparison the
+ * recommendation list used, and the current compare of pre-decoded millis.
+ * Also measures the one-off decode itself.
+ */
+@State(Scope.Benchmark)
+public class StartTimeSortBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private List<ActivityResponse> activities;
+    private String[] startTimes;
+
+    @Setup
+    public void setUp() {
+        activities = Fixtures.activities(size, 23);
+        startTimes = new String[size];
+        for (int i = 0; i < size; i++) startTimes[i] = activities.get(i).getStartTime();
+    }
+
+    @Benchmark
+    public List<ActivityResponse> simpleDateFormatComparator() {
+        List<ActivityResponse> sorted = new ArrayList<>(activities);
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
+        Collections.sort(sorted, (a, b) -> {
+            try {
+                Date da = sdf.parse(a.getStartTime() != null ? a.getStartTime() : "");
+                Date db = sdf.parse(b.getStartTime() != null ? b.getStartTime() : "");
+                if (da != null && db != null) return db.compareTo(da);
+            } catch (ParseException ignored) {}
+            return 0;
+        });
+        return sorted;
+    }
+
+    @Benchmark
+    public List<ActivityResponse> isoStringComparator() {
+        List<ActivityResponse> sorted = new ArrayList<>(activities);
+        sorted.sort((a, b) -> {
+            String ta = a.getStartTime() != null ? a.getStartTime() : "";
+            String tb = b.getStartTime() != null ? b.getStartTime() : "";
+            return tb.compareTo(ta);
+        });
+        return sorted;
+    }
+
+    @Benchmark
+    public List<ActivityResponse> decodedMillisComparator() {
+        List<ActivityResponse> sorted = new ArrayList<>(activities);
+        sorted.sort((a, b) -> Long.compare(b.getStartTimeMillis(), a.getStartTimeMillis()));
+        return sorted;
+    }
+
+    /** The per-item cost paid once at deserialization instead of per comparison. */
+    @Benchmark
+    public long decodeAll() {
+        long sum = 0;
+        for (String s : startTimes) sum += TimeFormats.parseEpochMillis(s);
+        return sum;
+    }
+}
@@ -0,0 +1,82 @@
+package com.saif.fitnessapp.benchmark;
+
+import com.saif.fitnessapp.auth.TokenSnapshot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+/**
+ * AuthInterceptor's per-request token lookup.
+ *
+ * encryptedPrefsReads stands in for the old path: hasValidAccessToken() then
+ * getAccessToken(), i.e. three EncryptedSharedPreferences reads, each a Base64
+ * decode plus an AES-256-GCM decrypt of the stored value. It leaves out the
+ * AES-SIV encryption of the key name that the real store also does per read, so
+ * it is a lower bound. snapshotRead is the current path.
+ */
+@State(Scope.Benchmark)
+public class TokenReadBenchmark {
+
+    private SecretKey key;
+    private String storedAccessToken;
+    private String storedExpiry;
+    private volatile TokenSnapshot snapshot;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyGenerator generator = KeyGenerator.getInstance("AES");
+        generator.init(256);
+        key = generator.generateKey();
+
+        // Keycloak access tokens run to about 1.2 KB
+        String accessToken = Fixtures.idToken() + Fixtures.idToken().substring(0, 200);
+        long expiresAt = System.currentTimeMillis() + 3_600_000L;
+        storedAccessToken = encrypt(accessToken.getBytes(StandardCharsets.UTF_8));
+        storedExpiry = encrypt(ByteBuffer.allocate(8).putLong(expiresAt).array());
+        snapshot = new TokenSnapshot(accessToken, "refresh", Fixtures.idToken(), expiresAt,
+                "Bearer", "3f1c9a52-7d4e-4b8a-9c61-2e5f0d7b8a13");
+    }
+
+    @Benchmark
+    public String encryptedPrefsReads() throws Exception {
+        String access = new String(decrypt(storedAccessToken), StandardCharsets.UTF_8);
+        long expiresAt = ByteBuffer.wrap(decrypt(storedExpiry)).getLong();
+        if (access == null || System.currentTimeMillis() >= expiresAt - 5 * 60 * 1000) return null;
+        return new String(decrypt(storedAccessToken), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String snapshotRead() {
+        TokenSnapshot tokens = snapshot;
+        return tokens.hasValidAccessToken(System.currentTimeMillis()) ? tokens.accessToken : null;
+    }
+
+    private String encrypt(byte[] plain) throws Exception {
+        byte[] iv = new byte[12];
+        new SecureRandom().nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(128, iv));
+        byte[] sealed = cipher.doFinal(plain);
+        return Base64.getEncoder().encodeToString(
+                ByteBuffer.allocate(iv.length + sealed.length).put(iv).put(sealed).array());
+    }
+
+    private byte[] decrypt(String stored) throws Exception {
+        byte[] bytes = Base64.getDecoder().decode(stored);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(128, bytes, 0, 12));
+        return cipher.doFinal(bytes, 12, bytes.length - 12);
+    }
+}
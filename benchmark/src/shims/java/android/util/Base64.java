@@ -0,0 +1,23 @@
+package android.util;
+
+/**
+ * JVM stand-in for the slice of {@code android.util.Base64} the app code uses,
+ * backed by {@link java.util.Base64}. Benchmark classpath only.
+ */
+public final class Base64 {
+
+    public static final int DEFAULT = 0;
+    public static final int NO_PADDING = 1;
+    public static final int NO_WRAP = 2;
+    public static final int URL_SAFE = 8;
+
+    private Base64() {}
+
+    public static byte[] decode(String str, int flags) {
+        // Both JDK decoders treat the trailing '=' padding as optional, like Android's
+        java.util.Base64.Decoder decoder = (flags & URL_SAFE) != 0
+                ? java.util.Base64.getUrlDecoder()
+                : java.util.Base64.getMimeDecoder();
+        return decoder.decode(str);
+    }
+}
@@ -7,6 +7,7 @@ pluginManagement {
     plugins {
         id("com.android.application") version "8.6.1"
         id("com.google.dagger.hilt.android") version "2.50"
+        id("me.champeau.jmh") version "0.7.2"
     }
 
 }
@@ -24,3 +25,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "android-fitness-app"
 include(":app")
+include(":benchmark")